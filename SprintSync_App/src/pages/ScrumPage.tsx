@@ -223,7 +223,10 @@ import {
   useDeleteWorkflowLane,
 } from "../hooks/api/useWorkflowLanes";
 
-import { WorkflowLane } from "../services/api/entities/workflowLaneApi";
+import {
+  WorkflowLane,
+  compareLaneOrder,
+} from "../services/api/entities/workflowLaneApi";
 
 import {
   useBoardsByProject,
@@ -1682,9 +1685,7 @@ const ScrumPage: React.FC = () => {
       }
     });
 
-    const sortedLanes = [...filteredLanes].sort(
-      (a, b) => (a.displayOrder || 0) - (b.displayOrder || 0),
-    );
+    const sortedLanes = [...filteredLanes].sort(compareLaneOrder);
 
     return sortedLanes;
   }, [selectedProject, workflowLanesData, selectedBoard]);
@@ -1720,7 +1721,7 @@ const ScrumPage: React.FC = () => {
       return (order > 20 && order < 30) || (order > 2 && order < 3);
     });
 
-    filtered.sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
+    filtered.sort(compareLaneOrder);
 
     return filtered;
   }, [workflowLanes]);
@@ -1740,7 +1741,7 @@ const ScrumPage: React.FC = () => {
       return (order > 30 && order < 40) || (order > 3 && order < 4);
     });
 
-    filtered.sort((a, b) => (a.displayOrder || 0) - (b.displayOrder || 0));
+    filtered.sort(compareLaneOrder);
 
     return filtered;
   }, [workflowLanes]);
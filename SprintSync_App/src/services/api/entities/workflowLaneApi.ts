@@ -10,6 +10,7 @@ export interface WorkflowLane {
   wipLimitEnabled: boolean;
   wipLimit?: number;
   displayOrder: number;
+  sortRank?: string | null;
   statusValue: string;
   createdAt?: string;
   updatedAt?: string;
@@ -17,6 +18,18 @@ export interface WorkflowLane {
 
 const BASE_URL = '/workflow-lanes';
 
+// Board order, as the API sorts it: by rank, unranked lanes last by display order.
+// Ranks compare by code unit, like the "C" collation of the sort_rank column.
+export const compareLaneOrder = (a: WorkflowLane, b: WorkflowLane): number => {
+  if (a.sortRank && b.sortRank) {
+    return a.sortRank < b.sortRank ? -1 : a.sortRank > b.sortRank ? 1 : 0;
+  }
+  if (a.sortRank || b.sortRank) {
+    return a.sortRank ? -1 : 1;
+  }
+  return (a.displayOrder || 0) - (b.displayOrder || 0);
+};
+
 export const workflowLaneApiService = {
   // Basic CRUD operations
   createLane: (lane: Partial<WorkflowLane>) => 
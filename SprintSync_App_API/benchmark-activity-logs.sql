@@ -0,0 +1,66 @@
+-- Benchmark dataset for the partitioned activity_logs table
+-- Generates synthetic activity logs spread across the last 12 months, then shows
+-- the plans of the repository's hot queries so partition pruning can be checked.
+-- Run against a scratch database after partition_activity_logs_by_month.sql.
+-- Adjust row_count below; 5,000,000 rows takes a few minutes on a laptop.
+
+\set row_count 5000000
+
+-- Make sure every month in the window has a partition (the API does this on startup too)
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE - INTERVAL '12 months')::DATE;
+BEGIN
+    WHILE month_start <= date_trunc('month', CURRENT_DATE)::DATE LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+            'activity_logs_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+-- 200 users, 20,000 entities, a handful of actions
+INSERT INTO activity_logs (id, user_id, entity_type, entity_id, action, description, values_format, new_values, created_at)
+SELECT
+    'ACTL' || replace(gen_random_uuid()::text, '-', ''),
+    'USER' || lpad((1 + (n % 200))::text, 12, '0'),
+    (ARRAY['story', 'task', 'sprint', 'subtask'])[1 + (n % 4)],
+    'BENCH' || lpad((n % 20000)::text, 31, '0'),
+    (ARRAY['created', 'updated', 'status_changed', 'assigned', 'pulled_to_sprint'])[1 + (n % 5)],
+    'Benchmark activity ' || n,
+    'patch',
+    '[{"op":"replace","path":"/status","value":"in-progress"}]',
+    CURRENT_TIMESTAMP - (random() * INTERVAL '365 days')
+FROM generate_series(1, :row_count) AS n;
+
+ANALYZE activity_logs;
+
+-- Rows per partition
+SELECT tableoid::regclass AS partition_name, COUNT(*) AS row_count
+FROM activity_logs
+GROUP BY tableoid
+ORDER BY partition_name;
+
+-- /api/activity-logs/date-range: only the partitions covering the last two weeks should be scanned
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM activity_logs
+WHERE created_at BETWEEN CURRENT_TIMESTAMP - INTERVAL '14 days' AND CURRENT_TIMESTAMP
+ORDER BY created_at DESC;
+
+-- /api/activity-logs/user/{userId}/recent: pruned to the last 7 days
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM activity_logs
+WHERE user_id = 'USER000000000042' AND created_at >= CURRENT_TIMESTAMP - INTERVAL '7 days'
+ORDER BY created_at DESC;
+
+-- /api/activity-logs/user/{userId}/paginated: merge-append over per-partition (user_id, created_at) indexes
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM activity_logs
+WHERE user_id = 'USER000000000042'
+ORDER BY created_at DESC
+LIMIT 20;
+
+-- Remove the benchmark rows
+-- DELETE FROM activity_logs WHERE entity_id LIKE 'BENCH%';
@@ -0,0 +1,14 @@
+package com.sprintsync.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support for background maintenance jobs.
+ * The jobs share a pool sized by spring.task.scheduling.pool.size, so a long job
+ * (e.g. a partition detach or a full snapshot rebuild) does not hold up the others.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
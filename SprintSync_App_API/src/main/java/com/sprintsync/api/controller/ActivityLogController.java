@@ -1,5 +1,6 @@
 package com.sprintsync.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.sprintsync.api.entity.ActivityLog;
 import com.sprintsync.api.service.ActivityLogService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,8 +8,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -40,6 +43,19 @@ public class ActivityLogController {
         }
     }
 
+    /**
+     * Live activity feed (Server-Sent Events), optionally filtered by project, entity or user.
+     * Replaces polling the /recent endpoints.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamActivity(
+            @RequestParam(required = false) String projectId,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) String userId) {
+        return activityLogService.subscribeToActivityFeed(projectId, entityType, entityId, userId);
+    }
+
     /**
      * Get activity log by ID
      */
@@ -249,6 +265,29 @@ public class ActivityLogController {
         }
     }
 
+    /**
+     * Reconstruct an entity's state at a point in time (defaults to now)
+     */
+    @GetMapping("/entity/{entityType}/{entityId}/state")
+    public ResponseEntity<?> getEntityStateAt(
+            @PathVariable String entityType,
+            @PathVariable String entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        try {
+            JsonNode state = activityLogService.reconstructEntityState(
+                entityType, entityId, at != null ? at : LocalDateTime.now());
+            if (state != null) {
+                return ResponseEntity.ok(state);
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Count activity logs by entity
      */
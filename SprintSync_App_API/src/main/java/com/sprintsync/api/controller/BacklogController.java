@@ -31,13 +31,13 @@ public class BacklogController {
      * Move incomplete stories and tasks from a sprint to backlog when sprint ends.
      * 
      * @param sprintId the sprint ID that has ended
-     * @return ResponseEntity containing list of backlog stories created
+     * @return ResponseEntity containing the move summary (counts and new backlog story IDs)
      */
     @PostMapping("/move-from-sprint/{sprintId}")
-    public ResponseEntity<List<BacklogStory>> moveSprintToBacklog(@PathVariable String sprintId) {
+    public ResponseEntity<Map<String, Object>> moveSprintToBacklog(@PathVariable String sprintId) {
         try {
-            List<BacklogStory> backlogStories = backlogService.moveSprintToBacklog(sprintId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(backlogStories);
+            Map<String, Object> summary = backlogService.moveSprintToBacklog(sprintId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(summary);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
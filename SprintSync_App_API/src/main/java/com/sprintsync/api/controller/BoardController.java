@@ -2,13 +2,17 @@ package com.sprintsync.api.controller;
 
 import com.sprintsync.api.entity.Board;
 import com.sprintsync.api.service.BoardService;
+import com.sprintsync.api.service.BoardSnapshotService;
+import com.sprintsync.api.service.BoardSyncHub;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -27,10 +31,15 @@ public class BoardController {
 
     private static final Logger logger = LoggerFactory.getLogger(BoardController.class);
     private final BoardService boardService;
+    private final BoardSnapshotService boardSnapshotService;
+    private final BoardSyncHub boardSyncHub;
 
     @Autowired
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, BoardSnapshotService boardSnapshotService,
+                           BoardSyncHub boardSyncHub) {
         this.boardService = boardService;
+        this.boardSnapshotService = boardSnapshotService;
+        this.boardSyncHub = boardSyncHub;
     }
 
     /**
@@ -135,6 +144,48 @@ public class BoardController {
                    .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get a board snapshot: lanes in rank order with their task cards, in one round trip.
+     * Pass the returned version as "since" to receive only cards changed after it; cards that left
+     * the board are listed in removedCardIds and cards whose status matches no lane in unmatchedCards.
+     * 
+     * @param projectId the project ID
+     * @param boardId the board ID (default: the project's default board)
+     * @param sprintId only cards of this sprint (optional)
+     * @param since version of the client's last snapshot (optional)
+     * @return ResponseEntity containing the board snapshot
+     */
+    @GetMapping("/project/{projectId}/snapshot")
+    public ResponseEntity<Map<String, Object>> getBoardSnapshot(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String boardId,
+            @RequestParam(required = false) String sprintId,
+            @RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(boardSnapshotService.getSnapshot(projectId, boardId, sprintId, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building board snapshot for project: {}", projectId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Stream changes of one board (Server-Sent Events) instead of polling.
+     * Each "board" event carries the card and lane deltas of one tick; a client that was
+     * disconnected reconnects and catches up with the snapshot endpoint's "since" version.
+     * 
+     * @param projectId the project ID
+     * @param boardId the board ID (default: the project's default board)
+     * @return the event stream
+     */
+    @GetMapping(value = "/project/{projectId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoard(@PathVariable String projectId, @RequestParam(required = false) String boardId) {
+        String defaultBoardId = boardService.getDefaultBoard(projectId).map(Board::getId).orElse(null);
+        return boardSyncHub.subscribe(projectId, boardId, defaultBoardId);
+    }
+
     /**
      * Get all boards.
      * 
@@ -4,8 +4,10 @@ import com.sprintsync.api.entity.Notification;
 import com.sprintsync.api.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -55,6 +57,15 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Live unread count for a user (Server-Sent Events); replaces polling /unread-count.
+     * Sends an "unread-count" event with the current count on connect and on every change.
+     */
+    @GetMapping(value = "/user/{userId}/unread-count/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUnreadCount(@PathVariable String userId) {
+        return notificationService.subscribeToUnreadCount(userId);
+    }
+
     /**
      * Get notification by ID
      */
@@ -83,9 +94,10 @@ public class NotificationController {
      */
     @PatchMapping("/user/{userId}/read-all")
     public ResponseEntity<Map<String, Object>> markAllAsRead(@PathVariable String userId) {
-        notificationService.markAllAsRead(userId);
+        int updated = notificationService.markAllAsRead(userId);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
+        response.put("updated", updated);
         response.put("message", "All notifications marked as read");
         return ResponseEntity.ok(response);
     }
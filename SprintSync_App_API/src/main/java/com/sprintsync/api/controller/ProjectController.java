@@ -11,6 +11,9 @@ import com.sprintsync.api.entity.enums.UserRole;
 import com.sprintsync.api.service.AuthService;
 import com.sprintsync.api.service.ProjectService;
 import com.sprintsync.api.service.ProjectMapper;
+import com.sprintsync.api.service.ProjectSpendLedgerService;
+import com.sprintsync.api.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -29,7 +32,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for Project entity operations.
@@ -47,12 +49,17 @@ public class ProjectController {
     private final ProjectService projectService;
     private final ProjectMapper projectMapper;
     private final AuthService authService;
+    private final ProjectSpendLedgerService projectSpendLedgerService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ProjectController(ProjectService projectService, ProjectMapper projectMapper, AuthService authService) {
+    public ProjectController(ProjectService projectService, ProjectMapper projectMapper, AuthService authService,
+                             ProjectSpendLedgerService projectSpendLedgerService, ObjectMapper objectMapper) {
         this.projectService = projectService;
         this.projectMapper = projectMapper;
         this.authService = authService;
+        this.projectSpendLedgerService = projectSpendLedgerService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -102,12 +109,16 @@ public class ProjectController {
      * when tasks are created, updated, or deleted.
      * 
      * @param id the project ID
+     * @param fields comma-separated fields to compute and return (default: all)
      * @return ResponseEntity containing the project DTO if found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDto> getProjectById(@PathVariable String id) {
+    public ResponseEntity<Object> getProjectById(@PathVariable String id,
+                                                 @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
         Optional<Project> project = projectService.findById(id);
-        return project.map(p -> ResponseEntity.ok(projectMapper.toDto(p)))
+        return project.<ResponseEntity<Object>>map(p -> ResponseEntity.ok(
+                        selection.apply(projectMapper.toDto(p, true, true, selection), objectMapper)))
                      .orElse(ResponseEntity.notFound().build());
     }
 
@@ -118,24 +129,28 @@ public class ProjectController {
      * @param size page size (default: 10)
      * @param sortBy sort field (default: name)
      * @param sortDir sort direction (default: asc)
+     * @param fields comma-separated fields to compute and return (default: all)
      * @return ResponseEntity containing page of project DTOs
      */
     @GetMapping
-    @Cacheable(value = "projects-summary", key = "#page + '-' + #size + '-' + #sortBy + '-' + #sortDir")
+    @Cacheable(value = "projects-summary", key = "#page + '-' + #size + '-' + #sortBy + '-' + #sortDir + '-' + #fields")
     public ResponseEntity<Map<String, Object>> getAllProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields) {
         
+        FieldSelection selection = FieldSelection.parse(fields);
         org.springframework.data.domain.Page<Project> projects = projectService.getAllProjects(page, size, sortBy, sortDir);
         
         // Convert to DTOs (lightweight mapping to keep list endpoint fast)
-        org.springframework.data.domain.Page<ProjectDto> projectDtos = projects.map(project -> projectMapper.toDto(project, false, false));
+        org.springframework.data.domain.Page<ProjectDto> projectDtos = new org.springframework.data.domain.PageImpl<>(
+                projectMapper.toDtos(projects.getContent(), false, false, selection), projects.getPageable(), projects.getTotalElements());
         
         // Return in frontend-compatible format
         Map<String, Object> response = new HashMap<>();
-        response.put("content", projectDtos.getContent());
+        response.put("content", selection.applyToList(projectDtos.getContent(), objectMapper));
         response.put("totalElements", projectDtos.getTotalElements());
         response.put("totalPages", projectDtos.getTotalPages());
         response.put("size", projectDtos.getSize());
@@ -151,21 +166,21 @@ public class ProjectController {
     /**
      * Get all projects without pagination.
      * 
+     * @param fields comma-separated fields to compute and return (default: all)
      * @return ResponseEntity containing list of all projects
      */
     @GetMapping("/all")
-    @Cacheable(value = "projects-summary", key = "'all'")
-    public ResponseEntity<Map<String, Object>> getAllProjectsList() {
+    @Cacheable(value = "projects-summary", key = "'all-' + #fields")
+    public ResponseEntity<Map<String, Object>> getAllProjectsList(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
         List<Project> projects = projectService.getAllProjects();
         
         // Convert to DTOs
-        List<ProjectDto> projectDtos = projects.stream()
-                .map(project -> projectMapper.toDto(project, false, false))
-                .collect(Collectors.toList());
+        List<ProjectDto> projectDtos = projectMapper.toDtos(projects, false, false, selection);
         
         // Return in frontend-compatible format
         Map<String, Object> response = new HashMap<>();
-        response.put("content", projectDtos);
+        response.put("content", selection.applyToList(projectDtos, objectMapper));
         response.put("totalElements", (long) projectDtos.size());
         response.put("totalPages", 1);
         response.put("size", projectDtos.size());
@@ -179,7 +194,8 @@ public class ProjectController {
     }
 
     @GetMapping("/accessible")
-    public ResponseEntity<Map<String, Object>> getAccessibleProjects(HttpServletRequest request) {
+    public ResponseEntity<Map<String, Object>> getAccessibleProjects(HttpServletRequest request,
+                                                                     @RequestParam(required = false) String fields) {
         try {
             String token = extractTokenFromRequest(request);
             if (token == null) {
@@ -197,12 +213,11 @@ public class ProjectController {
             } else {
                 projects = projectService.getProjectsForUser(currentUser.getId());
             }
-            List<ProjectDto> projectDtos = projects.stream()
-                    .map(project -> projectMapper.toDto(project, false, false))
-                    .collect(Collectors.toList());
+            FieldSelection selection = FieldSelection.parse(fields);
+            List<ProjectDto> projectDtos = projectMapper.toDtos(projects, false, false, selection);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("content", projectDtos);
+            response.put("content", selection.applyToList(projectDtos, objectMapper));
             response.put("totalElements", (long) projectDtos.size());
             response.put("totalPages", 1);
             response.put("size", projectDtos.size());
@@ -404,6 +419,41 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Compare the project spend ledger with the tasks and time entries it summarises.
+     * 
+     * @param repair recompute drifted ledger rows (default: false)
+     * @return ResponseEntity containing the number of drifted (and repaired) rows
+     */
+    @PostMapping("/spend-ledger/verify")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<Map<String, Object>> verifySpendLedger(@RequestParam(defaultValue = "false") boolean repair) {
+        try {
+            return ResponseEntity.ok(projectSpendLedgerService.verify(repair));
+        } catch (Exception e) {
+            logger.error("Error verifying project spend ledger: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the project spend ledger from scratch.
+     * 
+     * @return ResponseEntity containing the number of ledger rows written
+     */
+    @PostMapping("/spend-ledger/rebuild")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<Map<String, Object>> rebuildSpendLedger() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("rows", projectSpendLedgerService.rebuild());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Error rebuilding project spend ledger: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get projects starting within date range.
      * 
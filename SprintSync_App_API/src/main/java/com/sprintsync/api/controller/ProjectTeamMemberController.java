@@ -5,8 +5,7 @@ import com.sprintsync.api.entity.ProjectTeamMember;
 import com.sprintsync.api.repository.ProjectTeamMemberRepository;
 import com.sprintsync.api.service.ProjectService;
 import com.sprintsync.api.entity.Project;
-import com.sprintsync.api.repository.UserRepository;
-import com.sprintsync.api.repository.DepartmentRepository;
+import com.sprintsync.api.service.ProjectTeamRosterService;
 import com.sprintsync.api.service.IdGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -35,10 +34,7 @@ public class ProjectTeamMemberController {
     private ProjectTeamMemberRepository projectTeamMemberRepository;
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private DepartmentRepository departmentRepository;
+    private ProjectTeamRosterService projectTeamRosterService;
 
     @Autowired
     private IdGenerationService idGenerationService;
@@ -55,92 +51,7 @@ public class ProjectTeamMemberController {
     @GetMapping
     public ResponseEntity<?> getAllProjectTeamMembers() {
         try {
-            List<TeamMemberDto> teamMembers = new ArrayList<>();
-            
-            for (ProjectTeamMember teamMember : projectTeamMemberRepository.findAll()) {
-                try {
-                    if (teamMember.getUserId() == null || teamMember.getUserId().trim().isEmpty()) {
-                        // Skip team members with invalid user IDs
-                        continue;
-                    }
-                    
-                    userRepository.findById(teamMember.getUserId()).ifPresent(user -> {
-                        try {
-                            TeamMemberDto dto = new TeamMemberDto();
-                            dto.setId(user.getId() != null ? user.getId() : "");
-                            dto.setName(user.getName() != null ? user.getName() : "Unknown User");
-                            dto.setRole(teamMember.getRole() != null ? teamMember.getRole() : "developer");
-                            dto.setIsTeamLead(teamMember.getIsTeamLead() != null ? teamMember.getIsTeamLead() : false);
-                            dto.setAvailability(teamMember.getAllocationPercentage() != null ? teamMember.getAllocationPercentage() : 100);
-                            
-                            // Set additional user fields with null checks
-                            dto.setHourlyRate(user.getHourlyRate() != null ? user.getHourlyRate().doubleValue() : 0.0);
-                            dto.setExperience(user.getExperience() != null ? user.getExperience().name() : "mid");
-                            dto.setAvatar(user.getAvatarUrl());
-                            
-                            // Set default values for missing fields
-                            dto.setWorkload(0); // Default workload
-                            dto.setPerformance(85); // Default performance
-                            
-                            // Set skills from user (skills is stored as JSON string)
-                            if (user.getSkills() != null && !user.getSkills().trim().isEmpty()) {
-                                try {
-                                    // Parse JSON string to array (simple approach for now)
-                                    String skillsJson = user.getSkills().trim();
-                                    if (skillsJson.startsWith("[") && skillsJson.endsWith("]")) {
-                                        // Remove brackets and split by comma
-                                        String skillsStr = skillsJson.substring(1, skillsJson.length() - 1);
-                                        String[] skillsArray = skillsStr.split(",");
-                                        // Clean up quotes and whitespace
-                                        for (int i = 0; i < skillsArray.length; i++) {
-                                            skillsArray[i] = skillsArray[i].trim().replaceAll("^\"|\"$", "");
-                                        }
-                                        dto.setSkills(skillsArray);
-                                    } else {
-                                        dto.setSkills(new String[]{skillsJson});
-                                    }
-                                } catch (Exception e) {
-                                    dto.setSkills(new String[]{"General"});
-                                }
-                            } else {
-                                dto.setSkills(new String[]{"General"}); // Default skill
-                            }
-                            
-                            // Get department name with null checks
-                            if (user.getDepartmentId() != null && !user.getDepartmentId().trim().isEmpty()) {
-                                try {
-                                    departmentRepository.findById(user.getDepartmentId())
-                                        .ifPresent(dept -> {
-                                            if (dept.getName() != null) {
-                                                dto.setDepartment(dept.getName());
-                                            } else {
-                                                dto.setDepartment("Unassigned");
-                                            }
-                                        });
-                                    if (dto.getDepartment() == null) {
-                                        dto.setDepartment("Unassigned");
-                                    }
-                                } catch (Exception e) {
-                                    dto.setDepartment("Unassigned");
-                                }
-                            } else {
-                                dto.setDepartment("Unassigned");
-                            }
-                            
-                            teamMembers.add(dto);
-                        } catch (Exception e) {
-                            // Log error but continue processing other team members
-                            System.err.println("Error processing team member: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    });
-                } catch (Exception e) {
-                    // Log error but continue processing other team members
-                    System.err.println("Error processing team member entry: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-            
+            List<TeamMemberDto> teamMembers = projectTeamRosterService.getAllRosters();
             return ResponseEntity.ok(teamMembers);
         } catch (Exception e) {
             System.err.println("Error fetching all team members: " + e.getMessage());
@@ -158,8 +69,6 @@ public class ProjectTeamMemberController {
     @GetMapping("/project/{projectId}")
     public ResponseEntity<?> getTeamMembersByProject(@PathVariable String projectId) {
         try {
-            List<TeamMemberDto> teamMembers = new ArrayList<>();
-            
             if (projectId == null || projectId.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
@@ -167,92 +76,7 @@ public class ProjectTeamMemberController {
                 ));
             }
             
-            List<ProjectTeamMember> projectTeamMembers = projectTeamMemberRepository.findByProjectId(projectId);
-            
-            for (ProjectTeamMember teamMember : projectTeamMembers) {
-                try {
-                    if (teamMember.getUserId() == null || teamMember.getUserId().trim().isEmpty()) {
-                        // Skip team members with invalid user IDs
-                        continue;
-                    }
-                    
-                    userRepository.findById(teamMember.getUserId()).ifPresent(user -> {
-                        try {
-                            TeamMemberDto dto = new TeamMemberDto();
-                            dto.setId(user.getId() != null ? user.getId() : "");
-                            dto.setName(user.getName() != null ? user.getName() : "Unknown User");
-                            dto.setRole(teamMember.getRole() != null ? teamMember.getRole() : "developer");
-                            dto.setIsTeamLead(teamMember.getIsTeamLead() != null ? teamMember.getIsTeamLead() : false);
-                            dto.setAvailability(teamMember.getAllocationPercentage() != null ? teamMember.getAllocationPercentage() : 100);
-                            
-                            // Set additional user fields with null checks
-                            dto.setHourlyRate(user.getHourlyRate() != null ? user.getHourlyRate().doubleValue() : 0.0);
-                            dto.setExperience(user.getExperience() != null ? user.getExperience().name() : "mid");
-                            dto.setAvatar(user.getAvatarUrl());
-                            
-                            // Set default values for missing fields
-                            dto.setWorkload(0); // Default workload
-                            dto.setPerformance(85); // Default performance
-                            
-                            // Set skills from user (skills is stored as JSON string)
-                            if (user.getSkills() != null && !user.getSkills().trim().isEmpty()) {
-                                try {
-                                    // Parse JSON string to array (simple approach for now)
-                                    String skillsJson = user.getSkills().trim();
-                                    if (skillsJson.startsWith("[") && skillsJson.endsWith("]")) {
-                                        // Remove brackets and split by comma
-                                        String skillsStr = skillsJson.substring(1, skillsJson.length() - 1);
-                                        String[] skillsArray = skillsStr.split(",");
-                                        // Clean up quotes and whitespace
-                                        for (int i = 0; i < skillsArray.length; i++) {
-                                            skillsArray[i] = skillsArray[i].trim().replaceAll("^\"|\"$", "");
-                                        }
-                                        dto.setSkills(skillsArray);
-                                    } else {
-                                        dto.setSkills(new String[]{skillsJson});
-                                    }
-                                } catch (Exception e) {
-                                    dto.setSkills(new String[]{"General"});
-                                }
-                            } else {
-                                dto.setSkills(new String[]{"General"}); // Default skill
-                            }
-                            
-                            // Get department name with null checks
-                            if (user.getDepartmentId() != null && !user.getDepartmentId().trim().isEmpty()) {
-                                try {
-                                    departmentRepository.findById(user.getDepartmentId())
-                                        .ifPresent(dept -> {
-                                            if (dept.getName() != null) {
-                                                dto.setDepartment(dept.getName());
-                                            } else {
-                                                dto.setDepartment("Unassigned");
-                                            }
-                                        });
-                                    if (dto.getDepartment() == null) {
-                                        dto.setDepartment("Unassigned");
-                                    }
-                                } catch (Exception e) {
-                                    dto.setDepartment("Unassigned");
-                                }
-                            } else {
-                                dto.setDepartment("Unassigned");
-                            }
-                            
-                            teamMembers.add(dto);
-                        } catch (Exception e) {
-                            // Log error but continue processing other team members
-                            System.err.println("Error processing team member: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    });
-                } catch (Exception e) {
-                    // Log error but continue processing other team members
-                    System.err.println("Error processing team member entry: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-            
+            List<TeamMemberDto> teamMembers = projectTeamRosterService.getProjectRoster(projectId);
             return ResponseEntity.ok(teamMembers);
         } catch (Exception e) {
             System.err.println("Error fetching team members for project " + projectId + ": " + e.getMessage());
@@ -293,7 +117,7 @@ public class ProjectTeamMemberController {
                         Project project = projectOpt.get();
                         String title = "Project Assignment";
                         String message = "You have been assigned to project: " + project.getName();
-                        notificationService.createNotification(
+                        notificationService.notify(
                             savedTeamMember.getUserId(),
                             title,
                             message,
@@ -463,7 +287,7 @@ public class ProjectTeamMemberController {
                         Project project = projectOpt.get();
                         String title = "Project Assignment";
                         String message = "You have been assigned to project: " + project.getName();
-                        notificationService.createNotification(
+                        notificationService.notify(
                             savedTeamMember.getUserId(),
                             title,
                             message,
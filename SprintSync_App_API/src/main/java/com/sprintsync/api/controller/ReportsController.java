@@ -258,6 +258,30 @@ public class ReportsController {
         }
     }
 
+    /**
+     * Generate time tracking analytics grouped by user, project, task, day or month
+     */
+    @GetMapping("/time-tracking/analytics")
+    public ResponseEntity<Map<String, Object>> generateTimeTrackingAnalytics(
+            @RequestParam(defaultValue = "user") String groupBy,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Boolean billable) {
+        try {
+            Map<String, Object> report = reportsService.generateTimeTrackingAnalytics(
+                groupBy, userId, projectId, startDate, endDate, billable);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Generate time tracking report for specific user
      */
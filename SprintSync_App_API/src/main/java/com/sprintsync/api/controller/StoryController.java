@@ -4,12 +4,15 @@ import com.sprintsync.api.entity.Story;
 import com.sprintsync.api.entity.enums.StoryPriority;
 import com.sprintsync.api.entity.enums.StoryStatus;
 import com.sprintsync.api.service.StoryService;
+import com.sprintsync.api.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,10 +27,12 @@ import java.util.Optional;
 public class StoryController {
 
     private final StoryService storyService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public StoryController(StoryService storyService) {
+    public StoryController(StoryService storyService, ObjectMapper objectMapper) {
         this.storyService = storyService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -94,24 +99,30 @@ public class StoryController {
      * Get stories by project ID.
      * 
      * @param projectId the project ID
+     * @param fields comma-separated fields to compute and return (default: all)
      * @return ResponseEntity containing list of stories for the project
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Story>> getStoriesByProject(@PathVariable String projectId) {
-        List<Story> stories = storyService.findStoriesByProject(projectId);
-        return ResponseEntity.ok(stories);
+    public ResponseEntity<Object> getStoriesByProject(@PathVariable String projectId,
+                                                      @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        List<Story> stories = storyService.findStoriesByProject(projectId, selection);
+        return ResponseEntity.ok(selection.apply(stories, objectMapper));
     }
 
     /**
      * Get stories by sprint ID.
      * 
      * @param sprintId the sprint ID
+     * @param fields comma-separated fields to compute and return (default: all)
      * @return ResponseEntity containing list of stories in the sprint
      */
     @GetMapping("/sprint/{sprintId}")
-    public ResponseEntity<List<Story>> getStoriesBySprint(@PathVariable String sprintId) {
-        List<Story> stories = storyService.findStoriesBySprint(sprintId);
-        return ResponseEntity.ok(stories);
+    public ResponseEntity<Object> getStoriesBySprint(@PathVariable String sprintId,
+                                                     @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        List<Story> stories = storyService.findStoriesBySprint(sprintId, selection);
+        return ResponseEntity.ok(selection.apply(stories, objectMapper));
     }
 
     /**
@@ -301,6 +312,23 @@ public class StoryController {
         }
     }
 
+    /**
+     * Move a story between two neighbouring stories (drag and drop).
+     * 
+     * @param id the story ID
+     * @param move previousId and/or nextId of the new neighbours
+     * @return ResponseEntity containing the moved story
+     */
+    @PutMapping("/{id}/move")
+    public ResponseEntity<?> moveStory(@PathVariable String id, @RequestBody Map<String, String> move) {
+        try {
+            Story movedStory = storyService.moveStory(id, move.get("previousId"), move.get("nextId"));
+            return ResponseEntity.ok(movedStory);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Delete a story by ID.
      * 
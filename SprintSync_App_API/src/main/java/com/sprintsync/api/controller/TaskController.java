@@ -3,6 +3,8 @@ package com.sprintsync.api.controller;
 import com.sprintsync.api.entity.Task;
 import com.sprintsync.api.entity.enums.TaskStatus;
 import com.sprintsync.api.service.TaskService;
+import com.sprintsync.api.util.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -30,6 +32,9 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Get all tasks with pagination
      */
@@ -47,10 +52,11 @@ public class TaskController {
      * Get all tasks without pagination
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Task>> getAllTasksList() {
+    public ResponseEntity<Object> getAllTasksList(@RequestParam(required = false) String fields) {
         try {
+            FieldSelection selection = FieldSelection.parse(fields);
             List<Task> tasks = taskService.getAllTasks();
-            return ResponseEntity.ok(tasks);
+            return ResponseEntity.ok(selection.apply(tasks, objectMapper));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -60,11 +66,13 @@ public class TaskController {
      * Get task by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
+    public ResponseEntity<Object> getTaskById(@PathVariable String id,
+                                              @RequestParam(required = false) String fields) {
         try {
+            FieldSelection selection = FieldSelection.parse(fields);
             Task task = taskService.getTaskById(id);
             if (task != null) {
-                return ResponseEntity.ok(task);
+                return ResponseEntity.ok(selection.apply(task, objectMapper));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -128,10 +136,12 @@ public class TaskController {
      * Get tasks by story ID
      */
     @GetMapping("/story/{storyId}")
-    public ResponseEntity<List<Task>> getTasksByStoryId(@PathVariable String storyId) {
+    public ResponseEntity<Object> getTasksByStoryId(@PathVariable String storyId,
+                                                    @RequestParam(required = false) String fields) {
         try {
+            FieldSelection selection = FieldSelection.parse(fields);
             List<Task> tasks = taskService.getTasksByStoryId(storyId);
-            return ResponseEntity.ok(tasks);
+            return ResponseEntity.ok(selection.apply(tasks, objectMapper));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -209,6 +219,25 @@ public class TaskController {
         }
     }
 
+    /**
+     * Move a task card between two neighbouring cards (drag and drop)
+     * An optional status moves the card into another lane at the same time
+     */
+    @PutMapping("/{id}/move")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<?> moveTask(@PathVariable String id, @RequestBody Map<String, String> move) {
+        try {
+            Task movedTask = taskService.moveTask(id, move.get("previousId"), move.get("nextId"), move.get("status"));
+            if (movedTask != null) {
+                return ResponseEntity.ok(movedTask);
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Assign task to user
      */
@@ -2,6 +2,7 @@ package com.sprintsync.api.controller;
 
 import com.sprintsync.api.entity.TimeEntry;
 import com.sprintsync.api.entity.enums.TimeEntryType;
+import com.sprintsync.api.service.ActualHoursRollupService;
 import com.sprintsync.api.service.TimeEntryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -12,7 +13,9 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,10 +30,12 @@ import java.util.Optional;
 public class TimeEntryController {
 
     private final TimeEntryService timeEntryService;
+    private final ActualHoursRollupService actualHoursRollupService;
 
     @Autowired
-    public TimeEntryController(TimeEntryService timeEntryService) {
+    public TimeEntryController(TimeEntryService timeEntryService, ActualHoursRollupService actualHoursRollupService) {
         this.timeEntryService = timeEntryService;
+        this.actualHoursRollupService = actualHoursRollupService;
     }
 
     /**
@@ -50,6 +55,26 @@ public class TimeEntryController {
         }
     }
 
+    /**
+     * Submit a batch of time entries (e.g. a week's timesheet) in one request.
+     * The batch is stored only if every entry is valid.
+     * 
+     * @param timeEntries the time entries to create
+     * @return ResponseEntity containing the created time entries, or the validation errors
+     */
+    @PostMapping("/batch")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<?> submitTimeEntries(@RequestBody List<TimeEntry> timeEntries) {
+        try {
+            List<TimeEntry> createdTimeEntries = timeEntryService.submitTimeEntries(timeEntries);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdTimeEntries);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get time entry by ID.
      * 
@@ -248,6 +273,50 @@ public class TimeEntryController {
         return ResponseEntity.ok(totalHours);
     }
 
+    /**
+     * Get total hours worked by sprint.
+     * 
+     * @param sprintId the sprint ID
+     * @return ResponseEntity containing total hours worked in the sprint
+     */
+    @GetMapping("/sprint/{sprintId}/total-hours")
+    public ResponseEntity<BigDecimal> getTotalHoursWorkedBySprint(@PathVariable String sprintId) {
+        BigDecimal totalHours = timeEntryService.getTotalHoursWorkedBySprint(sprintId);
+        return ResponseEntity.ok(totalHours);
+    }
+
+    /**
+     * Verify the actual hours rollups (tasks, stories, sprints, projects) against the time entries.
+     * 
+     * @param repair recompute drifted rows (default: false)
+     * @return ResponseEntity containing the number of drifted (and repaired) rows per level
+     */
+    @PostMapping("/rollups/verify")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<Map<String, Object>> verifyActualHoursRollups(@RequestParam(defaultValue = "false") boolean repair) {
+        try {
+            return ResponseEntity.ok(actualHoursRollupService.verify(repair));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the sprint and project actual hours rollup from scratch.
+     * 
+     * @return ResponseEntity containing the number of rollup rows written
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildActualHoursRollups() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("rows", actualHoursRollupService.rebuild());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get total hours worked by story.
      * 
@@ -312,6 +381,30 @@ public class TimeEntryController {
         return ResponseEntity.ok(dailyHours);
     }
 
+    /**
+     * Get a user's timesheet: hours per project and day for the week or month containing a date.
+     * 
+     * @param userId the user ID
+     * @param period "week" (Monday to Sunday) or "month" (default: week)
+     * @param date any date inside the period (default: today)
+     * @return ResponseEntity containing the timesheet matrix with daily and overall totals
+     */
+    @GetMapping("/user/{userId}/timesheet")
+    public ResponseEntity<Map<String, Object>> getTimesheet(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            Map<String, Object> timesheet = timeEntryService.getTimesheet(userId, period,
+                    date != null ? date : LocalDate.now());
+            return ResponseEntity.ok(timesheet);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get recent time entries for a user.
      * 
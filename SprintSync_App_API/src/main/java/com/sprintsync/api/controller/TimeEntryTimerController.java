@@ -0,0 +1,154 @@
+package com.sprintsync.api.controller;
+
+import com.sprintsync.api.entity.TimeEntry;
+import com.sprintsync.api.service.TimeEntryTimerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for running time entry timers.
+ * A stopped timer becomes a regular time entry.
+ *
+ * @author SprintSync Team
+ */
+@RestController
+@RequestMapping("/api/time-entries/timers")
+@CrossOrigin(origins = "*")
+public class TimeEntryTimerController {
+
+    private final TimeEntryTimerService timeEntryTimerService;
+
+    @Autowired
+    public TimeEntryTimerController(TimeEntryTimerService timeEntryTimerService) {
+        this.timeEntryTimerService = timeEntryTimerService;
+    }
+
+    /**
+     * Start a timer for a user.
+     *
+     * @param template user ID plus what the time will be logged against (project, story, task, subtask),
+     *                 description, entry type and billable flag
+     * @return ResponseEntity containing the timer state
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> startTimer(@RequestBody TimeEntry template) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(timeEntryTimerService.start(template));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the running timer of a user.
+     *
+     * @param userId the user ID
+     * @return ResponseEntity containing the timer state, or 404 if the user has no timer
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Map<String, Object>> getTimer(@PathVariable String userId) {
+        return timeEntryTimerService.get(userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Change what a running timer is logged against.
+     *
+     * @param userId the user ID
+     * @param changes fields to change; null fields are kept
+     * @return ResponseEntity containing the timer state, or 404 if the user has no timer
+     */
+    @PutMapping("/user/{userId}")
+    public ResponseEntity<?> updateTimer(@PathVariable String userId, @RequestBody TimeEntry changes) {
+        try {
+            return ResponseEntity.ok(timeEntryTimerService.update(userId, changes));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Pause a running timer.
+     *
+     * @param userId the user ID
+     * @return ResponseEntity containing the timer state, or 404 if the user has no timer
+     */
+    @PostMapping("/user/{userId}/pause")
+    public ResponseEntity<?> pauseTimer(@PathVariable String userId) {
+        try {
+            return ResponseEntity.ok(timeEntryTimerService.pause(userId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Resume a paused timer.
+     *
+     * @param userId the user ID
+     * @return ResponseEntity containing the timer state, or 404 if the user has no timer
+     */
+    @PostMapping("/user/{userId}/resume")
+    public ResponseEntity<?> resumeTimer(@PathVariable String userId) {
+        try {
+            return ResponseEntity.ok(timeEntryTimerService.resume(userId));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Stop a timer and log its running time as a time entry.
+     *
+     * @param userId the user ID
+     * @param description optional description replacing the timer's
+     * @return ResponseEntity containing the created time entry, or 404 if the user has no timer
+     */
+    @PostMapping("/user/{userId}/stop")
+    @CacheEvict(value = {"projects", "projects-summary"}, allEntries = true)
+    public ResponseEntity<?> stopTimer(@PathVariable String userId,
+                                       @RequestParam(required = false) String description) {
+        try {
+            TimeEntry timeEntry = timeEntryTimerService.stop(userId, description);
+            return ResponseEntity.status(HttpStatus.CREATED).body(timeEntry);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Discard a timer without logging any time.
+     *
+     * @param userId the user ID
+     * @return ResponseEntity with no content, or 404 if the user has no timer
+     */
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<Void> discardTimer(@PathVariable String userId) {
+        try {
+            return timeEntryTimerService.discard(userId)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -143,6 +143,23 @@ public class WorkflowLaneController {
         }
     }
 
+    /**
+     * Move a workflow lane between two neighbouring lanes.
+     * 
+     * @param id the lane ID
+     * @param move previousId and/or nextId of the new neighbours
+     * @return ResponseEntity containing the moved lane
+     */
+    @PutMapping("/{id}/move")
+    public ResponseEntity<?> moveWorkflowLane(@PathVariable String id, @RequestBody Map<String, String> move) {
+        try {
+            WorkflowLane movedLane = workflowLaneService.moveWorkflowLane(id, move.get("previousId"), move.get("nextId"));
+            return ResponseEntity.ok(movedLane);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Update display order of workflow lanes.
      * 
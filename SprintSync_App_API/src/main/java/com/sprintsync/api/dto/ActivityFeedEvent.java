@@ -0,0 +1,100 @@
+package com.sprintsync.api.dto;
+
+import com.sprintsync.api.entity.ActivityLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a live activity feed event.
+ * Carries the activity log header only; old/new values are fetched from the
+ * activity log endpoints when a client needs them.
+ */
+public class ActivityFeedEvent {
+    private String id;
+    private String userId;
+    private String projectId;
+    private String entityType;
+    private String entityId;
+    private String action;
+    private String description;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ActivityFeedEvent() {}
+
+    public ActivityFeedEvent(ActivityLog log, String projectId) {
+        this.id = log.getId();
+        this.userId = log.getUserId();
+        this.projectId = projectId;
+        this.entityType = log.getEntityType();
+        this.entityId = log.getEntityId();
+        this.action = log.getAction();
+        this.description = log.getDescription();
+        this.createdAt = log.getCreatedAt();
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sprintsync.api.dto;
+
+/**
+ * DTO for the compact parent story details attached to sub-stories.
+ * The parent may live in the stories table or in the project backlog (backlog_stories).
+ */
+public class ParentStorySummary {
+    public static final String SOURCE_STORY = "story";
+    public static final String SOURCE_BACKLOG = "backlog";
+
+    private String id;
+    private String title;
+    private String status;
+    private String source;
+
+    // Constructors
+    public ParentStorySummary() {}
+
+    public ParentStorySummary(String id, String title, String status, String source) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+        this.source = source;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+}
@@ -35,6 +35,7 @@ public class ProjectDto {
     private String projectType;
     private String methodology;
     private List<String> successCriteria;
+    private List<String> failedSections; // Detail sections that failed or timed out; null when complete
 
     // Constructors
     public ProjectDto() {}
@@ -277,4 +278,12 @@ public class ProjectDto {
     public void setReleases(List<ReleaseDto> releases) {
         this.releases = releases;
     }
+
+    public List<String> getFailedSections() {
+        return failedSections;
+    }
+
+    public void setFailedSections(List<String> failedSections) {
+        this.failedSections = failedSections;
+    }
 }
@@ -44,6 +44,13 @@ public class ActivityLog {
     @Column(name = "new_values", columnDefinition = "TEXT")
     private String newValues;
 
+    /**
+     * How old/new values are stored: "snapshot" (full JSON documents) or
+     * "patch" (RFC 6902 operations relative to the previous state)
+     */
+    @Column(name = "values_format", length = 20)
+    private String valuesFormat;
+
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
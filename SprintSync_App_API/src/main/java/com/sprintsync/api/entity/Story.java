@@ -75,19 +75,23 @@ public class Story extends BaseEntity {
     @Column(name = "order_index")
     private Integer orderIndex = 0;
 
+    // Written only by RankingService, so full-entity saves never reset it
+    @Column(name = "sort_rank", updatable = false)
+    private String sortRank;
+
     @Column(name = "estimated_hours", precision = 5, scale = 2)
     private BigDecimal estimatedHours;
 
-    @Column(name = "actual_hours", precision = 5, scale = 2)
+    // Maintained by the time entry rollup triggers; written on insert only, like Task.actualHours
+    @Column(name = "actual_hours", precision = 5, scale = 2, updatable = false)
     private BigDecimal actualHours = BigDecimal.ZERO;
 
     @Column(name = "due_date")
     private java.time.LocalDate dueDate;
 
-    // Transient field to hold parent story details for API response
+    // Transient field to hold compact parent story details for API response
     @Transient
-    @com.fasterxml.jackson.annotation.JsonIgnore
-    private Story parentStory;
+    private com.sprintsync.api.dto.ParentStorySummary parentStory;
 
     // Transient field to hold parent story title for API response
     @Transient
@@ -225,6 +229,14 @@ public class Story extends BaseEntity {
         this.orderIndex = orderIndex;
     }
 
+    public String getSortRank() {
+        return sortRank;
+    }
+
+    public void setSortRank(String sortRank) {
+        this.sortRank = sortRank;
+    }
+
     public BigDecimal getEstimatedHours() {
         return estimatedHours;
     }
@@ -241,11 +253,11 @@ public class Story extends BaseEntity {
         this.actualHours = actualHours;
     }
 
-    public Story getParentStory() {
+    public com.sprintsync.api.dto.ParentStorySummary getParentStory() {
         return parentStory;
     }
 
-    public void setParentStory(Story parentStory) {
+    public void setParentStory(com.sprintsync.api.dto.ParentStorySummary parentStory) {
         this.parentStory = parentStory;
         if (parentStory != null) {
             this.parentStoryTitle = parentStory.getTitle();
@@ -2,7 +2,9 @@ package com.sprintsync.api.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Generated;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.generator.EventType;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
@@ -22,6 +24,20 @@ public class Subtask extends BaseEntity {
     @Column(name = "task_id")
     private String taskId;
 
+    // Hierarchy copied from the task by database triggers; read-only so a save never overwrites it,
+    // and read back after every insert and update so a saved subtask carries it without a reload
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "project_id", insertable = false, updatable = false)
+    private String projectId;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "sprint_id", insertable = false, updatable = false)
+    private String sprintId;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "epic_id", insertable = false, updatable = false)
+    private String epicId;
+
     @Column(name = "issue_id", nullable = true)
     private String issueId;
 
@@ -81,6 +97,18 @@ public class Subtask extends BaseEntity {
         this.taskId = taskId;
     }
 
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    public String getEpicId() {
+        return epicId;
+    }
+
     public String getIssueId() {
         return issueId;
     }
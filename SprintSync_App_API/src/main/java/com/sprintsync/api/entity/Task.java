@@ -10,7 +10,9 @@ import com.sprintsync.api.entity.converter.TaskStatusConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Generated;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.generator.EventType;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
@@ -31,6 +33,21 @@ public class Task extends BaseEntity {
     @Column(name = "story_id", nullable = false)
     private String storyId;
 
+    // Hierarchy copied from the story by database triggers (see add_hierarchy_columns_to_tasks_and_subtasks.sql);
+    // read-only here so a save never overwrites the trigger-maintained values, and read back after every
+    // insert and update so a saved task carries them without a reload
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "project_id", insertable = false, updatable = false)
+    private String projectId;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "sprint_id", insertable = false, updatable = false)
+    private String sprintId;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "epic_id", insertable = false, updatable = false)
+    private String epicId;
+
     @NotBlank(message = "Task title cannot be blank")
     @Column(name = "title", nullable = false)
     private String title;
@@ -43,6 +60,12 @@ public class Task extends BaseEntity {
     @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(50)")
     private TaskStatus status;
     
+    // Read-only second mapping of the status column, so the raw value (e.g. custom_lane_*)
+    // arrives in the same read as the converted enum
+    @Column(name = "status", insertable = false, updatable = false)
+    @JsonIgnore
+    private String statusColumn;
+
     // Transient field to hold raw status value from database (for custom lane statuses)
     @Transient
     @JsonIgnore
@@ -62,12 +85,18 @@ public class Task extends BaseEntity {
     @Column(name = "estimated_hours", precision = 5, scale = 2)
     private BigDecimal estimatedHours;
 
-    @Column(name = "actual_hours", precision = 5, scale = 2)
+    // Maintained by the time entry rollup triggers (create_actual_hours_delta_rollup.sql); written on insert
+    // only, so saving a loaded task cannot overwrite hours logged since it was read
+    @Column(name = "actual_hours", precision = 5, scale = 2, updatable = false)
     private BigDecimal actualHours = BigDecimal.ZERO;
 
     @Column(name = "order_index")
     private Integer orderIndex = 0;
 
+    // Written only by RankingService, so full-entity saves never reset it
+    @Column(name = "sort_rank", updatable = false)
+    private String sortRank;
+
     @Column(name = "task_number")
     private Integer taskNumber;
 
@@ -101,6 +130,18 @@ public class Task extends BaseEntity {
         this.storyId = storyId;
     }
 
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getSprintId() {
+        return sprintId;
+    }
+
+    public String getEpicId() {
+        return epicId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -147,6 +188,39 @@ public class Task extends BaseEntity {
 
     public void setStatus(TaskStatus status) {
         this.status = status;
+        // An explicit enum status replaces any custom lane status read from the database
+        this.rawStatus = null;
+    }
+
+    /**
+     * Keep the raw status when the converter could not represent it
+     * (custom lane statuses and other values outside TaskStatus).
+     */
+    @PostLoad
+    private void hydrateRawStatus() {
+        if (statusColumn == null) {
+            return;
+        }
+        if (statusColumn.startsWith("custom_lane_")) {
+            rawStatus = statusColumn;
+            return;
+        }
+        try {
+            if (TaskStatus.fromValue(statusColumn) != status) {
+                rawStatus = statusColumn;
+            }
+        } catch (IllegalArgumentException e) {
+            rawStatus = statusColumn;
+        }
+    }
+
+    /**
+     * An entity update writes the converted enum, so the stored status is no longer a raw value.
+     */
+    @PreUpdate
+    private void syncRawStatusOnUpdate() {
+        rawStatus = null;
+        statusColumn = status != null ? status.getValue() : null;
     }
     
     /**
@@ -216,6 +290,14 @@ public class Task extends BaseEntity {
         this.orderIndex = orderIndex;
     }
 
+    public String getSortRank() {
+        return sortRank;
+    }
+
+    public void setSortRank(String sortRank) {
+        this.sortRank = sortRank;
+    }
+
     public Integer getTaskNumber() {
         return taskNumber;
     }
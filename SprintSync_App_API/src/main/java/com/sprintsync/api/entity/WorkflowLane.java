@@ -42,6 +42,10 @@ public class WorkflowLane extends BaseEntity {
     @Column(name = "display_order", nullable = false)
     private Integer displayOrder = 0;
 
+    // Written only by RankingService, so full-entity saves never reset it
+    @Column(name = "sort_rank", updatable = false)
+    private String sortRank;
+
     @NotBlank(message = "Status value cannot be blank")
     @Column(name = "status_value", nullable = false, length = 50)
     private String statusValue;
@@ -121,6 +125,14 @@ public class WorkflowLane extends BaseEntity {
         this.displayOrder = displayOrder;
     }
 
+    public String getSortRank() {
+        return sortRank;
+    }
+
+    public void setSortRank(String sortRank) {
+        this.sortRank = sortRank;
+    }
+
     public String getStatusValue() {
         return statusValue;
     }
@@ -14,6 +14,10 @@ import java.util.List;
 /**
  * Repository interface for ActivityLog entity.
  * Provides data access methods for activity logs.
+ * activity_logs is range-partitioned by month on created_at. Only the queries that bound
+ * createdAt (date range, recent activity, the state history queries) are pruned to the
+ * matching partitions; the unbounded listings by entity, user, type or action visit every
+ * attached partition, each through its own index ending in created_at.
  * 
  * @author SprintSync Team
  */
@@ -89,6 +93,26 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, String
      */
     long countByUserId(String userId);
 
+    /**
+     * Find the latest full-snapshot activity log for an entity at or before a point in time
+     * (legacy rows without a values format are full snapshots)
+     */
+    @Query("SELECT a FROM ActivityLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND (a.valuesFormat IS NULL OR a.valuesFormat <> 'patch') AND a.createdAt <= :at ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityLog> findLatestSnapshots(@Param("entityType") String entityType, @Param("entityId") String entityId,
+                                          @Param("at") LocalDateTime at, Pageable pageable);
+
+    /**
+     * Find activity logs for an entity after a log, up to and including a point in time, in (created_at, id)
+     * order, so logs sharing the first log's timestamp are neither skipped nor repeated
+     */
+    @Query("SELECT a FROM ActivityLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND (a.createdAt > :after OR (a.createdAt = :after AND a.id > :afterId)) AND a.createdAt <= :at " +
+           "ORDER BY a.createdAt ASC, a.id ASC")
+    List<ActivityLog> findEntityLogsBetween(@Param("entityType") String entityType, @Param("entityId") String entityId,
+                                            @Param("after") LocalDateTime after, @Param("afterId") String afterId,
+                                            @Param("at") LocalDateTime at);
+
     /**
      * Delete old activity logs
      */
@@ -4,6 +4,7 @@ import com.sprintsync.api.entity.BacklogSubtask;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,5 +24,9 @@ public interface BacklogSubtaskRepository extends JpaRepository<BacklogSubtask,
      * Find backlog subtasks by original subtask ID.
      */
     List<BacklogSubtask> findByOriginalSubtaskId(String originalSubtaskId);
-}
 
+    /**
+     * Find the backlog subtasks of several backlog tasks in one query.
+     */
+    List<BacklogSubtask> findByBacklogTaskIdIn(Collection<String> ids);
+}
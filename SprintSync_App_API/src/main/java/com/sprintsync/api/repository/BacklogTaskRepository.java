@@ -4,6 +4,7 @@ import com.sprintsync.api.entity.BacklogTask;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,5 +24,9 @@ public interface BacklogTaskRepository extends JpaRepository<BacklogTask, String
      * Find backlog tasks by original task ID.
      */
     List<BacklogTask> findByOriginalTaskId(String originalTaskId);
-}
 
+    /**
+     * Find the backlog tasks of several backlog stories in one query.
+     */
+    List<BacklogTask> findByBacklogStoryIdIn(Collection<String> ids);
+}
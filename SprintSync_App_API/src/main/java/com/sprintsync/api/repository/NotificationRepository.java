@@ -2,8 +2,12 @@ package com.sprintsync.api.repository;
 
 import com.sprintsync.api.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -44,5 +48,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Stri
      * Find notifications by user ID and type
      */
     List<Notification> findByUserIdAndType(String userId, String type);
-}
 
+    /**
+     * Mark every unread notification of a user as read in one statement
+     *
+     * @return the number of notifications that were unread
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt, n.updatedAt = :readAt " +
+           "WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") String userId, @Param("readAt") LocalDateTime readAt);
+}
@@ -2,8 +2,11 @@ package com.sprintsync.api.repository;
 
 import com.sprintsync.api.entity.ProjectTeamMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +21,13 @@ public interface ProjectTeamMemberRepository extends JpaRepository<ProjectTeamMe
      * @return list of project team members
      */
     List<ProjectTeamMember> findByProjectId(String projectId);
+
+    /**
+     * Find all team members for several projects at once
+     * @param projectIds the project IDs
+     * @return list of project team members
+     */
+    List<ProjectTeamMember> findByProjectIdIn(Collection<String> projectIds);
     
     /**
      * Find all projects for a specific user
@@ -41,4 +51,25 @@ public interface ProjectTeamMemberRepository extends JpaRepository<ProjectTeamMe
      * @return true if user is assigned to project
      */
     boolean existsByProjectIdAndUserId(String projectId, String userId);
+
+    /**
+     * Team roster of a project in one query: membership, user and department columns.
+     * Each row is [role, isTeamLead, allocationPercentage, userId, name, hourlyRate,
+     * experience, avatarUrl, skills, userUpdatedAt, departmentName].
+     */
+    @Query("SELECT m.role, m.isTeamLead, m.allocationPercentage, u.id, u.name, u.hourlyRate, " +
+           "u.experience, u.avatarUrl, u.skills, u.updatedAt, d.name " +
+           "FROM ProjectTeamMember m JOIN User u ON u.id = m.userId " +
+           "LEFT JOIN Department d ON d.id = u.departmentId " +
+           "WHERE m.projectId = :projectId")
+    List<Object[]> findRosterByProjectId(@Param("projectId") String projectId);
+
+    /**
+     * Team roster across all projects in one query; same row layout as {@link #findRosterByProjectId}.
+     */
+    @Query("SELECT m.role, m.isTeamLead, m.allocationPercentage, u.id, u.name, u.hourlyRate, " +
+           "u.experience, u.avatarUrl, u.skills, u.updatedAt, d.name " +
+           "FROM ProjectTeamMember m JOIN User u ON u.id = m.userId " +
+           "LEFT JOIN Department d ON d.id = u.departmentId")
+    List<Object[]> findRoster();
 }
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -147,6 +148,15 @@ public interface SprintRepository extends JpaRepository<Sprint, String> {
     @Query("SELECT COUNT(s) FROM Sprint s WHERE s.projectId = :projectId AND s.status = :status")
     long countByProjectIdAndStatus(@Param("projectId") String projectId, @Param("status") SprintStatus status);
 
+    /**
+     * Count sprints per project for several projects at once.
+     * Each row is [projectId, total sprints, sprints with the given status].
+     */
+    @Query("SELECT s.projectId, COUNT(s), SUM(CASE WHEN s.status = :status THEN 1 ELSE 0 END) " +
+           "FROM Sprint s WHERE s.projectId IN :projectIds GROUP BY s.projectId")
+    List<Object[]> countByProjectIdsGroupedWithStatus(@Param("projectIds") Collection<String> projectIds,
+                                                      @Param("status") SprintStatus status);
+
     /**
      * Count sprints by created by user
      */
@@ -276,12 +276,12 @@ public interface StoryRepository extends JpaRepository<Story, String> {
     BigDecimal sumEstimatedHoursByProjectId(@Param("projectId") String projectId);
 
     /**
-     * Find stories ordered by order index for a specific sprint.
+     * Find stories ordered by rank for a specific sprint (unranked stories by order index).
      * 
      * @param sprintId the sprint ID
-     * @return list of stories ordered by order index
+     * @return list of stories in rank order
      */
-    @Query("SELECT s FROM Story s WHERE s.sprintId = :sprintId ORDER BY s.orderIndex ASC")
+    @Query("SELECT s FROM Story s WHERE s.sprintId = :sprintId ORDER BY s.sortRank ASC NULLS LAST, s.orderIndex ASC")
     List<Story> findStoriesBySprintOrderedByIndex(@Param("sprintId") String sprintId);
 
     /**
@@ -308,4 +308,16 @@ public interface StoryRepository extends JpaRepository<Story, String> {
      */
     @Query("SELECT s FROM Story s WHERE s.projectId = :projectId AND s.sprintId IS NULL")
     List<Story> findStoriesWithoutSprint(@Param("projectId") String projectId);
+
+    /**
+     * Lightweight parent story lookup across stories and backlog_stories in one query.
+     * Each row is [id, title, status, source] where source is 'story' or 'backlog';
+     * the stories table wins when an ID exists in both.
+     */
+    @Query(value = "SELECT id, title, CAST(status AS VARCHAR) AS status, 'story' AS source FROM stories WHERE id IN (:ids) " +
+                   "UNION ALL " +
+                   "SELECT b.id, b.title, CAST(b.status AS VARCHAR), 'backlog' FROM backlog_stories b " +
+                   "WHERE b.id IN (:ids) AND NOT EXISTS (SELECT 1 FROM stories s WHERE s.id = b.id)",
+           nativeQuery = true)
+    List<Object[]> findStorySummariesByIds(@Param("ids") java.util.Collection<String> ids);
 }
@@ -57,19 +57,19 @@ public interface SubtaskRepository extends JpaRepository<Subtask, String> {
     // Note: Subtask entity doesn't have storyId field - subtasks are related to stories through tasks
 
     /**
-     * Find subtasks by sprint ID
+     * Find subtasks by sprint ID (denormalized from the task)
      */
-    // Note: Subtask entity doesn't have sprintId field - subtasks are related to sprints through tasks and stories
+    List<Subtask> findBySprintId(String sprintId);
 
     /**
-     * Find subtasks by project ID
+     * Find subtasks by project ID (denormalized from the task)
      */
-    // Note: Subtask entity doesn't have projectId field - subtasks are related to projects through tasks and stories
+    List<Subtask> findByProjectId(String projectId);
 
     /**
-     * Find subtasks by epic ID
+     * Find subtasks by epic ID (denormalized from the task)
      */
-    // Note: Subtask entity doesn't have epicId field - subtasks are related to epics through tasks and stories
+    List<Subtask> findByEpicId(String epicId);
 
     /**
      * Find subtasks by release ID
@@ -128,6 +128,17 @@ public interface SubtaskRepository extends JpaRepository<Subtask, String> {
     @Query("SELECT COUNT(s) FROM Subtask s WHERE s.dueDate IS NOT NULL AND s.dueDate < :today AND s.isCompleted = false")
     long countOverdueSubtasks(@Param("today") LocalDate today);
 
+    /**
+     * Find overdue subtasks of a project
+     */
+    @Query("SELECT s FROM Subtask s WHERE s.projectId = :projectId AND s.dueDate IS NOT NULL AND s.dueDate < :today AND s.isCompleted = false")
+    List<Subtask> findOverdueSubtasksByProjectId(@Param("projectId") String projectId, @Param("today") LocalDate today);
+
+    /**
+     * Find subtasks of a project due between dates
+     */
+    List<Subtask> findByProjectIdAndDueDateBetween(String projectId, LocalDate startDate, LocalDate endDate);
+
     /**
      * Find subtasks without assignee
      */
@@ -211,12 +222,12 @@ public interface SubtaskRepository extends JpaRepository<Subtask, String> {
     /**
      * Count subtasks by sprint
      */
-    // Note: Subtask entity doesn't have sprintId field - subtasks are related to sprints through tasks and stories
+    long countBySprintId(String sprintId);
 
     /**
      * Count subtasks by project
      */
-    // Note: Subtask entity doesn't have projectId field - subtasks are related to projects through tasks and stories
+    long countByProjectId(String projectId);
 
     /**
      * Find subtasks with high priority
@@ -42,26 +42,26 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     List<Task> findByPriority(String priority);
 
     /**
-     * Find tasks by sprint ID
+     * Find tasks by sprint ID (denormalized from the story)
      */
-    // Note: Task entity doesn't have sprintId field - tasks are related to sprints through stories
-    // Use findByStoryId instead and filter through stories
+    List<Task> findBySprintId(String sprintId);
 
     /**
-     * Find tasks by project ID
+     * Find tasks by project ID (denormalized from the story)
      */
-    // Note: Task entity doesn't have projectId field - tasks are related to projects through stories
-    // Use findByStoryId instead and filter through stories
+    List<Task> findByProjectId(String projectId);
 
     /**
-     * Find tasks by epic ID
+     * Find tasks by epic ID (denormalized from the story)
      */
-    // Note: Task entity doesn't have epicId field - tasks are related to epics through stories
+    List<Task> findByEpicId(String epicId);
 
     /**
-     * Find tasks by release ID
+     * Find tasks by release ID.
+     * Releases are not denormalized onto tasks, so this joins the story.
      */
-    // Note: Task entity doesn't have releaseId field - tasks are related to releases through stories
+    @Query("SELECT t FROM Task t, Story s WHERE s.id = t.storyId AND s.releaseId = :releaseId")
+    List<Task> findByReleaseId(@Param("releaseId") String releaseId);
 
     /**
      * Search tasks by title containing text (case insensitive)
@@ -128,6 +128,19 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.dueDate IS NOT NULL AND t.dueDate < :today AND t.status <> :completedStatus")
     long countOverdueTasks(@Param("today") LocalDate today, @Param("completedStatus") TaskStatus completedStatus);
 
+    /**
+     * Find overdue tasks of a project
+     */
+    @Query("SELECT t FROM Task t WHERE t.projectId = :projectId AND t.dueDate IS NOT NULL AND t.dueDate < :today AND t.status <> :completedStatus")
+    List<Task> findOverdueTasksByProjectId(@Param("projectId") String projectId,
+                                           @Param("today") LocalDate today,
+                                           @Param("completedStatus") TaskStatus completedStatus);
+
+    /**
+     * Find tasks of a project due between dates
+     */
+    List<Task> findByProjectIdAndDueDateBetween(String projectId, LocalDate startDate, LocalDate endDate);
+
     /**
      * Find tasks due soon (due date within specified days)
      */
@@ -244,6 +257,61 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     )
     List<Object[]> sumManualTaskHoursWithoutTimeEntries(@Param("projectId") String projectId);
 
+    /**
+     * Sum hours from time entries for completed tasks grouped by project and assignee,
+     * for several projects at once. Each row is [projectId, assigneeId, hours].
+     */
+    @Query(
+        value = """
+            SELECT
+                s.project_id AS project_id,
+                t.assignee_id AS assignee_id,
+                COALESCE(SUM(te.hours_worked), 0) AS total_hours
+            FROM tasks t
+            INNER JOIN stories s ON s.id = t.story_id
+            INNER JOIN time_entries te ON te.task_id = t.id
+            WHERE s.project_id IN (:projectIds)
+              AND t.assignee_id IS NOT NULL
+              AND LOWER(t.status) = 'done'
+            GROUP BY s.project_id, t.assignee_id
+        """,
+        nativeQuery = true
+    )
+    List<Object[]> sumTimeEntryHoursByProjectAndAssignee(@Param("projectIds") Collection<String> projectIds);
+
+    /**
+     * Sum manual actual hours for completed tasks without time entries grouped by project
+     * and assignee, for several projects at once. Each row is [projectId, assigneeId, hours].
+     */
+    @Query(
+        value = """
+            SELECT
+                s.project_id AS project_id,
+                t.assignee_id AS assignee_id,
+                COALESCE(SUM(t.actual_hours), 0) AS total_hours
+            FROM tasks t
+            INNER JOIN stories s ON s.id = t.story_id
+            WHERE s.project_id IN (:projectIds)
+              AND t.assignee_id IS NOT NULL
+              AND LOWER(t.status) = 'done'
+              AND NOT EXISTS (
+                  SELECT 1 FROM time_entries te WHERE te.task_id = t.id
+              )
+            GROUP BY s.project_id, t.assignee_id
+        """,
+        nativeQuery = true
+    )
+    List<Object[]> sumManualTaskHoursByProjectAndAssignee(@Param("projectIds") Collection<String> projectIds);
+
+    /**
+     * Count tasks per project for several projects at once.
+     * Each row is [projectId, total tasks, tasks with the given status].
+     */
+    @Query("SELECT t.projectId, COUNT(t), SUM(CASE WHEN t.status = :status THEN 1 ELSE 0 END) " +
+           "FROM Task t WHERE t.projectId IN :projectIds GROUP BY t.projectId")
+    List<Object[]> countByProjectIdsGroupedWithStatus(@Param("projectIds") Collection<String> projectIds,
+                                                      @Param("status") TaskStatus status);
+
     /**
      * Count tasks grouped by priority without loading entities
      */
@@ -259,12 +327,17 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     /**
      * Count tasks by sprint
      */
-    // Note: Task entity doesn't have sprintId field - tasks are related to sprints through stories
+    long countBySprintId(String sprintId);
 
     /**
      * Count tasks by project
      */
-    // Note: Task entity doesn't have projectId field - tasks are related to projects through stories
+    long countByProjectId(String projectId);
+
+    /**
+     * Count tasks by project and status
+     */
+    long countByProjectIdAndStatus(String projectId, TaskStatus status);
 
     /**
      * Find tasks with high priority
@@ -382,6 +455,11 @@ public interface TaskRepository extends JpaRepository<Task, String> {
      */
     List<Task> findTop10ByUpdatedAtAfterOrderByUpdatedAtDesc(LocalDateTime since);
 
+    /**
+     * Find the 10 most recently updated tasks of a project since the given time
+     */
+    List<Task> findTop10ByProjectIdAndUpdatedAtAfterOrderByUpdatedAtDesc(String projectId, LocalDateTime since);
+
     /**
      * Find recent tasks for an assignee (limited to 10)
      */
@@ -420,10 +498,19 @@ public interface TaskRepository extends JpaRepository<Task, String> {
     List<Task> findTasksByTimeSpent(@Param("minTime") Integer minTime);
 
     /**
-     * Update task status directly using native query (for custom lane statuses)
+     * Set a manually entered actual_hours; the column is not updatable through the entity.
+     */
+    @Query(value = "UPDATE tasks SET actual_hours = :actualHours, updated_at = NOW() WHERE id = :taskId", nativeQuery = true)
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @org.springframework.transaction.annotation.Transactional
+    int updateActualHours(@Param("taskId") String taskId, @Param("actualHours") java.math.BigDecimal actualHours);
+
+    /**
+     * Update task status directly using native query (for custom lane statuses).
+     * Pending changes are flushed first so clearing the context after the update does not discard them.
      */
     @Query(value = "UPDATE tasks SET status = :statusValue, updated_at = NOW() WHERE id = :taskId", nativeQuery = true)
-    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
     @org.springframework.transaction.annotation.Transactional
     void updateTaskStatusDirectly(@Param("taskId") String taskId, @Param("statusValue") String statusValue);
     
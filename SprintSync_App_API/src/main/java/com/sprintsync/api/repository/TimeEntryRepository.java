@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -112,6 +113,29 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, String> {
                                                    @Param("startDate") LocalDate startDate,
                                                    @Param("endDate") LocalDate endDate);
 
+    /**
+     * Find time entries of several users within a date range.
+     * 
+     * @param userIds the user IDs
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return list of time entries of the users within the date range
+     */
+    @Query("SELECT t FROM TimeEntry t WHERE t.userId IN :userIds AND t.workDate BETWEEN :startDate AND :endDate")
+    List<TimeEntry> findByUserIdInAndWorkDateBetween(@Param("userIds") Collection<String> userIds,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Count and sum time entries per user.
+     * 
+     * @return rows of user ID, entry count, total hours and billable hours
+     */
+    @Query("SELECT t.userId, COUNT(t), COALESCE(SUM(t.hoursWorked), 0), " +
+           "COALESCE(SUM(CASE WHEN t.isBillable = true THEN t.hoursWorked ELSE 0 END), 0) " +
+           "FROM TimeEntry t GROUP BY t.userId")
+    List<Object[]> summarizeByUser();
+
     /**
      * Find billable time entries.
      * 
@@ -163,6 +187,16 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, String> {
     @Query("SELECT COALESCE(SUM(t.hoursWorked), 0) FROM TimeEntry t WHERE t.projectId = :projectId")
     BigDecimal sumHoursWorkedByProjectId(@Param("projectId") String projectId);
 
+    /**
+     * Calculate total hours worked in a sprint: entries of the sprint's stories, and entries
+     * without a story whose task belongs to one of them.
+     */
+    @Query(value = "SELECT COALESCE(SUM(te.hours_worked), 0) FROM time_entries te " +
+                   "LEFT JOIN tasks t ON t.id = te.task_id " +
+                   "JOIN stories s ON s.id = COALESCE(te.story_id, t.story_id) " +
+                   "WHERE s.sprint_id = :sprintId", nativeQuery = true)
+    BigDecimal sumHoursWorkedBySprintId(@Param("sprintId") String sprintId);
+
     /**
      * Calculate total hours worked by story.
      * 
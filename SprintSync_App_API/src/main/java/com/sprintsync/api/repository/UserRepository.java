@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -160,4 +161,13 @@ public interface UserRepository extends JpaRepository<User, String> {
      */
     @Query("SELECT MAX(u.id) FROM User u")
     Optional<String> findMaxId();
+
+    /**
+     * Find which of the given user IDs exist, without loading the users.
+     * 
+     * @param ids the user IDs to check
+     * @return the IDs that belong to existing users
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
 }
@@ -16,12 +16,13 @@ import java.util.List;
 public interface WorkflowLaneRepository extends JpaRepository<WorkflowLane, String> {
 
     /**
-     * Find workflow lanes by project ID, ordered by display order.
+     * Find workflow lanes by project ID, ordered by rank (unranked lanes by display order).
      * 
      * @param projectId the project ID
-     * @return list of workflow lanes for the specified project, ordered by display order
+     * @return list of workflow lanes for the specified project, in board order
      */
-    List<WorkflowLane> findByProjectIdOrderByDisplayOrderAsc(String projectId);
+    @org.springframework.data.jpa.repository.Query("SELECT wl FROM WorkflowLane wl WHERE wl.projectId = :projectId ORDER BY wl.sortRank ASC NULLS LAST, wl.displayOrder ASC")
+    List<WorkflowLane> findByProjectIdOrderByRank(@org.springframework.data.repository.query.Param("projectId") String projectId);
 
     /**
      * Find workflow lanes by project ID.
@@ -49,14 +50,14 @@ public interface WorkflowLaneRepository extends JpaRepository<WorkflowLane, Stri
     long countByProjectId(String projectId);
 
     /**
-     * Find workflow lanes by project ID and board ID, ordered by display order.
+     * Find workflow lanes by project ID and board ID, ordered by rank (unranked lanes by display order).
      * 
      * @param projectId the project ID
      * @param boardId the board ID (null for default board)
-     * @return list of workflow lanes for the specified project and board, ordered by display order
+     * @return list of workflow lanes for the specified project and board, in board order
      */
-    @org.springframework.data.jpa.repository.Query("SELECT wl FROM WorkflowLane wl WHERE wl.projectId = :projectId AND (wl.boardId = :boardId OR (:boardId IS NULL AND wl.boardId IS NULL)) ORDER BY wl.displayOrder ASC")
-    List<WorkflowLane> findByProjectIdAndBoardIdOrderByDisplayOrderAsc(@org.springframework.data.repository.query.Param("projectId") String projectId, @org.springframework.data.repository.query.Param("boardId") String boardId);
+    @org.springframework.data.jpa.repository.Query("SELECT wl FROM WorkflowLane wl WHERE wl.projectId = :projectId AND (wl.boardId = :boardId OR (:boardId IS NULL AND wl.boardId IS NULL)) ORDER BY wl.sortRank ASC NULLS LAST, wl.displayOrder ASC")
+    List<WorkflowLane> findByProjectIdAndBoardIdOrderByRank(@org.springframework.data.repository.query.Param("projectId") String projectId, @org.springframework.data.repository.query.Param("boardId") String boardId);
 
     /**
      * Find workflow lanes by project ID (for default board - boardId is null).
@@ -64,8 +65,8 @@ public interface WorkflowLaneRepository extends JpaRepository<WorkflowLane, Stri
      * @param projectId the project ID
      * @return list of workflow lanes for the default board
      */
-    @org.springframework.data.jpa.repository.Query("SELECT wl FROM WorkflowLane wl WHERE wl.projectId = :projectId AND wl.boardId IS NULL ORDER BY wl.displayOrder ASC")
-    List<WorkflowLane> findByProjectIdAndDefaultBoardOrderByDisplayOrderAsc(@org.springframework.data.repository.query.Param("projectId") String projectId);
+    @org.springframework.data.jpa.repository.Query("SELECT wl FROM WorkflowLane wl WHERE wl.projectId = :projectId AND wl.boardId IS NULL ORDER BY wl.sortRank ASC NULLS LAST, wl.displayOrder ASC")
+    List<WorkflowLane> findByProjectIdAndDefaultBoardOrderByRank(@org.springframework.data.repository.query.Param("projectId") String projectId);
 
     /**
      * Find the maximum display order for a project.
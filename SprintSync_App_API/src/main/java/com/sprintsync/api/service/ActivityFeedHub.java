@@ -0,0 +1,297 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.dto.ActivityFeedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory broadcast hub behind the live activity feed (Server-Sent Events).
+ * Each activity is published once and fanned out to the subscribers whose filter
+ * (project, entity or user) matches it. Subscribers are kept in concurrent registries
+ * keyed by their filter, each has a bounded queue drained by a shared sender pool,
+ * and a subscriber whose queue overflows is disconnected rather than slowing the hub.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class ActivityFeedHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityFeedHub.class);
+
+    /** Queued in place of an event to send a keep-alive comment */
+    private static final ActivityFeedEvent HEARTBEAT = new ActivityFeedEvent();
+
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> byProject = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byEntity = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Counter publishedCounter;
+    private final Counter slowClientCounter;
+
+    @Value("${app.activity-feed.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.activity-feed.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.activity-feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private ExecutorService senders;
+
+    @Autowired
+    public ActivityFeedHub(MeterRegistry meterRegistry) {
+        this.publishedCounter = meterRegistry.counter("activity_feed.published");
+        this.slowClientCounter = meterRegistry.counter("activity_feed.slow_clients_dropped");
+        meterRegistry.gauge("activity_feed.subscribers", subscriberCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "activity-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : allSubscribers()) {
+            subscriber.emitter.complete();
+            unregister(subscriber);
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Register a new feed subscriber. The most specific filter given selects the
+     * registry it lives in; all given filters must match for an event to be delivered.
+     *
+     * @param projectId only events of this project (optional)
+     * @param entityType only events of this entity type (optional, required with entityId)
+     * @param entityId only events of this entity (optional)
+     * @param userId only events performed by this user (optional)
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String projectId, String entityType, String entityId, String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, projectId, entityType, entityId, userId,
+            new ArrayBlockingQueue<>(queueCapacity));
+
+        if (entityType != null && entityId != null) {
+            register(byEntity, entityKey(entityType, entityId), subscriber);
+        } else if (userId != null) {
+            register(byUser, userId, subscriber);
+        } else if (projectId != null) {
+            register(byProject, projectId, subscriber);
+        } else {
+            unfiltered.add(subscriber);
+        }
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // Flush headers to the client right away
+        subscriber.queue.offer(HEARTBEAT);
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Fan an activity out to every matching subscriber. Never blocks the caller.
+     */
+    public void publish(ActivityFeedEvent event) {
+        publishedCounter.increment();
+        deliver(unfiltered, event);
+        if (event.getEntityType() != null && event.getEntityId() != null) {
+            deliver(byEntity.get(entityKey(event.getEntityType(), event.getEntityId())), event);
+        }
+        if (event.getUserId() != null) {
+            deliver(byUser.get(event.getUserId()), event);
+        }
+        if (event.getProjectId() != null) {
+            deliver(byProject.get(event.getProjectId()), event);
+        }
+    }
+
+    /**
+     * Number of connected feed subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.activity-feed.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : allSubscribers()) {
+            // A full queue already has data on its way; no need for a heartbeat
+            if (subscriber.queue.offer(HEARTBEAT)) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    private void deliver(Set<Subscriber> subscribers, ActivityFeedEvent event) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.matches(event)) {
+                continue;
+            }
+            if (subscriber.queue.offer(event)) {
+                scheduleDrain(subscriber);
+            } else {
+                slowClientCounter.increment();
+                logger.info("Dropping slow activity feed subscriber {}", subscriber.id);
+                unregister(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (Exception e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            ActivityFeedEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(event.getId())
+                        .name("activity")
+                        .data(event));
+                }
+            }
+        } catch (Exception e) {
+            // Client disconnected
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Add a subscriber to the set under a key. Added inside compute so a concurrent unregister
+     * cannot remove the set between looking it up and adding to it.
+     */
+    private static void register(Map<String, Set<Subscriber>> registries, String key, Subscriber subscriber) {
+        subscriber.registries = registries;
+        subscriber.registryKey = key;
+        registries.compute(key, (k, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscriber.closed) {
+            subscriber.closed = true;
+            boolean[] removed = new boolean[1];
+            if (subscriber.registries == null) {
+                removed[0] = unfiltered.remove(subscriber);
+            } else {
+                // Drop the key with its last subscriber, so every entity or user ever watched is not kept
+                subscriber.registries.computeIfPresent(subscriber.registryKey, (key, subscribers) -> {
+                    removed[0] = subscribers.remove(subscriber);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+            }
+            if (removed[0]) {
+                subscriberCount.decrementAndGet();
+            }
+            subscriber.queue.clear();
+        }
+    }
+
+    private List<Subscriber> allSubscribers() {
+        List<Subscriber> all = new ArrayList<>(unfiltered);
+        byProject.values().forEach(all::addAll);
+        byEntity.values().forEach(all::addAll);
+        byUser.values().forEach(all::addAll);
+        return all;
+    }
+
+    private static String entityKey(String entityType, String entityId) {
+        return entityType + ":" + entityId;
+    }
+
+    private static final class Subscriber {
+        private final String id = UUID.randomUUID().toString();
+        private final SseEmitter emitter;
+        private final String projectId;
+        private final String entityType;
+        private final String entityId;
+        private final String userId;
+        private final BlockingQueue<ActivityFeedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        /** Registry map and key the subscriber lives under; null for unfiltered subscribers */
+        private Map<String, Set<Subscriber>> registries;
+        private String registryKey;
+
+        private Subscriber(SseEmitter emitter, String projectId, String entityType, String entityId,
+                           String userId, BlockingQueue<ActivityFeedEvent> queue) {
+            this.emitter = emitter;
+            this.projectId = projectId;
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.userId = userId;
+            this.queue = queue;
+        }
+
+        private boolean matches(ActivityFeedEvent event) {
+            return (projectId == null || projectId.equals(event.getProjectId()))
+                && (entityType == null || entityType.equals(event.getEntityType()))
+                && (entityId == null || entityId.equals(event.getEntityId()))
+                && (userId == null || userId.equals(event.getUserId()));
+        }
+    }
+}
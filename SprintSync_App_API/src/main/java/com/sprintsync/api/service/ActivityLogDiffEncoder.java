@@ -0,0 +1,155 @@
+package com.sprintsync.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sprintsync.api.entity.ActivityLog;
+import com.sprintsync.api.util.JsonPatchUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Encodes activity log values as field-level JSON patches.
+ * An entity's first logged change (and every Nth change after it) is stored as a full
+ * snapshot; the changes in between store only the changed paths, with the forward patch
+ * in new_values and the inverse patch in old_values. Snapshots anchor state reconstruction.
+ * Patches are diffed against the state reconstruction will have reached (the previous log's
+ * new values), not against the caller's old values, so replaying them always lands on the
+ * logged new values.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class ActivityLogDiffEncoder {
+
+    public static final String FORMAT_SNAPSHOT = "snapshot";
+    public static final String FORMAT_PATCH = "patch";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    /**
+     * Last encoded state per entity. Entities that fall out of the cache (or were not seen
+     * since startup, or were evicted after a failed write) get a fresh snapshot on their next
+     * change. Holds whole documents, so it keeps fewer entities than a plain counter would.
+     * Only read and written by the activity log writer thread.
+     */
+    private final Cache<String, EntityState> lastStates = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    @Value("${app.activity-log.diff.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.activity-log.diff.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Fill old_values, new_values and values_format of the log.
+     * Also moves created_at forward by a microsecond when needed so an entity's logs never share
+     * a timestamp, keeping (created_at, id) order equal to write order.
+     * Not thread-safe; called only from the activity log writer thread, in write order.
+     */
+    public void encode(ActivityLog log, Object oldValues, Object newValues) throws Exception {
+        JsonNode oldTree = oldValues == null ? null : objectMapper.valueToTree(oldValues);
+        JsonNode newTree = newValues == null ? null : objectMapper.valueToTree(newValues);
+        String key = key(log.getEntityType(), log.getEntityId());
+        EntityState last = lastStates.getIfPresent(key);
+
+        LocalDateTime createdAt = log.getCreatedAt().truncatedTo(ChronoUnit.MICROS);
+        if (last != null && !createdAt.isAfter(last.createdAt)) {
+            createdAt = last.createdAt.plus(1, ChronoUnit.MICROS);
+        }
+        log.setCreatedAt(createdAt);
+
+        boolean snapshot = !enabled || oldTree == null || newTree == null || last == null || last.state == null
+                || last.patches + 1 >= snapshotInterval;
+        if (snapshot) {
+            log.setValuesFormat(FORMAT_SNAPSHOT);
+            log.setOldValues(oldTree == null ? null : objectMapper.writeValueAsString(oldTree));
+            log.setNewValues(newTree == null ? null : objectMapper.writeValueAsString(newTree));
+            lastStates.put(key, new EntityState(newTree, 0, createdAt));
+            return;
+        }
+
+        log.setValuesFormat(FORMAT_PATCH);
+        log.setOldValues(objectMapper.writeValueAsString(JsonPatchUtil.diff(newTree, last.state)));
+        log.setNewValues(objectMapper.writeValueAsString(JsonPatchUtil.diff(last.state, newTree)));
+        lastStates.put(key, new EntityState(newTree, last.patches + 1, createdAt));
+    }
+
+    /**
+     * Fill the log as a full snapshot without extending the entity's patch chain. Used for logs
+     * written out of order (spilled or retried); the entity's next change becomes a snapshot too,
+     * since a patch against the last encoded state could otherwise be replayed onto this one.
+     */
+    public void encodeSnapshot(ActivityLog log, Object oldValues, Object newValues) throws Exception {
+        log.setCreatedAt(log.getCreatedAt().truncatedTo(ChronoUnit.MICROS));
+        log.setValuesFormat(FORMAT_SNAPSHOT);
+        log.setOldValues(oldValues == null ? null : objectMapper.writeValueAsString(objectMapper.valueToTree(oldValues)));
+        log.setNewValues(newValues == null ? null : objectMapper.writeValueAsString(objectMapper.valueToTree(newValues)));
+        evict(log.getEntityType(), log.getEntityId());
+    }
+
+    /**
+     * Forget an entity's last encoded state, so its next change is written as a snapshot.
+     * Called when a log of the entity could not be stored.
+     */
+    public void evict(String entityType, String entityId) {
+        lastStates.invalidate(key(entityType, entityId));
+    }
+
+    private static String key(String entityType, String entityId) {
+        return entityType + ":" + entityId;
+    }
+
+    /**
+     * Rebuild an entity's state from a snapshot log followed by the patch logs written after it.
+     *
+     * @param snapshot the anchoring snapshot (or legacy, unformatted) log
+     * @param laterLogs logs after the snapshot in ascending creation order
+     * @return the reconstructed state, or null if the entity had no state (e.g. it was deleted)
+     */
+    public JsonNode reconstruct(ActivityLog snapshot, List<ActivityLog> laterLogs) throws Exception {
+        JsonNode state = snapshot.getNewValues() == null ? null : objectMapper.readTree(snapshot.getNewValues());
+        for (ActivityLog log : laterLogs) {
+            if (log.getNewValues() == null) {
+                state = null;
+            } else if (FORMAT_PATCH.equals(log.getValuesFormat())) {
+                state = JsonPatchUtil.apply(state, objectMapper.readTree(log.getNewValues()));
+            } else {
+                state = objectMapper.readTree(log.getNewValues());
+            }
+        }
+        return state;
+    }
+
+    /**
+     * An entity's values as of its last encoded log.
+     */
+    private static final class EntityState {
+        private final JsonNode state;
+        private final int patches;
+        private final LocalDateTime createdAt;
+
+        private EntityState(JsonNode state, int patches, LocalDateTime createdAt) {
+            this.state = state;
+            this.patches = patches;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.sprintsync.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of activity_logs.
+ * Creates partitions ahead of the current month and detaches (or drops) partitions
+ * that fall entirely outside the retention window. Does nothing if activity_logs
+ * has not been converted by partition_activity_logs_by_month.sql. Before a partition is
+ * detached, the first later log of each of its entities is rewritten as a full snapshot when
+ * it is a patch, so value history after the retention horizon can still be reconstructed.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class ActivityLogPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogPartitionService.class);
+
+    private static final String PARENT_TABLE = "activity_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("activity_logs_y(\\d{4})m(\\d{2})");
+
+    /**
+     * What happens to a partition once it leaves the retention window.
+     */
+    public enum RetentionAction {
+        /** Detach the partition and keep it as a standalone archive table */
+        DETACH,
+        /** Detach and drop the partition */
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityLogRollupService rollupService;
+    private final ActivityLogService activityLogService;
+
+    @Value("${app.activity-log.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.activity-log.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.activity-log.partition.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.activity-log.partition.retention-action:DETACH}")
+    private RetentionAction retentionAction;
+
+    @Autowired
+    public ActivityLogPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       ActivityLogRollupService rollupService, ActivityLogService activityLogService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.activityLogService = activityLogService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and retire expired ones.
+     *
+     * @return summary of the partitions created and retired
+     */
+    @Scheduled(cron = "${app.activity-log.partition.cron:0 15 2 * * *}")
+    public Map<String, Object> maintainPartitions() {
+        Map<String, Object> result = new HashMap<>();
+        if (!enabled) {
+            result.put("skipped", "disabled");
+            return result;
+        }
+        try {
+            if (!isPartitioned()) {
+                logger.info("Table {} is not partitioned, skipping partition maintenance", PARENT_TABLE);
+                result.put("skipped", "not partitioned");
+                return result;
+            }
+            result.put("created", createUpcomingPartitions());
+            result.put("retired", retireExpiredPartitions());
+            logger.info("Activity log partition maintenance: {}", result);
+        } catch (Exception e) {
+            logger.error("Activity log partition maintenance failed: {}", e.getMessage(), e);
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Names of the monthly partitions currently attached to activity_logs.
+     */
+    public List<String> getAttachedPartitions() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+            String.class, PARENT_TABLE);
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass(?)",
+            Integer.class, PARENT_TABLE);
+        return count != null && count > 0;
+    }
+
+    private List<String> createUpcomingPartitions() {
+        List<String> existing = getAttachedPartitions();
+        List<String> created = new ArrayList<>();
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            YearMonth month = current.plusMonths(offset);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    name, PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+                created.add(name);
+            } catch (Exception e) {
+                // Usually means rows for this month already sit in the default partition
+                logger.warn("Could not create partition {}: {}", name, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    private List<String> retireExpiredPartitions() {
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        List<String> retired = new ArrayList<>();
+        for (String name : getAttachedPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                // The retired logs leave the statistics together with the table, and the
+                // history they anchored is re-anchored on the logs that stay
+                transactionTemplate.executeWithoutResult(status -> {
+                    int rebased = activityLogService.rebaseHistoryAfterPartition(name);
+                    if (rebased > 0) {
+                        logger.info("Rewrote {} activity logs after {} as snapshots", rebased, name);
+                    }
+                    rollupService.subtractPartition(name);
+                    jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", PARENT_TABLE, name));
+                });
+                if (retentionAction == RetentionAction.DROP) {
+                    jdbcTemplate.execute(String.format("DROP TABLE IF EXISTS %s", name));
+                }
+                retired.add(name);
+            }
+        }
+        return retired;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,217 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.entity.ActivityLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains activity_log_rollups, the pre-aggregated activity counts behind the
+ * activity log statistics and count endpoints.
+ * Counts are added per hour as activity logs are written and subtracted as
+ * they are deleted or their partition is retired, and a scheduled job
+ * compacts old hourly buckets into days and old daily buckets into months, so
+ * a year of history stays at a few hundred rows per dimension combination.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class ActivityLogRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogRollupService.class);
+
+    public static final String GRANULARITY_HOUR = "hour";
+    public static final String GRANULARITY_DAY = "day";
+    public static final String GRANULARITY_MONTH = "month";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO activity_log_rollups (granularity, bucket_start, entity_type, action, user_id, event_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (granularity, bucket_start, entity_type, action, user_id) " +
+        "DO UPDATE SET event_count = activity_log_rollups.event_count + EXCLUDED.event_count";
+
+    // Granularities are formatted in (internal constants) so SELECT and GROUP BY match
+    private static final String COMPACT_SQL =
+        "INSERT INTO activity_log_rollups (granularity, bucket_start, entity_type, action, user_id, event_count) " +
+        "SELECT '%1$s', date_trunc('%1$s', bucket_start), entity_type, action, user_id, SUM(event_count) " +
+        "FROM activity_log_rollups WHERE granularity = '%2$s' AND bucket_start < ? " +
+        "GROUP BY date_trunc('%1$s', bucket_start), entity_type, action, user_id " +
+        "ON CONFLICT (granularity, bucket_start, entity_type, action, user_id) " +
+        "DO UPDATE SET event_count = activity_log_rollups.event_count + EXCLUDED.event_count";
+
+    // Deleted rows come back from %1$s, grouped into %2$s buckets and subtracted
+    private static final String SUBTRACT_SQL =
+        "%1$s " +
+        "INSERT INTO activity_log_rollups (granularity, bucket_start, entity_type, action, user_id, event_count) " +
+        "SELECT '%2$s', date_trunc('%2$s', created_at), entity_type, action, COALESCE(user_id, ''), -COUNT(*) " +
+        "FROM removed GROUP BY date_trunc('%2$s', created_at), entity_type, action, COALESCE(user_id, '') " +
+        "ON CONFLICT (granularity, bucket_start, entity_type, action, user_id) " +
+        "DO UPDATE SET event_count = activity_log_rollups.event_count + EXCLUDED.event_count";
+
+    private static final String DELETE_RETURNING =
+        "WITH removed AS (DELETE FROM activity_logs WHERE %s RETURNING created_at, entity_type, action, user_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.activity-log.rollup.hourly-retention-days:7}")
+    private int hourlyRetentionDays;
+
+    @Value("${app.activity-log.rollup.daily-retention-days:90}")
+    private int dailyRetentionDays;
+
+    @Autowired
+    public ActivityLogRollupService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add the given activity logs to their hourly buckets.
+     * Logs are grouped in memory first, so a batch costs one upsert per distinct bucket.
+     */
+    public void record(List<ActivityLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        Map<List<Object>, Long> counts = new HashMap<>();
+        for (ActivityLog log : logs) {
+            LocalDateTime createdAt = log.getCreatedAt() != null ? log.getCreatedAt() : LocalDateTime.now();
+            List<Object> key = List.of(
+                createdAt.truncatedTo(ChronoUnit.HOURS),
+                log.getEntityType(),
+                log.getAction(),
+                Objects.toString(log.getUserId(), ""));
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        for (Map.Entry<List<Object>, Long> entry : counts.entrySet()) {
+            List<Object> key = entry.getKey();
+            rows.add(new Object[] {
+                GRANULARITY_HOUR,
+                Timestamp.valueOf((LocalDateTime) key.get(0)),
+                key.get(1),
+                key.get(2),
+                key.get(3),
+                entry.getValue()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /**
+     * Delete one activity log and subtract it from its bucket, in one statement.
+     *
+     * @return true if the log existed
+     */
+    public boolean deleteLog(String id) {
+        return subtract(String.format(DELETE_RETURNING, "id = ?"), GRANULARITY_HOUR, id) > 0;
+    }
+
+    /**
+     * Delete activity logs created before the given time and subtract them from their buckets, in one statement.
+     */
+    public void deleteLogsBefore(LocalDateTime before) {
+        subtract(String.format(DELETE_RETURNING, "created_at < ?"), GRANULARITY_HOUR, Timestamp.valueOf(before));
+    }
+
+    /**
+     * Subtract every log of an activity_logs partition that is about to be detached. The partition
+     * holds one month, so its counts come off the month bucket, where compaction has put them by then.
+     * Run in the same transaction as the detach.
+     */
+    public void subtractPartition(String partitionName) {
+        subtract("WITH removed AS (SELECT created_at, entity_type, action, user_id FROM " + partitionName + ")",
+            GRANULARITY_MONTH);
+    }
+
+    /**
+     * Negative buckets are fine: readers sum every granularity, and compaction carries a negative
+     * hourly or daily count into the coarser bucket that holds the rest of the period.
+     */
+    private int subtract(String removed, String granularity, Object... args) {
+        return jdbcTemplate.update(String.format(SUBTRACT_SQL, removed, granularity), args);
+    }
+
+    /**
+     * Compact hourly buckets older than the hourly retention into daily buckets, and daily
+     * buckets older than the daily retention into monthly buckets.
+     */
+    @Scheduled(cron = "${app.activity-log.rollup.compaction-cron:0 30 2 * * *}")
+    @Transactional
+    public void compact() {
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        int hourly = compact(GRANULARITY_HOUR, GRANULARITY_DAY, today.minusDays(hourlyRetentionDays));
+        LocalDateTime dailyCutoff = today.minusDays(dailyRetentionDays).withDayOfMonth(1);
+        int daily = compact(GRANULARITY_DAY, GRANULARITY_MONTH, dailyCutoff);
+        logger.info("Compacted {} hourly and {} daily activity rollup rows", hourly, daily);
+    }
+
+    private int compact(String from, String to, LocalDateTime before) {
+        Timestamp cutoff = Timestamp.valueOf(before);
+        jdbcTemplate.update(String.format(COMPACT_SQL, to, from), cutoff);
+        return jdbcTemplate.update(
+            "DELETE FROM activity_log_rollups WHERE granularity = ? AND bucket_start < ?", from, cutoff);
+    }
+
+    /**
+     * Total activities recorded since the given time (null for all time).
+     * Buckets are counted when they start at or after {@code since}, so the result is exact
+     * for windows inside the hourly retention and bucket-aligned beyond it.
+     */
+    public long countSince(LocalDateTime since) {
+        Long total = since == null
+            ? jdbcTemplate.queryForObject("SELECT COALESCE(SUM(event_count), 0) FROM activity_log_rollups", Long.class)
+            : jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(event_count), 0) FROM activity_log_rollups WHERE bucket_start >= ?",
+                Long.class, Timestamp.valueOf(since.truncatedTo(ChronoUnit.HOURS)));
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Total activities recorded for a user.
+     */
+    public long countByUser(String userId) {
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(event_count), 0) FROM activity_log_rollups WHERE user_id = ?",
+            Long.class, userId);
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Activity counts grouped by entity type or action since the given time (null for all time).
+     *
+     * @param dimension "entity_type" or "action"
+     */
+    public Map<String, Long> countByDimension(String dimension, LocalDateTime since) {
+        if (!"entity_type".equals(dimension) && !"action".equals(dimension)) {
+            throw new IllegalArgumentException("Unsupported rollup dimension: " + dimension);
+        }
+        String sql = "SELECT " + dimension + " AS dim, SUM(event_count) AS total FROM activity_log_rollups " +
+            (since != null ? "WHERE bucket_start >= ? " : "") +
+            "GROUP BY " + dimension + " ORDER BY total DESC";
+        Object[] args = since != null
+            ? new Object[] { Timestamp.valueOf(since.truncatedTo(ChronoUnit.HOURS)) }
+            : new Object[0];
+        Map<String, Long> result = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.put(rs.getString("dim"), rs.getLong("total"));
+        }, args);
+        return result;
+    }
+}
@@ -1,14 +1,27 @@
 package com.sprintsync.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprintsync.api.dto.ActivityFeedEvent;
 import com.sprintsync.api.entity.ActivityLog;
 import com.sprintsync.api.repository.ActivityLogRepository;
+import com.sprintsync.api.util.JsonPatchUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -22,13 +35,40 @@ import java.util.Map;
 @SuppressWarnings("null")
 public class ActivityLogService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogService.class);
+
+    /**
+     * For every entity with logs in the removed set (a FROM clause), its first remaining log after
+     * them, if that log is a patch
+     */
+    private static final String FIRST_PATCH_AFTER_SQL =
+        "SELECT f.id FROM (SELECT entity_type, entity_id, MAX(created_at) AS last_at FROM %s " +
+        "GROUP BY entity_type, entity_id) e " +
+        "CROSS JOIN LATERAL (SELECT a.id, a.values_format FROM activity_logs a " +
+        "WHERE a.entity_type = e.entity_type AND a.entity_id = e.entity_id AND a.created_at > e.last_at " +
+        "ORDER BY a.created_at, a.id LIMIT 1) f " +
+        "WHERE f.values_format = 'patch'";
+
     @Autowired
     private ActivityLogRepository activityLogRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private IdGenerationService idGenerationService;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private ActivityLogWriteBuffer activityLogWriteBuffer;
+
+    @Autowired
+    private ActivityLogDiffEncoder activityLogDiffEncoder;
+
+    @Autowired
+    private ActivityLogRollupService activityLogRollupService;
+
+    @Autowired
+    private ActivityFeedHub activityFeedHub;
 
     /**
      * Get all activity logs with pagination
@@ -54,45 +94,160 @@ public class ActivityLogService {
         if (activityLog.getCreatedAt() == null) {
             activityLog.setCreatedAt(LocalDateTime.now());
         }
-        return activityLogRepository.save(activityLog);
+        ActivityLog saved = activityLogRepository.save(activityLog);
+        activityLogRollupService.record(List.of(saved));
+        activityFeedHub.publish(new ActivityFeedEvent(saved, null));
+        return saved;
     }
 
     /**
-     * Log an activity for an entity
+     * Log an activity for an entity.
+     * The entry is handed to the write-behind buffer, which serializes the values and inserts it
+     * in a batch off the request thread. Inside a transaction the entry is only enqueued after
+     * commit, so rolled-back changes are not audited.
      */
     public ActivityLog logActivity(String userId, String entityType, String entityId, String action, 
                                    String description, Object oldValues, Object newValues) {
+        return logActivity(userId, null, entityType, entityId, action, description, oldValues, newValues);
+    }
+
+    /**
+     * Log an activity for an entity that belongs to a project.
+     * The project ID is not stored; it routes the event to project subscribers of the live feed.
+     */
+    public ActivityLog logActivity(String userId, String projectId, String entityType, String entityId, String action,
+                                   String description, Object oldValues, Object newValues) {
         ActivityLog log = new ActivityLog();
+        log.setId(idGenerationService.generateActivityLogId());
         log.setUserId(userId);
         log.setEntityType(entityType);
         log.setEntityId(entityId);
         log.setAction(action);
         log.setDescription(description);
+        log.setCreatedAt(LocalDateTime.now());
+
+        ActivityLogWriteBuffer.PendingActivity pending =
+            new ActivityLogWriteBuffer.PendingActivity(log, oldValues, newValues);
+        ActivityFeedEvent event = new ActivityFeedEvent(log, projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activityLogWriteBuffer.enqueue(pending);
+                    activityFeedHub.publish(event);
+                }
+            });
+        } else {
+            activityLogWriteBuffer.enqueue(pending);
+            activityFeedHub.publish(event);
+        }
+        return log;
+    }
+
+    /**
+     * Subscribe to the live activity feed, optionally filtered by project, entity or user.
+     */
+    public SseEmitter subscribeToActivityFeed(String projectId, String entityType, String entityId, String userId) {
+        return activityFeedHub.subscribe(projectId, entityType, entityId, userId);
+    }
 
+    /**
+     * Rebuild an entity's state as of a point in time from its latest snapshot log
+     * and the patch logs recorded after it.
+     *
+     * @return the reconstructed state, or null if nothing was logged for the entity by then
+     * @throws IllegalArgumentException if a logged patch does not apply to the state before it
+     */
+    public JsonNode reconstructEntityState(String entityType, String entityId, LocalDateTime at) {
+        List<ActivityLog> snapshots = activityLogRepository.findLatestSnapshots(
+            entityType, entityId, at, PageRequest.of(0, 1));
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        ActivityLog snapshot = snapshots.get(0);
+        List<ActivityLog> laterLogs = activityLogRepository.findEntityLogsBetween(
+            entityType, entityId, snapshot.getCreatedAt(), snapshot.getId(), at);
         try {
-            if (oldValues != null) {
-                log.setOldValues(objectMapper.writeValueAsString(oldValues));
-            }
-            if (newValues != null) {
-                log.setNewValues(objectMapper.writeValueAsString(newValues));
-            }
+            return activityLogDiffEncoder.reconstruct(snapshot, laterLogs);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("History of " + entityType + " " + entityId
+                + " cannot be reconstructed at " + at + ": " + e.getMessage(), e);
         } catch (Exception e) {
-            // Log error but don't fail the activity logging
-            System.err.println("Error serializing values for activity log: " + e.getMessage());
+            throw new IllegalStateException("Failed to reconstruct state for " + entityType + " " + entityId, e);
         }
-
-        return createActivityLog(log);
     }
 
     /**
-     * Delete an activity log
+     * Delete an activity log. The entity's next log is rewritten as a snapshot first if it is a patch.
      */
+    @Transactional
     public boolean deleteActivityLog(String id) {
-        if (activityLogRepository.existsById(id)) {
-            activityLogRepository.deleteById(id);
-            return true;
+        rebaseHistory("activity_logs WHERE id = ?", id);
+        return activityLogRollupService.deleteLog(id);
+    }
+
+    /**
+     * Rewrite the first log of each entity of an activity_logs partition that follows the partition as a
+     * full snapshot, if it is a patch. Run in the transaction that detaches the partition, so the history
+     * left behind starts from a snapshot instead of patches against a removed one.
+     *
+     * @return number of logs rewritten
+     */
+    public int rebaseHistoryAfterPartition(String partitionName) {
+        return rebaseHistory(partitionName);
+    }
+
+    /**
+     * Rewrite as full snapshots the patch logs that directly follow the removed logs of their entity.
+     * Patches are relative to the log before them, so without this they would be replayed onto an
+     * older snapshot, or have nothing to start from.
+     */
+    private int rebaseHistory(String removedLogs, Object... args) {
+        List<String> ids = jdbcTemplate.queryForList(String.format(FIRST_PATCH_AFTER_SQL, removedLogs), String.class, args);
+        int rebased = 0;
+        for (String id : ids) {
+            ActivityLog log = activityLogRepository.findById(id).orElse(null);
+            if (log == null || log.getOldValues() == null) {
+                continue;
+            }
+            try {
+                JsonNode state = stateAfter(log);
+                if (state == null) {
+                    continue;
+                }
+                ObjectMapper mapper = activityLogDiffEncoder.getObjectMapper();
+                JsonNode oldState = JsonPatchUtil.apply(state, mapper.readTree(log.getOldValues()));
+                log.setValuesFormat(ActivityLogDiffEncoder.FORMAT_SNAPSHOT);
+                log.setOldValues(mapper.writeValueAsString(oldState));
+                log.setNewValues(mapper.writeValueAsString(state));
+                activityLogRepository.save(log);
+                rebased++;
+            } catch (Exception e) {
+                logger.warn("Could not rewrite activity log {} as a snapshot: {}", id, e.getMessage());
+            }
+        }
+        return rebased;
+    }
+
+    /**
+     * An entity's state right after one of its logs, or null without a snapshot to start from.
+     */
+    private JsonNode stateAfter(ActivityLog log) throws Exception {
+        List<ActivityLog> snapshots = activityLogRepository.findLatestSnapshots(
+            log.getEntityType(), log.getEntityId(), log.getCreatedAt(), PageRequest.of(0, 1));
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        ActivityLog snapshot = snapshots.get(0);
+        List<ActivityLog> chain = new ArrayList<>();
+        for (ActivityLog later : activityLogRepository.findEntityLogsBetween(log.getEntityType(), log.getEntityId(),
+                snapshot.getCreatedAt(), snapshot.getId(), log.getCreatedAt())) {
+            chain.add(later);
+            if (later.getId().equals(log.getId())) {
+                break;
+            }
         }
-        return false;
+        return activityLogDiffEncoder.reconstruct(snapshot, chain);
     }
 
     /**
@@ -182,32 +337,37 @@ public class ActivityLogService {
     }
 
     /**
-     * Count activity logs by user
+     * Count activity logs by user (from the statistics rollups)
      */
     public long countActivityLogsByUser(String userId) {
-        return activityLogRepository.countByUserId(userId);
+        return activityLogRollupService.countByUser(userId);
     }
 
     /**
-     * Get activity log statistics
+     * Get activity log statistics (from the statistics rollups)
      */
     public Map<String, Object> getActivityLogStatistics() {
-        long totalLogs = activityLogRepository.count();
+        LocalDateTime now = LocalDateTime.now();
         
         return Map.of(
-            "totalLogs", totalLogs,
-            "last24Hours", getRecentActivityByEntity("all", "all", 1).size(),
-            "last7Days", getRecentActivityByEntity("all", "all", 7).size(),
-            "last30Days", getRecentActivityByEntity("all", "all", 30).size()
+            "totalLogs", activityLogRollupService.countSince(null),
+            "last24Hours", activityLogRollupService.countSince(now.minusHours(24)),
+            "last7Days", activityLogRollupService.countSince(now.minusDays(7)),
+            "last30Days", activityLogRollupService.countSince(now.minusDays(30)),
+            "byEntityType", activityLogRollupService.countByDimension("entity_type", null),
+            "byAction", activityLogRollupService.countByDimension("action", null)
         );
     }
 
     /**
-     * Delete old activity logs (cleanup)
+     * Delete old activity logs (cleanup). Patches left at the start of an entity's remaining
+     * history are rewritten as snapshots first.
      */
+    @Transactional
     public void deleteOldActivityLogs(int daysToKeep) {
         LocalDateTime before = LocalDateTime.now().minusDays(daysToKeep);
-        activityLogRepository.deleteOldLogs(before);
+        rebaseHistory("activity_logs WHERE created_at < ?", Timestamp.valueOf(before));
+        activityLogRollupService.deleteLogsBefore(before);
     }
 }
 
@@ -0,0 +1,449 @@
+package com.sprintsync.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sprintsync.api.entity.ActivityLog;
+import com.sprintsync.api.util.JdbcTimestamps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind buffer for activity logs.
+ * Callers enqueue pending activities without blocking on the database; a dedicated
+ * writer thread encodes old/new values (see {@link ActivityLogDiffEncoder}) and flushes rows to activity_logs in JDBC batches
+ * every flush interval or as soon as a full batch is waiting.
+ *
+ * Values are only ever encoded on the writer thread, in queue order. Under the SPILL policy an
+ * overflowing activity is appended raw to the spill file, and later activities follow it there until
+ * the writer has drained the file after the queue; spilled activities are written as full snapshots.
+ * When a batch cannot be inserted its entities are evicted from the encoder, so their next change is a
+ * snapshot instead of a patch against a row that was never stored.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class ActivityLogWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriteBuffer.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO activity_logs (id, user_id, entity_type, entity_id, action, old_values, new_values, " +
+        "values_format, description, ip_address, user_agent, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT DO NOTHING";
+
+    /**
+     * What to do with an activity when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait (up to the block timeout) for the writer to free space, then drop */
+        BLOCK,
+        /** Drop the activity and count it in the dropped metric */
+        DROP,
+        /** Append the activity to the local spill file; drained by the writer after the queue */
+        SPILL
+    }
+
+    /**
+     * An activity captured on the caller's thread. Values are serialized by the writer thread.
+     */
+    public static class PendingActivity {
+        private final ActivityLog log;
+        private final Object oldValues;
+        private final Object newValues;
+
+        public PendingActivity(ActivityLog log, Object oldValues, Object newValues) {
+            this.log = log;
+            this.oldValues = oldValues;
+            this.newValues = newValues;
+        }
+
+        public ActivityLog getLog() {
+            return log;
+        }
+
+        public Object getOldValues() {
+            return oldValues;
+        }
+
+        public Object getNewValues() {
+            return newValues;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLogDiffEncoder diffEncoder;
+    private final ActivityLogRollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentLinkedQueue<PendingActivity> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object spillLock = new Object();
+
+    /** Set while the spill file holds activities the writer has not drained; guarded by spillLock */
+    private boolean spilling;
+
+    private final Counter enqueuedCounter;
+    private final Counter flushedCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+
+    @Value("${app.activity-log.buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.activity-log.buffer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.activity-log.buffer.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.activity-log.buffer.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.activity-log.buffer.block-timeout-ms:2000}")
+    private long blockTimeoutMs;
+
+    @Value("${app.activity-log.buffer.spill-file:activity-log-spill.jsonl}")
+    private String spillFile;
+
+    private ScheduledExecutorService writer;
+
+    @Autowired
+    public ActivityLogWriteBuffer(JdbcTemplate jdbcTemplate, ActivityLogDiffEncoder diffEncoder,
+                                  ActivityLogRollupService rollupService,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.diffEncoder = diffEncoder;
+        this.rollupService = rollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = diffEncoder.getObjectMapper();
+        this.enqueuedCounter = meterRegistry.counter("activity_log.buffer.enqueued");
+        this.flushedCounter = meterRegistry.counter("activity_log.buffer.flushed");
+        this.droppedCounter = meterRegistry.counter("activity_log.buffer.dropped");
+        this.spilledCounter = meterRegistry.counter("activity_log.buffer.spilled");
+        meterRegistry.gauge("activity_log.buffer.size", size);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Activities spilled by a previous run are written before anything new
+        writer.execute(this::flushSafely);
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the writer and flush everything still buffered before the datasource goes away.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    writer.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                writer.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushSafely();
+        logger.info("Activity log buffer shut down, {} entries left unflushed", size.get());
+    }
+
+    /**
+     * Enqueue an activity for asynchronous persistence.
+     *
+     * @param activity the pending activity
+     * @return true if the activity was buffered or spilled, false if it was dropped
+     */
+    public boolean enqueue(PendingActivity activity) {
+        synchronized (spillLock) {
+            // Keep queue order: once one activity is spilled, later ones go after it
+            if (spilling) {
+                return spill(List.of(activity));
+            }
+        }
+        if (tryReserve()) {
+            queue.offer(activity);
+            enqueuedCounter.increment();
+            if (size.get() >= batchSize) {
+                requestFlush();
+            }
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+                requestFlush();
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    if (tryReserve()) {
+                        queue.offer(activity);
+                        enqueuedCounter.increment();
+                        return true;
+                    }
+                }
+                droppedCounter.increment();
+                logger.warn("Activity log buffer full for {} ms, dropping {} {}",
+                    blockTimeoutMs, activity.getLog().getEntityType(), activity.getLog().getEntityId());
+                return false;
+            case SPILL:
+                synchronized (spillLock) {
+                    spilling = true;
+                    boolean spilled = spill(List.of(activity));
+                    requestFlush();
+                    return spilled;
+                }
+            case DROP:
+            default:
+                droppedCounter.increment();
+                return false;
+        }
+    }
+
+    /**
+     * Number of activities currently waiting to be written.
+     */
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    /**
+     * Drain the buffer in batches and write them to the database, then write the activities
+     * spilled after them. Runs on the writer thread, and on the caller's thread during shutdown.
+     */
+    synchronized void flush() {
+        flushRequested.set(false);
+        List<PendingActivity> batch = new ArrayList<>(batchSize);
+        PendingActivity next;
+        while ((next = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(next);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+        drainSpillFile();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Activity log flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void requestFlush() {
+        if (writer != null && !writer.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            writer.execute(this::flushSafely);
+        }
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingActivity> batch) {
+        writeBatch(batch, false);
+    }
+
+    /**
+     * Encode and insert a batch. Spilled activities are encoded as snapshots: they are written
+     * out of order with the patches of their entities, so they can neither extend nor anchor a chain.
+     */
+    private void writeBatch(List<PendingActivity> batch, boolean spilled) {
+        List<ActivityLog> rows = new ArrayList<>(batch.size());
+        for (PendingActivity activity : batch) {
+            rows.add(encode(activity, spilled));
+        }
+        try {
+            insertAndRecord(rows);
+            flushedCounter.increment(rows.size());
+        } catch (Exception e) {
+            logger.error("Failed to write {} activity logs: {}", rows.size(), e.getMessage());
+            for (ActivityLog row : rows) {
+                diffEncoder.evict(row.getEntityType(), row.getEntityId());
+            }
+            if (overflowPolicy == OverflowPolicy.SPILL) {
+                spill(batch);
+            } else {
+                droppedCounter.increment(rows.size());
+            }
+        }
+    }
+
+    /**
+     * Insert the rows and add them to the statistics rollups in one transaction,
+     * so a failed batch (spilled and replayed later) is never counted twice.
+     * Only rows actually inserted are counted: a replayed row that is already stored hits
+     * ON CONFLICT DO NOTHING and reports an update count of 0.
+     */
+    private void insertAndRecord(List<ActivityLog> rows) {
+        transactionTemplate.executeWithoutResult(status -> rollupService.record(insertRows(rows)));
+    }
+
+    private List<ActivityLog> insertRows(List<ActivityLog> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, log) -> {
+            ps.setString(1, log.getId());
+            ps.setString(2, log.getUserId());
+            ps.setString(3, log.getEntityType());
+            ps.setString(4, log.getEntityId());
+            ps.setString(5, log.getAction());
+            ps.setString(6, log.getOldValues());
+            ps.setString(7, log.getNewValues());
+            ps.setString(8, log.getValuesFormat());
+            ps.setString(9, log.getDescription());
+            ps.setString(10, log.getIpAddress());
+            ps.setString(11, log.getUserAgent());
+            JdbcTimestamps.setUtc(ps, 12, log.getCreatedAt());
+        });
+        List<ActivityLog> inserted = new ArrayList<>(rows.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    inserted.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    private ActivityLog encode(PendingActivity activity, boolean snapshot) {
+        ActivityLog log = activity.getLog();
+        if (log.getCreatedAt() == null) {
+            log.setCreatedAt(LocalDateTime.now());
+        }
+        try {
+            if (snapshot) {
+                diffEncoder.encodeSnapshot(log, activity.getOldValues(), activity.getNewValues());
+            } else {
+                diffEncoder.encode(log, activity.getOldValues(), activity.getNewValues());
+            }
+        } catch (Exception e) {
+            // Log error but don't fail the activity logging
+            logger.warn("Error serializing values for activity log {}: {}", log.getId(), e.getMessage());
+        }
+        return log;
+    }
+
+    /**
+     * Append activities to the spill file with their raw values; they are encoded when drained.
+     */
+    private boolean spill(List<PendingActivity> activities) {
+        synchronized (spillLock) {
+            try (BufferedWriter out = Files.newBufferedWriter(Paths.get(spillFile), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (PendingActivity activity : activities) {
+                    ObjectNode line = objectMapper.createObjectNode();
+                    line.set("log", objectMapper.valueToTree(activity.getLog()));
+                    line.set("oldValues", objectMapper.valueToTree(activity.getOldValues()));
+                    line.set("newValues", objectMapper.valueToTree(activity.getNewValues()));
+                    out.write(objectMapper.writeValueAsString(line));
+                    out.newLine();
+                }
+                spilledCounter.increment(activities.size());
+                return true;
+            } catch (IOException e) {
+                logger.error("Failed to spill {} activity logs to {}: {}", activities.size(), spillFile, e.getMessage());
+                droppedCounter.increment(activities.size());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Write the spilled activities (including those left by a previous run), then remove the spill
+     * file. Activities enqueued from here on go to the queue again.
+     */
+    private void drainSpillFile() {
+        List<PendingActivity> spilled = new ArrayList<>();
+        synchronized (spillLock) {
+            spilling = false;
+            Path path = Paths.get(spillFile);
+            if (!Files.exists(path)) {
+                return;
+            }
+            try {
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        JsonNode node = objectMapper.readTree(line);
+                        spilled.add(new PendingActivity(objectMapper.treeToValue(node.get("log"), ActivityLog.class),
+                            values(node.get("oldValues")), values(node.get("newValues"))));
+                    } catch (IOException e) {
+                        logger.warn("Skipping unreadable line in activity log spill file {}: {}", spillFile, e.getMessage());
+                        droppedCounter.increment();
+                    }
+                }
+                Files.delete(path);
+            } catch (IOException e) {
+                logger.error("Failed to read activity log spill file {}: {}", spillFile, e.getMessage());
+                return;
+            }
+        }
+        for (int from = 0; from < spilled.size(); from += batchSize) {
+            writeBatch(spilled.subList(from, Math.min(from + batchSize, spilled.size())), true);
+        }
+        logger.info("Wrote {} spilled activity logs from {}", spilled.size(), spillFile);
+    }
+
+    private static JsonNode values(JsonNode node) {
+        return node == null || node.isNull() ? null : node;
+    }
+}
@@ -0,0 +1,208 @@
+package com.sprintsync.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and verifies the delta-maintained actual hours rollups.
+ * Time entry writes apply only their own change to tasks.actual_hours, stories.actual_hours and the
+ * sharded sprint/project totals in actual_hours_rollup (see create_actual_hours_delta_rollup.sql).
+ * Deltas never rescan a task's entries, so anything that writes these values outside the triggers
+ * (an entity save with a stale actual_hours, manual SQL) would persist; a scheduled job compares
+ * every level with a fresh aggregate of time_entries and repairs drifted rows.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class ActualHoursRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActualHoursRollupService.class);
+
+    /** Hours per task and per story summed from their time entries */
+    private static final String TASK_SOURCE_SQL =
+        "SELECT task_id AS id, SUM(hours_worked) AS hours FROM time_entries " +
+        "WHERE task_id IS NOT NULL GROUP BY task_id";
+
+    private static final String STORY_SOURCE_SQL =
+        "SELECT story_id AS id, SUM(hours_worked) AS hours FROM time_entries " +
+        "WHERE story_id IS NOT NULL GROUP BY story_id";
+
+    /** Sprint and project totals per shard, same scope rules as the triggers */
+    private static final String ROLLUP_SOURCE_SQL =
+        "SELECT 'sprint' AS scope_type, s.sprint_id AS scope_id, actual_hours_shard(te.user_id) AS shard, " +
+        "SUM(te.hours_worked) AS hours " +
+        "FROM time_entries te LEFT JOIN tasks t ON t.id = te.task_id " +
+        "JOIN stories s ON s.id = COALESCE(te.story_id, t.story_id) " +
+        "WHERE s.sprint_id IS NOT NULL GROUP BY s.sprint_id, actual_hours_shard(te.user_id) " +
+        "UNION ALL " +
+        "SELECT 'project', te.project_id, actual_hours_shard(te.user_id), SUM(te.hours_worked) " +
+        "FROM time_entries te WHERE te.project_id IS NOT NULL " +
+        "GROUP BY te.project_id, actual_hours_shard(te.user_id)";
+
+    private static final String ROLLUP_DRIFT_SQL =
+        "SELECT COUNT(*) FROM actual_hours_rollup r " +
+        "FULL OUTER JOIN (" + ROLLUP_SOURCE_SQL + ") src " +
+        "ON src.scope_type = r.scope_type AND src.scope_id = r.scope_id AND src.shard = r.shard " +
+        "WHERE COALESCE(r.hours, 0) <> COALESCE(src.hours, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available;
+
+    @Value("${app.actual-hours-rollup.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    public ActualHoursRollupService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectRollup() {
+        if (!enabled) {
+            available = false;
+            return;
+        }
+        try {
+            String table = jdbcTemplate.queryForObject("SELECT to_regclass('actual_hours_rollup')::text", String.class);
+            available = table != null;
+            if (!available) {
+                logger.info("actual_hours_rollup not found, sprint and project hours are summed from time entries");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for actual_hours_rollup: {}", e.getMessage());
+            available = false;
+        }
+    }
+
+    /**
+     * Whether sprint and project totals can be read from the rollup.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Hours logged against a sprint's stories.
+     */
+    public BigDecimal getSprintActualHours(String sprintId) {
+        return readTotal("sprint", sprintId);
+    }
+
+    /**
+     * Hours logged against a project.
+     */
+    public BigDecimal getProjectActualHours(String projectId) {
+        return readTotal("project", projectId);
+    }
+
+    private BigDecimal readTotal(String scopeType, String scopeId) {
+        BigDecimal hours = jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(hours), 0) FROM actual_hours_rollup WHERE scope_type = ? AND scope_id = ?",
+            BigDecimal.class, scopeType, scopeId);
+        return hours != null ? hours : BigDecimal.ZERO;
+    }
+
+    /**
+     * Compare every rollup level with a fresh aggregate of time_entries and, if requested,
+     * repair the drifted rows. Repairs hold a SHARE lock on time_entries so no entry is written
+     * (and no delta applied) between computing the correct totals and storing them.
+     *
+     * @return summary with the number of drifted tasks, stories and rollup rows
+     */
+    @Transactional
+    public Map<String, Object> verify(boolean repair) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!available) {
+            result.put("skipped", "rollup not available");
+            return result;
+        }
+
+        int tasks = countDrift("tasks", TASK_SOURCE_SQL);
+        int stories = countDrift("stories", STORY_SOURCE_SQL);
+        Integer rollups = jdbcTemplate.queryForObject(ROLLUP_DRIFT_SQL, Integer.class);
+        result.put("driftedTasks", tasks);
+        result.put("driftedStories", stories);
+        result.put("driftedRollups", rollups != null ? rollups : 0);
+
+        boolean drifted = tasks > 0 || stories > 0 || (rollups != null && rollups > 0);
+        if (drifted) {
+            logger.warn("Actual hours verification found {} tasks, {} stories and {} rollup rows drifted (repair={})",
+                tasks, stories, rollups, repair);
+        }
+        if (repair && drifted) {
+            jdbcTemplate.execute("LOCK TABLE time_entries IN SHARE MODE");
+            result.put("repairedTasks", repairLevel("tasks", TASK_SOURCE_SQL));
+            result.put("repairedStories", repairLevel("stories", STORY_SOURCE_SQL));
+            result.put("repairedRollups", repairRollups());
+        }
+        return result;
+    }
+
+    /**
+     * Rebuild the sprint and project totals from scratch.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE time_entries IN SHARE MODE");
+        jdbcTemplate.update("DELETE FROM actual_hours_rollup");
+        int rows = jdbcTemplate.update(
+            "INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours) " +
+            "SELECT scope_type, scope_id, shard, hours FROM (" + ROLLUP_SOURCE_SQL + ") src");
+        available = true;
+        logger.info("Rebuilt actual hours rollup with {} rows", rows);
+        return rows;
+    }
+
+    @Scheduled(cron = "${app.actual-hours-rollup.verify-cron:0 0 3 * * *}")
+    @Transactional
+    public void scheduledVerify() {
+        try {
+            verify(true);
+        } catch (Exception e) {
+            logger.error("Actual hours verification failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int countDrift(String table, String sourceSql) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " x JOIN (" + sourceSql + ") src ON src.id = x.id " +
+            "WHERE x.actual_hours IS DISTINCT FROM src.hours", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private int repairLevel(String table, String sourceSql) {
+        return jdbcTemplate.update(
+            "UPDATE " + table + " x SET actual_hours = src.hours FROM (" + sourceSql + ") src " +
+            "WHERE src.id = x.id AND x.actual_hours IS DISTINCT FROM src.hours");
+    }
+
+    private int repairRollups() {
+        int removed = jdbcTemplate.update(
+            "DELETE FROM actual_hours_rollup r WHERE NOT EXISTS (" +
+            "SELECT 1 FROM (" + ROLLUP_SOURCE_SQL + ") src " +
+            "WHERE src.scope_type = r.scope_type AND src.scope_id = r.scope_id AND src.shard = r.shard) " +
+            "AND r.hours <> 0");
+        int upserted = jdbcTemplate.update(
+            "INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours, updated_at) " +
+            "SELECT scope_type, scope_id, shard, hours, CURRENT_TIMESTAMP FROM (" + ROLLUP_SOURCE_SQL + ") src " +
+            "ON CONFLICT (scope_type, scope_id, shard) DO UPDATE SET hours = EXCLUDED.hours, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE actual_hours_rollup.hours <> EXCLUDED.hours");
+        return removed + upserted;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.entity.AvailableIntegration;
+import com.sprintsync.api.repository.AvailableIntegrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory catalog of available integrations.
+ * The catalog is small reference data, so it is loaded whole at startup and refreshed
+ * periodically; project views resolve integration details from memory instead of a
+ * findById per project integration. An unknown ID triggers a single lookup so newly
+ * added integrations show up before the next refresh.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class AvailableIntegrationCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailableIntegrationCatalog.class);
+
+    private final AvailableIntegrationRepository availableIntegrationRepository;
+
+    private volatile Map<String, AvailableIntegration> integrationsById = Map.of();
+
+    @Autowired
+    public AvailableIntegrationCatalog(AvailableIntegrationRepository availableIntegrationRepository) {
+        this.availableIntegrationRepository = availableIntegrationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Reload the whole catalog from the database.
+     */
+    @Scheduled(fixedDelayString = "${app.integration-catalog.refresh-ms:600000}",
+               initialDelayString = "${app.integration-catalog.refresh-ms:600000}")
+    public void refresh() {
+        try {
+            integrationsById = availableIntegrationRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(AvailableIntegration::getId, Function.identity()));
+            logger.debug("Loaded {} available integrations", integrationsById.size());
+        } catch (Exception e) {
+            logger.warn("Failed to load available integrations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Find an available integration by ID, from memory when possible.
+     */
+    public Optional<AvailableIntegration> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        AvailableIntegration integration = integrationsById.get(id);
+        if (integration != null) {
+            return Optional.of(integration);
+        }
+        Optional<AvailableIntegration> loaded = availableIntegrationRepository.findById(id);
+        loaded.ifPresent(found -> refresh());
+        return loaded;
+    }
+}
@@ -0,0 +1,166 @@
+package com.sprintsync.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sprintsync.api.entity.Story;
+import com.sprintsync.api.entity.Subtask;
+import com.sprintsync.api.entity.Task;
+import com.sprintsync.api.entity.converter.PriorityConverter;
+import com.sprintsync.api.entity.converter.StoryPriorityConverter;
+import com.sprintsync.api.entity.converter.StoryStatusConverter;
+import com.sprintsync.api.entity.converter.TaskStatusConverter;
+import com.sprintsync.api.util.JdbcTimestamps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Inserts stories, tasks and subtasks cloned from the backlog with JDBC batching, one batch per
+ * table, instead of a save per row. Rows must already carry their IDs, timestamps, task numbers and
+ * ranks. Column values go through the same converters as the entity mappings; project, sprint and
+ * epic IDs of tasks and subtasks are filled by the hierarchy triggers as for JPA inserts. Must run
+ * inside the caller's transaction.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class BacklogCloneWriter {
+
+    private static final String INSERT_STORY_SQL =
+        "INSERT INTO stories (id, created_at, updated_at, project_id, sprint_id, parent_id, epic_id, release_id, " +
+        "title, description, acceptance_criteria, status, priority, story_points, assignee_id, reporter_id, labels, " +
+        "order_index, sort_rank, estimated_hours, actual_hours) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?)";
+
+    private static final String INSERT_TASK_SQL =
+        "INSERT INTO tasks (id, created_at, updated_at, story_id, title, description, status, priority, assignee_id, " +
+        "reporter_id, estimated_hours, actual_hours, order_index, sort_rank, task_number, due_date, labels, " +
+        "is_pulled_from_backlog) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?)";
+
+    private static final String INSERT_SUBTASK_SQL =
+        "INSERT INTO subtasks (id, created_at, updated_at, task_id, title, description, is_completed, assignee_id, " +
+        "estimated_hours, actual_hours, order_index, due_date, bug_type, severity, category, labels) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final StoryStatusConverter storyStatusConverter = new StoryStatusConverter();
+    private final StoryPriorityConverter storyPriorityConverter = new StoryPriorityConverter();
+    private final TaskStatusConverter taskStatusConverter = new TaskStatusConverter();
+    private final PriorityConverter priorityConverter = new PriorityConverter();
+
+    @Autowired
+    public BacklogCloneWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Insert stories, then their tasks, then the tasks' subtasks.
+     */
+    public void insert(List<Story> stories, List<Task> tasks, List<Subtask> subtasks) {
+        if (!stories.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STORY_SQL, stories, stories.size(), this::bindStory);
+        }
+        if (!tasks.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TASK_SQL, tasks, tasks.size(), this::bindTask);
+        }
+        if (!subtasks.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SUBTASK_SQL, subtasks, subtasks.size(), this::bindSubtask);
+        }
+    }
+
+    private void bindStory(PreparedStatement ps, Story story) throws SQLException {
+        ps.setString(1, story.getId());
+        JdbcTimestamps.setUtc(ps, 2, story.getCreatedAt());
+        JdbcTimestamps.setUtc(ps, 3, story.getUpdatedAt());
+        ps.setString(4, story.getProjectId());
+        ps.setString(5, story.getSprintId());
+        ps.setString(6, story.getParentId());
+        ps.setString(7, story.getEpicId());
+        ps.setString(8, story.getReleaseId());
+        ps.setString(9, story.getTitle());
+        ps.setString(10, story.getDescription());
+        ps.setString(11, json(story.getAcceptanceCriteria()));
+        ps.setString(12, storyStatusConverter.convertToDatabaseColumn(story.getStatus()));
+        ps.setString(13, storyPriorityConverter.convertToDatabaseColumn(story.getPriority()));
+        ps.setObject(14, story.getStoryPoints(), Types.INTEGER);
+        ps.setString(15, story.getAssigneeId());
+        ps.setString(16, story.getReporterId());
+        ps.setString(17, json(story.getLabels()));
+        ps.setObject(18, story.getOrderIndex(), Types.INTEGER);
+        ps.setString(19, story.getSortRank());
+        ps.setBigDecimal(20, story.getEstimatedHours());
+        ps.setBigDecimal(21, story.getActualHours() != null ? story.getActualHours() : BigDecimal.ZERO);
+    }
+
+    private void bindTask(PreparedStatement ps, Task task) throws SQLException {
+        ps.setString(1, task.getId());
+        JdbcTimestamps.setUtc(ps, 2, task.getCreatedAt());
+        JdbcTimestamps.setUtc(ps, 3, task.getUpdatedAt());
+        ps.setString(4, task.getStoryId());
+        ps.setString(5, task.getTitle());
+        ps.setString(6, task.getDescription());
+        ps.setString(7, taskStatusConverter.convertToDatabaseColumn(task.getStatus()));
+        ps.setString(8, priorityConverter.convertToDatabaseColumn(task.getPriority()));
+        ps.setString(9, task.getAssigneeId());
+        ps.setString(10, task.getReporterId());
+        ps.setBigDecimal(11, task.getEstimatedHours());
+        ps.setBigDecimal(12, task.getActualHours() != null ? task.getActualHours() : BigDecimal.ZERO);
+        ps.setObject(13, task.getOrderIndex(), Types.INTEGER);
+        ps.setString(14, task.getSortRank());
+        ps.setObject(15, task.getTaskNumber(), Types.INTEGER);
+        setDate(ps, 16, task.getDueDate());
+        ps.setString(17, json(task.getLabels()));
+        ps.setObject(18, task.getIsPulledFromBacklog(), Types.BOOLEAN);
+    }
+
+    private void bindSubtask(PreparedStatement ps, Subtask subtask) throws SQLException {
+        ps.setString(1, subtask.getId());
+        JdbcTimestamps.setUtc(ps, 2, subtask.getCreatedAt());
+        JdbcTimestamps.setUtc(ps, 3, subtask.getUpdatedAt());
+        ps.setString(4, subtask.getTaskId());
+        ps.setString(5, subtask.getTitle());
+        ps.setString(6, subtask.getDescription());
+        ps.setBoolean(7, Boolean.TRUE.equals(subtask.getIsCompleted()));
+        ps.setString(8, subtask.getAssigneeId());
+        ps.setBigDecimal(9, subtask.getEstimatedHours());
+        ps.setBigDecimal(10, subtask.getActualHours() != null ? subtask.getActualHours() : BigDecimal.ZERO);
+        ps.setObject(11, subtask.getOrderIndex(), Types.INTEGER);
+        setDate(ps, 12, subtask.getDueDate());
+        ps.setString(13, subtask.getBugType());
+        ps.setString(14, subtask.getSeverity());
+        ps.setString(15, subtask.getCategory());
+        ps.setString(16, json(subtask.getLabels()));
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            ps.setDate(index, Date.valueOf(date));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+
+    private String json(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize list: " + e.getMessage(), e);
+        }
+    }
+}
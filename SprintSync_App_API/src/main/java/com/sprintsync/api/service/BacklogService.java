@@ -4,15 +4,28 @@ import com.sprintsync.api.entity.*;
 import com.sprintsync.api.entity.enums.StoryStatus;
 import com.sprintsync.api.entity.enums.TaskStatus;
 import com.sprintsync.api.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.sql.Array;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing project backlog.
@@ -25,157 +38,139 @@ import java.util.List;
 @Transactional
 public class BacklogService {
 
-    @Autowired
-    private BacklogStoryRepository backlogStoryRepository;
+    private static final Logger logger = LoggerFactory.getLogger(BacklogService.class);
 
-    @Autowired
-    private BacklogTaskRepository backlogTaskRepository;
+    /**
+     * Copies a sprint's incomplete work into the backlog in one statement: each data-modifying CTE
+     * inserts one level and hands its new rows (with the original IDs) to the next. IDs use the
+     * IdGenerationService format (prefix + UUID without dashes). Parameters: sprint ID three times.
+     */
+    private static final String MOVE_SPRINT_TO_BACKLOG_SQL =
+        "WITH moved_stories AS (" +
+        "  INSERT INTO backlog_stories (id, project_id, original_story_id, original_sprint_id, title, description, " +
+        "    acceptance_criteria, status, priority, story_points, assignee_id, reporter_id, epic_id, release_id, labels, " +
+        "    order_index, estimated_hours, actual_hours, created_from_sprint_id, created_at, updated_at) " +
+        "  SELECT 'STRY' || replace(uuid_generate_v4()::text, '-', ''), s.project_id, s.id, s.sprint_id, s.title, " +
+        "    s.description, COALESCE(s.acceptance_criteria, '[]'::jsonb), 'backlog'{storyStatus}, " +
+        "    s.priority::text{storyPriority}, s.story_points, s.assignee_id, s.reporter_id, s.epic_id, s.release_id, " +
+        "    COALESCE(s.labels, '[]'::jsonb), s.order_index, s.estimated_hours, s.actual_hours, s.sprint_id, " +
+        "    CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+        "  FROM stories s " +
+        "  WHERE s.sprint_id = ? " +
+        "    AND EXISTS (SELECT 1 FROM tasks t WHERE t.story_id = s.id " +
+        "      AND (t.status NOT IN ('done', 'cancelled') OR t.due_date < CURRENT_DATE)) " +
+        "    AND NOT EXISTS (SELECT 1 FROM backlog_stories b WHERE b.original_story_id = s.id " +
+        "      AND b.created_from_sprint_id = ?) " +
+        "  RETURNING id, original_story_id" +
+        "), moved_tasks AS (" +
+        "  INSERT INTO backlog_tasks (id, backlog_story_id, original_task_id, title, description, status, priority, " +
+        "    assignee_id, reporter_id, estimated_hours, actual_hours, order_index, task_number, due_date, labels, " +
+        "    is_overdue, created_at, updated_at) " +
+        "  SELECT 'TASK' || replace(uuid_generate_v4()::text, '-', ''), ms.id, t.id, t.title, t.description, " +
+        "    {taskStatusValue}{taskStatus}, t.priority::text{taskPriority}, t.assignee_id, t.reporter_id, " +
+        "    t.estimated_hours, t.actual_hours, t.order_index, t.task_number, t.due_date, COALESCE(t.labels, '[]'::jsonb), " +
+        "    COALESCE(t.due_date < CURRENT_DATE, false), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+        "  FROM moved_stories ms JOIN tasks t ON t.story_id = ms.original_story_id " +
+        "  WHERE t.status NOT IN ('done', 'cancelled') OR t.due_date < CURRENT_DATE " +
+        "  RETURNING id, original_task_id" +
+        "), moved_subtasks AS (" +
+        "  INSERT INTO backlog_subtasks (id, backlog_task_id, original_subtask_id, title, description, is_completed, " +
+        "    assignee_id, estimated_hours, actual_hours, order_index, due_date, bug_type, severity, category, labels, " +
+        "    created_at, updated_at) " +
+        "  SELECT 'SUBT' || replace(uuid_generate_v4()::text, '-', ''), mt.id, st.id, st.title, st.description, false, " +
+        "    st.assignee_id, st.estimated_hours, st.actual_hours, st.order_index, st.due_date, st.bug_type, st.severity, " +
+        "    st.category, COALESCE(st.labels, '[]'::jsonb), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+        "  FROM moved_tasks mt JOIN subtasks st ON st.task_id = mt.original_task_id " +
+        "  WHERE st.is_completed IS NOT TRUE " +
+        "  RETURNING id" +
+        ") " +
+        "SELECT (SELECT COUNT(*) FROM moved_stories) AS stories_moved, " +
+        "  (SELECT COUNT(*) FROM moved_tasks) AS tasks_moved, " +
+        "  (SELECT COUNT(*) FROM moved_subtasks) AS subtasks_moved, " +
+        "  (SELECT array_agg(id) FROM moved_stories) AS backlog_story_ids";
+
+    /** Built on first use, once the backlog column types are known */
+    private volatile String moveSprintToBacklogSql;
 
     @Autowired
-    private BacklogSubtaskRepository backlogSubtaskRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private StoryRepository storyRepository;
+    private BacklogStoryRepository backlogStoryRepository;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private BacklogTaskRepository backlogTaskRepository;
 
     @Autowired
-    private SubtaskRepository subtaskRepository;
+    private BacklogSubtaskRepository backlogSubtaskRepository;
 
     @Autowired
     private IdGenerationService idGenerationService;
 
     @Autowired
-    private TaskService taskService;
+    private RankingService rankingService;
 
     @Autowired
-    private SubtaskService subtaskService;
+    private NotificationService notificationService;
+
+    @Autowired
+    private BacklogCloneWriter backlogCloneWriter;
 
     /**
      * Move incomplete stories and tasks from a sprint to backlog when sprint ends.
-     * Only stories with incomplete (not done) tasks or overdue tasks are moved.
+     * Only stories with incomplete (not done) tasks or overdue tasks are moved, with those
+     * tasks and their incomplete subtasks. The copy runs as one set-based statement (see
+     * MOVE_SPRINT_TO_BACKLOG_SQL); stories already moved from this sprint are skipped, so
+     * ending a sprint twice does not duplicate its backlog.
      * 
      * @param sprintId the sprint ID that has ended
-     * @return list of backlog stories created
+     * @return summary with the counts of stories, tasks and subtasks moved and the new backlog story IDs
      */
     @Transactional
-    public List<BacklogStory> moveSprintToBacklog(String sprintId) {
-        List<BacklogStory> createdBacklogStories = new ArrayList<>();
-        
-        // Get all stories from the sprint
-        List<Story> sprintStories = storyRepository.findBySprintId(sprintId);
-        
-        LocalDate today = LocalDate.now();
-        
-        for (Story story : sprintStories) {
-            // Get all tasks for this story
-            List<Task> storyTasks = taskRepository.findByStoryId(story.getId());
-            
-            // Filter incomplete tasks: not done, in-progress, or overdue
-            List<Task> incompleteTasks = new ArrayList<>();
-            
-            for (Task task : storyTasks) {
-                boolean isOverdue = task.getDueDate() != null && task.getDueDate().isBefore(today);
-                boolean isIncomplete = task.getStatus() != TaskStatus.DONE && 
-                                       task.getStatus() != TaskStatus.CANCELLED;
-                
-                if (isIncomplete || isOverdue) {
-                    incompleteTasks.add(task);
-                }
-            }
-            
-            // Only move story to backlog if it has incomplete tasks
-            if (!incompleteTasks.isEmpty()) {
-                // Create backlog story
-                BacklogStory backlogStory = new BacklogStory();
-                backlogStory.setId(idGenerationService.generateStoryId());
-                backlogStory.setProjectId(story.getProjectId());
-                backlogStory.setOriginalStoryId(story.getId());
-                backlogStory.setOriginalSprintId(sprintId);
-                backlogStory.setTitle(story.getTitle());
-                backlogStory.setDescription(story.getDescription());
-                backlogStory.setAcceptanceCriteria(story.getAcceptanceCriteria() != null ? 
-                    new ArrayList<>(story.getAcceptanceCriteria()) : new ArrayList<>());
-                backlogStory.setStatus(StoryStatus.BACKLOG);
-                backlogStory.setPriority(story.getPriority());
-                backlogStory.setStoryPoints(story.getStoryPoints());
-                backlogStory.setAssigneeId(story.getAssigneeId());
-                backlogStory.setReporterId(story.getReporterId());
-                backlogStory.setEpicId(story.getEpicId());
-                backlogStory.setReleaseId(story.getReleaseId());
-                backlogStory.setLabels(story.getLabels() != null ? 
-                    new ArrayList<>(story.getLabels()) : new ArrayList<>());
-                backlogStory.setOrderIndex(story.getOrderIndex());
-                backlogStory.setEstimatedHours(story.getEstimatedHours());
-                backlogStory.setActualHours(story.getActualHours());
-                backlogStory.setCreatedFromSprintId(sprintId);
-                backlogStory.setCreatedAt(LocalDateTime.now());
-                backlogStory.setUpdatedAt(LocalDateTime.now());
-                
-                BacklogStory savedBacklogStory = backlogStoryRepository.save(backlogStory);
-                
-                // Create backlog tasks for incomplete tasks
-                for (Task task : incompleteTasks) {
-                    BacklogTask backlogTask = new BacklogTask();
-                    backlogTask.setId(idGenerationService.generateTaskId());
-                    backlogTask.setBacklogStoryId(savedBacklogStory.getId());
-                    backlogTask.setOriginalTaskId(task.getId());
-                    backlogTask.setTitle(task.getTitle());
-                    backlogTask.setDescription(task.getDescription());
-                    backlogTask.setStatus(task.getStatus());
-                    backlogTask.setPriority(task.getPriority());
-                    backlogTask.setAssigneeId(task.getAssigneeId());
-                    backlogTask.setReporterId(task.getReporterId());
-                    backlogTask.setEstimatedHours(task.getEstimatedHours());
-                    backlogTask.setActualHours(task.getActualHours());
-                    backlogTask.setOrderIndex(task.getOrderIndex());
-                    backlogTask.setTaskNumber(task.getTaskNumber());
-                    backlogTask.setDueDate(task.getDueDate());
-                    backlogTask.setLabels(task.getLabels() != null ? 
-                        new ArrayList<>(task.getLabels()) : new ArrayList<>());
-                    backlogTask.setIsOverdue(task.getDueDate() != null && 
-                                            task.getDueDate().isBefore(today));
-                    backlogTask.setCreatedAt(LocalDateTime.now());
-                    backlogTask.setUpdatedAt(LocalDateTime.now());
-                    
-                    BacklogTask savedBacklogTask = backlogTaskRepository.save(backlogTask);
-                    
-                    // Copy subtasks for this task
-                    List<Subtask> subtasks = subtaskRepository.findByTaskId(task.getId());
-                    for (Subtask subtask : subtasks) {
-                        // Only copy incomplete subtasks
-                        if (!subtask.getIsCompleted()) {
-                            BacklogSubtask backlogSubtask = new BacklogSubtask();
-                            backlogSubtask.setId(idGenerationService.generateSubtaskId());
-                            backlogSubtask.setBacklogTaskId(savedBacklogTask.getId());
-                            backlogSubtask.setOriginalSubtaskId(subtask.getId());
-                            backlogSubtask.setTitle(subtask.getTitle());
-                            backlogSubtask.setDescription(subtask.getDescription());
-                            backlogSubtask.setIsCompleted(false);
-                            backlogSubtask.setAssigneeId(subtask.getAssigneeId());
-                            backlogSubtask.setEstimatedHours(subtask.getEstimatedHours());
-                            backlogSubtask.setActualHours(subtask.getActualHours());
-                            backlogSubtask.setOrderIndex(subtask.getOrderIndex());
-                            backlogSubtask.setDueDate(subtask.getDueDate());
-                            backlogSubtask.setBugType(subtask.getBugType());
-                            backlogSubtask.setSeverity(subtask.getSeverity());
-                            backlogSubtask.setCategory(subtask.getCategory());
-                            backlogSubtask.setLabels(subtask.getLabels() != null ? 
-                                new ArrayList<>(subtask.getLabels()) : new ArrayList<>());
-                            backlogSubtask.setCreatedAt(LocalDateTime.now());
-                            backlogSubtask.setUpdatedAt(LocalDateTime.now());
-                            
-                            backlogSubtaskRepository.save(backlogSubtask);
-                        }
-                    }
-                }
-                
-                createdBacklogStories.add(savedBacklogStory);
-            }
+    public Map<String, Object> moveSprintToBacklog(String sprintId) {
+        if (moveSprintToBacklogSql == null) {
+            moveSprintToBacklogSql = buildMoveSprintToBacklogSql();
         }
-        
-        return createdBacklogStories;
+        Map<String, Object> summary = jdbcTemplate.queryForObject(moveSprintToBacklogSql, (rs, i) -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("sprintId", sprintId);
+            result.put("storiesMoved", rs.getInt("stories_moved"));
+            result.put("tasksMoved", rs.getInt("tasks_moved"));
+            result.put("subtasksMoved", rs.getInt("subtasks_moved"));
+            Array storyIds = rs.getArray("backlog_story_ids");
+            result.put("backlogStoryIds", storyIds != null ? Arrays.asList((String[]) storyIds.getArray()) : List.of());
+            return result;
+        }, sprintId, sprintId, sprintId);
+        logger.info("Moved sprint {} to backlog: {} stories, {} tasks, {} subtasks", sprintId,
+            summary.get("storiesMoved"), summary.get("tasksMoved"), summary.get("subtasksMoved"));
+        return summary;
+    }
+
+    /**
+     * Status and priority columns of the backlog tables are Postgres enum types in some databases
+     * and VARCHAR in others; copied values are cast to whatever the target column is. Task statuses
+     * outside TaskStatus (custom lanes) are copied as in_progress, as TaskStatusConverter reads them.
+     */
+    private String buildMoveSprintToBacklogSql() {
+        String knownStatuses = Arrays.stream(TaskStatus.values())
+            .map(status -> "'" + status.getValue() + "'")
+            .collect(Collectors.joining(", "));
+        String taskStatusValue = "(CASE WHEN t.status::text IN (" + knownStatuses + ") THEN t.status::text " +
+            "ELSE '" + TaskStatus.IN_PROGRESS.getValue() + "' END)";
+        Map<String, String> casts = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT table_name, column_name, data_type, udt_name FROM information_schema.columns " +
+            "WHERE table_name IN ('backlog_stories', 'backlog_tasks') AND column_name IN ('status', 'priority')",
+            rs -> {
+                String cast = "USER-DEFINED".equals(rs.getString("data_type")) ? "::" + rs.getString("udt_name") : "";
+                casts.put(rs.getString("table_name") + "." + rs.getString("column_name"), cast);
+            });
+        return MOVE_SPRINT_TO_BACKLOG_SQL
+            .replace("{storyStatus}", casts.getOrDefault("backlog_stories.status", ""))
+            .replace("{storyPriority}", casts.getOrDefault("backlog_stories.priority", ""))
+            .replace("{taskStatusValue}", taskStatusValue)
+            .replace("{taskStatus}", casts.getOrDefault("backlog_tasks.status", ""))
+            .replace("{taskPriority}", casts.getOrDefault("backlog_tasks.priority", ""));
     }
 
     /**
@@ -186,29 +181,140 @@ public class BacklogService {
      * @param backlogStoryId the backlog story ID to clone
      * @param targetSprintId the target sprint ID
      * @return the newly created story with all tasks and subtasks
+     * @throws IllegalArgumentException if the backlog story is not found
      */
     @Transactional
     public Story cloneStoryFromBacklog(String backlogStoryId, String targetSprintId) {
-        // Get the backlog story
-        BacklogStory backlogStory = backlogStoryRepository.findById(backlogStoryId)
-            .orElseThrow(() -> new IllegalArgumentException("Backlog story not found with ID: " + backlogStoryId));
-        
-        // Create new story with new ID
+        List<Story> cloned = cloneStoriesFromBacklog(List.of(backlogStoryId), targetSprintId);
+        if (cloned.isEmpty()) {
+            throw new IllegalArgumentException("Backlog story not found with ID: " + backlogStoryId);
+        }
+        return cloned.get(0);
+    }
+
+    /**
+     * Clone multiple stories from backlog to a new sprint.
+     * The backlog stories, their tasks and the tasks' subtasks are loaded with one query each;
+     * task numbers and ranks are assigned in memory per story and project, and the new rows are
+     * written with one JDBC batch per table (see BacklogCloneWriter).
+     * 
+     * @param backlogStoryIds list of backlog story IDs to clone; unknown IDs are skipped
+     * @param targetSprintId the target sprint ID
+     * @return list of newly created stories, in request order
+     */
+    @Transactional
+    public List<Story> cloneStoriesFromBacklog(List<String> backlogStoryIds, String targetSprintId) {
+        Set<String> requestedIds = new LinkedHashSet<>(backlogStoryIds);
+        Map<String, BacklogStory> backlogStoriesById = new HashMap<>();
+        for (BacklogStory backlogStory : backlogStoryRepository.findAllById(requestedIds)) {
+            backlogStoriesById.put(backlogStory.getId(), backlogStory);
+        }
+        List<BacklogStory> backlogStories = new ArrayList<>();
+        for (String backlogStoryId : requestedIds) {
+            BacklogStory backlogStory = backlogStoriesById.get(backlogStoryId);
+            if (backlogStory != null) {
+                backlogStories.add(backlogStory);
+            } else {
+                logger.warn("Backlog story {} not found, not cloned", backlogStoryId);
+            }
+        }
+        if (backlogStories.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, List<BacklogTask>> backlogTasksByStory = new HashMap<>();
+        for (BacklogTask backlogTask : backlogTaskRepository.findByBacklogStoryIdIn(backlogStoriesById.keySet())) {
+            backlogTasksByStory.computeIfAbsent(backlogTask.getBacklogStoryId(), id -> new ArrayList<>()).add(backlogTask);
+        }
+        Map<String, List<BacklogSubtask>> backlogSubtasksByTask = new HashMap<>();
+        List<String> backlogTaskIds = backlogTasksByStory.values().stream()
+            .flatMap(List::stream).map(BacklogTask::getId).collect(Collectors.toList());
+        if (!backlogTaskIds.isEmpty()) {
+            for (BacklogSubtask backlogSubtask : backlogSubtaskRepository.findByBacklogTaskIdIn(backlogTaskIds)) {
+                backlogSubtasksByTask.computeIfAbsent(backlogSubtask.getBacklogTaskId(), id -> new ArrayList<>())
+                    .add(backlogSubtask);
+            }
+        }
+        Comparator<BacklogTask> taskOrder = Comparator
+            .comparing(BacklogTask::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BacklogTask::getTaskNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+        backlogTasksByStory.values().forEach(tasks -> tasks.sort(taskOrder));
+
+        // Ranks for each project's new stories and tasks, allocated as one block per project.
+        // Projects are visited in ID order, so concurrent clones take the projects' rank locks in one order
+        Map<String, Integer> storyCounts = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        Map<String, Integer> taskCounts = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (BacklogStory backlogStory : backlogStories) {
+            storyCounts.merge(backlogStory.getProjectId(), 1, Integer::sum);
+            taskCounts.merge(backlogStory.getProjectId(),
+                backlogTasksByStory.getOrDefault(backlogStory.getId(), List.of()).size(), Integer::sum);
+        }
+        Map<String, Iterator<String>> storyRanks = new HashMap<>();
+        storyCounts.forEach((projectId, count) -> storyRanks.put(projectId,
+            rankingService.ranksAfterLast(RankingService.Scope.STORY, projectId, count).iterator()));
+        Map<String, Iterator<String>> taskRanks = new HashMap<>();
+        taskCounts.forEach((projectId, count) -> taskRanks.put(projectId,
+            rankingService.ranksAfterLast(RankingService.Scope.TASK, projectId, count).iterator()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Story> newStories = new ArrayList<>();
+        List<Task> newTasks = new ArrayList<>();
+        List<Subtask> newSubtasks = new ArrayList<>();
+        for (BacklogStory backlogStory : backlogStories) {
+            Story newStory = cloneStory(backlogStory, targetSprintId, now);
+            newStory.setSortRank(storyRanks.get(backlogStory.getProjectId()).next());
+            newStories.add(newStory);
+
+            // Same numbering as TaskService#createTask: placeholder numbers (none, 0, 1) continue after the highest so far
+            int maxTaskNumber = 0;
+            for (BacklogTask backlogTask : backlogTasksByStory.getOrDefault(backlogStory.getId(), List.of())) {
+                Task newTask = cloneTask(backlogTask, newStory.getId(), now);
+                Integer taskNumber = backlogTask.getTaskNumber();
+                if (taskNumber == null || taskNumber == 0 || taskNumber == 1) {
+                    newTask.setTaskNumber(++maxTaskNumber);
+                } else {
+                    maxTaskNumber = Math.max(maxTaskNumber, taskNumber);
+                }
+                newTask.setSortRank(taskRanks.get(backlogStory.getProjectId()).next());
+                newTasks.add(newTask);
+
+                for (BacklogSubtask backlogSubtask : backlogSubtasksByTask.getOrDefault(backlogTask.getId(), List.of())) {
+                    newSubtasks.add(cloneSubtask(backlogSubtask, newTask.getId(), now));
+                }
+            }
+        }
+
+        backlogCloneWriter.insert(newStories, newTasks, newSubtasks);
+
+        for (Task newTask : newTasks) {
+            if (newTask.getAssigneeId() != null && !newTask.getAssigneeId().isEmpty()) {
+                try {
+                    notificationService.notify(newTask.getAssigneeId(), "New Task Assignment",
+                        "You have been assigned to task: " + newTask.getTitle(), "task", "task", newTask.getId());
+                } catch (Exception e) {
+                    // Log error but don't fail the clone
+                    logger.warn("Failed to create notification for cloned task {}: {}", newTask.getId(), e.getMessage());
+                }
+            }
+        }
+        logger.info("Cloned {} backlog stories ({} tasks, {} subtasks) into sprint {}",
+            newStories.size(), newTasks.size(), newSubtasks.size(), targetSprintId);
+        return newStories;
+    }
+
+    private Story cloneStory(BacklogStory backlogStory, String targetSprintId, LocalDateTime now) {
         Story newStory = new Story();
         newStory.setId(idGenerationService.generateStoryId());
         newStory.setProjectId(backlogStory.getProjectId());
         newStory.setSprintId(targetSprintId);
         
-        // Set parentId to reference the original story if it exists
+        // Set parentId to reference the original story if it exists,
+        // otherwise the backlog story itself
         String parentId = backlogStory.getOriginalStoryId();
         if (parentId != null && !parentId.isEmpty()) {
             newStory.setParentId(parentId);
-        } else {
-            // If no original story, use the backlog story itself as parent reference
-            String backlogId = backlogStory.getId();
-            if (backlogId != null && !backlogId.isEmpty()) {
-                newStory.setParentId(backlogId);
-            }
+        } else if (backlogStory.getId() != null && !backlogStory.getId().isEmpty()) {
+            newStory.setParentId(backlogStory.getId());
         }
         
         newStory.setTitle(backlogStory.getTitle());
@@ -227,86 +333,54 @@ public class BacklogService {
         newStory.setOrderIndex(backlogStory.getOrderIndex());
         newStory.setEstimatedHours(backlogStory.getEstimatedHours());
         newStory.setActualHours(BigDecimal.ZERO); // Reset actual hours
-        
-        Story savedStory = storyRepository.save(newStory);
-        
-        // Get all backlog tasks for this backlog story
-        List<BacklogTask> backlogTasks = backlogTaskRepository.findByBacklogStoryId(backlogStoryId);
-        
-        // Clone all tasks with new IDs
-        for (BacklogTask backlogTask : backlogTasks) {
-            Task newTask = new Task();
-            newTask.setId(idGenerationService.generateTaskId());
-            newTask.setStoryId(savedStory.getId());
-            newTask.setTitle(backlogTask.getTitle());
-            newTask.setDescription(backlogTask.getDescription());
-            newTask.setStatus(backlogTask.getStatus());
-            newTask.setPriority(backlogTask.getPriority());
-            newTask.setAssigneeId(backlogTask.getAssigneeId());
-            newTask.setReporterId(backlogTask.getReporterId());
-            newTask.setEstimatedHours(backlogTask.getEstimatedHours());
-            newTask.setActualHours(backlogTask.getActualHours());
-            newTask.setOrderIndex(backlogTask.getOrderIndex());
-            newTask.setTaskNumber(backlogTask.getTaskNumber());
-            newTask.setDueDate(backlogTask.getDueDate());
-            newTask.setLabels(backlogTask.getLabels() != null ? 
-                new ArrayList<>(backlogTask.getLabels()) : new ArrayList<>());
-            newTask.setIsPulledFromBacklog(true);
-            
-            Task savedTask = taskService.createTask(newTask);
-            
-            // Get all backlog subtasks for this backlog task
-            List<BacklogSubtask> backlogSubtasks = backlogSubtaskRepository.findByBacklogTaskId(backlogTask.getId());
-            
-            // Clone all subtasks with new IDs
-            for (BacklogSubtask backlogSubtask : backlogSubtasks) {
-                Subtask newSubtask = new Subtask();
-                newSubtask.setId(idGenerationService.generateSubtaskId());
-                newSubtask.setTaskId(savedTask.getId());
-                newSubtask.setTitle(backlogSubtask.getTitle());
-                newSubtask.setDescription(backlogSubtask.getDescription());
-                newSubtask.setIsCompleted(backlogSubtask.getIsCompleted());
-                newSubtask.setAssigneeId(backlogSubtask.getAssigneeId());
-                newSubtask.setEstimatedHours(backlogSubtask.getEstimatedHours());
-                newSubtask.setActualHours(backlogSubtask.getActualHours());
-                newSubtask.setOrderIndex(backlogSubtask.getOrderIndex());
-                newSubtask.setDueDate(backlogSubtask.getDueDate());
-                newSubtask.setBugType(backlogSubtask.getBugType());
-                newSubtask.setSeverity(backlogSubtask.getSeverity());
-                newSubtask.setCategory(backlogSubtask.getCategory());
-                List<String> subtaskLabels = backlogSubtask.getLabels();
-                newSubtask.setLabels(subtaskLabels != null ? 
-                    new ArrayList<>(subtaskLabels) : new ArrayList<>());
-                
-                subtaskService.createSubtask(newSubtask);
-            }
-        }
-        
-        return savedStory;
+        newStory.setCreatedAt(now);
+        newStory.setUpdatedAt(now);
+        return newStory;
     }
 
-    /**
-     * Clone multiple stories from backlog to a new sprint.
-     * 
-     * @param backlogStoryIds list of backlog story IDs to clone
-     * @param targetSprintId the target sprint ID
-     * @return list of newly created stories
-     */
-    @Transactional
-    public List<Story> cloneStoriesFromBacklog(List<String> backlogStoryIds, String targetSprintId) {
-        List<Story> clonedStories = new ArrayList<>();
-        
-        for (String backlogStoryId : backlogStoryIds) {
-            try {
-                Story clonedStory = cloneStoryFromBacklog(backlogStoryId, targetSprintId);
-                clonedStories.add(clonedStory);
-            } catch (Exception e) {
-                // Log error but continue with other stories
-                System.err.println("Error cloning backlog story " + backlogStoryId + ": " + e.getMessage());
-            }
-        }
-        
-        return clonedStories;
+    private Task cloneTask(BacklogTask backlogTask, String storyId, LocalDateTime now) {
+        Task newTask = new Task();
+        newTask.setId(idGenerationService.generateTaskId());
+        newTask.setStoryId(storyId);
+        newTask.setTitle(backlogTask.getTitle());
+        newTask.setDescription(backlogTask.getDescription());
+        newTask.setStatus(backlogTask.getStatus());
+        newTask.setPriority(backlogTask.getPriority());
+        newTask.setAssigneeId(backlogTask.getAssigneeId());
+        newTask.setReporterId(backlogTask.getReporterId());
+        newTask.setEstimatedHours(backlogTask.getEstimatedHours());
+        newTask.setActualHours(backlogTask.getActualHours());
+        newTask.setOrderIndex(backlogTask.getOrderIndex());
+        newTask.setTaskNumber(backlogTask.getTaskNumber());
+        newTask.setDueDate(backlogTask.getDueDate());
+        newTask.setLabels(backlogTask.getLabels() != null ? 
+            new ArrayList<>(backlogTask.getLabels()) : new ArrayList<>());
+        newTask.setIsPulledFromBacklog(true);
+        newTask.setCreatedAt(now);
+        newTask.setUpdatedAt(now);
+        return newTask;
+    }
+
+    private Subtask cloneSubtask(BacklogSubtask backlogSubtask, String taskId, LocalDateTime now) {
+        Subtask newSubtask = new Subtask();
+        newSubtask.setId(idGenerationService.generateSubtaskId());
+        newSubtask.setTaskId(taskId);
+        newSubtask.setTitle(backlogSubtask.getTitle());
+        newSubtask.setDescription(backlogSubtask.getDescription());
+        newSubtask.setIsCompleted(backlogSubtask.getIsCompleted());
+        newSubtask.setAssigneeId(backlogSubtask.getAssigneeId());
+        newSubtask.setEstimatedHours(backlogSubtask.getEstimatedHours());
+        newSubtask.setActualHours(backlogSubtask.getActualHours());
+        newSubtask.setOrderIndex(backlogSubtask.getOrderIndex());
+        newSubtask.setDueDate(backlogSubtask.getDueDate());
+        newSubtask.setBugType(backlogSubtask.getBugType());
+        newSubtask.setSeverity(backlogSubtask.getSeverity());
+        newSubtask.setCategory(backlogSubtask.getCategory());
+        newSubtask.setLabels(backlogSubtask.getLabels() != null ? 
+            new ArrayList<>(backlogSubtask.getLabels()) : new ArrayList<>());
+        newSubtask.setCreatedAt(now);
+        newSubtask.setUpdatedAt(now);
+        return newSubtask;
     }
 
     /**
@@ -397,7 +397,8 @@ public class BatchOperationsService {
     }
 
     /**
-     * Bulk move stories to sprint
+     * Bulk move stories to sprint.
+     * The stories trigger carries the new sprint down to their tasks and subtasks.
      */
     public Map<String, Object> bulkMoveStoriesToSprint(List<String> storyIds, String sprintId) {
         Map<String, Object> result = new HashMap<>();
@@ -450,7 +451,8 @@ public class BatchOperationsService {
     }
 
     /**
-     * Bulk move stories to project
+     * Bulk move stories to project.
+     * The stories trigger carries the new project down to their tasks and subtasks.
      */
     public Map<String, Object> bulkMoveStoriesToProject(List<String> storyIds, String projectId) {
         Map<String, Object> result = new HashMap<>();
@@ -0,0 +1,233 @@
+package com.sprintsync.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds board snapshots: the lanes of a board in rank order with compact task cards grouped
+ * by lane, read with one lane query and one card query.
+ *
+ * Each snapshot carries a version. Passing it back as "since" returns only the cards that changed
+ * after it, plus the IDs of cards that left the board (see add_board_change_tracking.sql). Lanes are
+ * always returned in full. Versions older than the tombstone retention get a full snapshot again.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class BoardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardSnapshotService.class);
+
+    private static final String LANES_SQL =
+        "SELECT id, title, color, status_value, display_order, sort_rank, wip_limit_enabled, wip_limit " +
+        "FROM workflow_lanes WHERE project_id = ? AND ";
+
+    private static final String CARDS_SQL =
+        "SELECT t.id, t.story_id, s.title AS story_title, t.title, t.status, t.priority, t.assignee_id, " +
+        "t.order_index, t.task_number, t.sort_rank, t.due_date, t.estimated_hours, t.actual_hours, t.sprint_id, t.updated_at " +
+        "FROM tasks t JOIN stories s ON s.id = t.story_id WHERE t.project_id = ?";
+
+    private static final String CARDS_ORDER = " ORDER BY t.sort_rank NULLS LAST, t.order_index, t.task_number, t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean tracking;
+
+    @Value("${app.board-snapshot.tombstone-retention-hours:72}")
+    private long tombstoneRetentionHours;
+
+    @Autowired
+    public BoardSnapshotService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectChangeTracking() {
+        try {
+            String table = jdbcTemplate.queryForObject("SELECT to_regclass('board_tombstones')::text", String.class);
+            tracking = table != null;
+            if (!tracking) {
+                logger.info("board_tombstones not found, board snapshots are always returned in full");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for board change tracking: {}", e.getMessage());
+            tracking = false;
+        }
+    }
+
+    /**
+     * Get a board snapshot, or the changes since an earlier one.
+     *
+     * @param projectId the project ID
+     * @param boardId the board ID, null for the project's default board
+     * @param sprintId only cards of this sprint, or null for all project cards
+     * @param since version of an earlier snapshot, or null for a full snapshot
+     * @return lanes with their cards, cards matching no lane, removed card IDs (deltas only) and the new version
+     * @throws IllegalArgumentException if the version is malformed
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSnapshot(String projectId, String boardId, String sprintId, String since) {
+        Long sinceXid = tracking ? parseVersion(since) : null;
+
+        // Taken before reading: every transaction not visible to the reads below has an id >= xmin
+        Long xmin = tracking
+            ? jdbcTemplate.queryForObject("SELECT txid_snapshot_xmin(txid_current_snapshot())", Long.class)
+            : null;
+
+        List<Map<String, Object>> lanes = boardId != null
+            ? jdbcTemplate.query(LANES_SQL + "board_id = ? ORDER BY sort_rank NULLS LAST, display_order", (rs, i) -> lane(rs), projectId, boardId)
+            : jdbcTemplate.query(LANES_SQL + "(board_id IS NULL OR board_id IN " +
+                "(SELECT id FROM boards WHERE project_id = ? AND is_default = true)) ORDER BY sort_rank NULLS LAST, display_order",
+                (rs, i) -> lane(rs), projectId, projectId);
+
+        List<Map<String, Object>> cards;
+        List<String> removedCardIds = new ArrayList<>();
+        if (sinceXid != null) {
+            cards = jdbcTemplate.query(CARDS_SQL + " AND t.change_xid >= ?" + CARDS_ORDER,
+                (rs, i) -> card(rs), projectId, sinceXid);
+            if (sprintId != null) {
+                // Changed cards that moved out of the sprint leave the sprint board
+                cards.removeIf(card -> {
+                    if (!sprintId.equals(card.get("sprintId"))) {
+                        removedCardIds.add((String) card.get("id"));
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            removedCardIds.addAll(jdbcTemplate.queryForList(
+                "SELECT DISTINCT entity_id FROM board_tombstones WHERE project_id = ? AND entity_type = 'task' " +
+                "AND change_xid >= ?", String.class, projectId, sinceXid));
+        } else if (sprintId != null) {
+            cards = jdbcTemplate.query(CARDS_SQL + " AND t.sprint_id = ?" + CARDS_ORDER,
+                (rs, i) -> card(rs), projectId, sprintId);
+        } else {
+            cards = jdbcTemplate.query(CARDS_SQL + CARDS_ORDER, (rs, i) -> card(rs), projectId);
+        }
+
+        Map<String, List<Map<String, Object>>> cardsByLaneStatus = new HashMap<>();
+        for (Map<String, Object> lane : lanes) {
+            List<Map<String, Object>> laneCards = new ArrayList<>();
+            lane.put("cards", laneCards);
+            cardsByLaneStatus.putIfAbsent(statusKey((String) lane.get("statusValue")), laneCards);
+        }
+        List<Map<String, Object>> unmatchedCards = new ArrayList<>();
+        for (Map<String, Object> card : cards) {
+            List<Map<String, Object>> laneCards = cardsByLaneStatus.get(statusKey((String) card.get("status")));
+            (laneCards != null ? laneCards : unmatchedCards).add(card);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("projectId", projectId);
+        snapshot.put("boardId", boardId);
+        snapshot.put("sprintId", sprintId);
+        snapshot.put("version", xmin != null ? xmin + "." + System.currentTimeMillis() : null);
+        snapshot.put("full", sinceXid == null);
+        snapshot.put("lanes", lanes);
+        snapshot.put("unmatchedCards", unmatchedCards);
+        if (sinceXid != null) {
+            snapshot.put("removedCardIds", removedCardIds);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop tombstones older than the retention; snapshots that old are answered in full.
+     */
+    @Scheduled(cron = "${app.board-snapshot.tombstone-prune-cron:0 50 3 * * *}")
+    public void pruneTombstones() {
+        if (!tracking) {
+            return;
+        }
+        try {
+            int removed = jdbcTemplate.update(
+                "DELETE FROM board_tombstones WHERE created_at < CURRENT_TIMESTAMP - make_interval(hours => ?)",
+                (int) tombstoneRetentionHours);
+            if (removed > 0) {
+                logger.info("Pruned {} board tombstones", removed);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to prune board tombstones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Version format is "xmin.issuedAtMillis"; versions past the tombstone retention are treated as absent.
+     */
+    private Long parseVersion(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        String[] parts = since.split("\\.");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid board snapshot version: " + since);
+        }
+        try {
+            long xid = Long.parseLong(parts[0]);
+            long issuedAt = Long.parseLong(parts[1]);
+            long age = System.currentTimeMillis() - issuedAt;
+            return age > TimeUnit.HOURS.toMillis(tombstoneRetentionHours) ? null : xid;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid board snapshot version: " + since);
+        }
+    }
+
+    /**
+     * Lane statuses ("TODO", "IN_PROGRESS") and task statuses ("to_do", "in_progress") differ in case and underscores.
+     */
+    private static String statusKey(String status) {
+        return status == null ? "" : status.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> lane(ResultSet rs) throws SQLException {
+        Map<String, Object> lane = new LinkedHashMap<>();
+        lane.put("id", rs.getString("id"));
+        lane.put("title", rs.getString("title"));
+        lane.put("color", rs.getString("color"));
+        lane.put("statusValue", rs.getString("status_value"));
+        lane.put("displayOrder", rs.getInt("display_order"));
+        lane.put("sortRank", rs.getString("sort_rank"));
+        lane.put("wipLimitEnabled", rs.getBoolean("wip_limit_enabled"));
+        lane.put("wipLimit", rs.getObject("wip_limit"));
+        return lane;
+    }
+
+    private static Map<String, Object> card(ResultSet rs) throws SQLException {
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("id", rs.getString("id"));
+        card.put("storyId", rs.getString("story_id"));
+        card.put("storyTitle", rs.getString("story_title"));
+        card.put("title", rs.getString("title"));
+        card.put("status", rs.getString("status"));
+        card.put("priority", rs.getString("priority"));
+        card.put("assigneeId", rs.getString("assignee_id"));
+        card.put("orderIndex", rs.getObject("order_index"));
+        card.put("taskNumber", rs.getObject("task_number"));
+        card.put("sortRank", rs.getString("sort_rank"));
+        card.put("dueDate", rs.getObject("due_date") != null ? rs.getDate("due_date").toLocalDate() : null);
+        card.put("estimatedHours", rs.getBigDecimal("estimated_hours"));
+        card.put("actualHours", rs.getBigDecimal("actual_hours"));
+        card.put("sprintId", rs.getString("sprint_id"));
+        card.put("updatedAt", rs.getTimestamp("updated_at") != null ? rs.getTimestamp("updated_at").toLocalDateTime() : null);
+        return card;
+    }
+}
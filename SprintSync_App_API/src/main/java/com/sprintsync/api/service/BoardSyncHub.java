@@ -0,0 +1,388 @@
+package com.sprintsync.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes board changes to the clients that have a board open (Server-Sent Events), one channel per
+ * board. Task cards show on every board of their project, so card deltas go to all of the project's
+ * board channels; lane deltas carry their boardId and go only to that board's channel.
+ *
+ * Task and lane writes publish compact deltas (only the changed fields) after their transaction
+ * commits. Deltas are coalesced per project and per card or lane: several changes to one card
+ * within a tick go out as one merged delta, in one batch per board per tick. Each client has a
+ * bounded queue drained by a shared sender pool, like {@link ActivityFeedHub}; a client that falls
+ * behind is disconnected and catches up by reconnecting and reading a board snapshot "since" its
+ * version. The tick and heartbeats run on the hub's own scheduler thread, not the shared
+ * {@code @Scheduled} pool, so a busy scheduled job never delays board updates.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class BoardSyncHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardSyncHub.class);
+
+    /** Queued in place of a batch to send a keep-alive comment */
+    private static final Map<String, Object> HEARTBEAT = Map.of();
+
+    /** Board channel key of a project's default board (its lanes may have a NULL board_id) */
+    private static final String DEFAULT_BOARD = "";
+
+    /** Subscribers per project, then per board channel; empty entries are removed on unsubscribe */
+    private final Map<String, Map<String, Set<Subscriber>>> byProject = new ConcurrentHashMap<>();
+
+    /** ID of each subscribed project's default board, so its lanes map to the default channel */
+    private final Map<String, String> defaultBoardIds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Deltas waiting for the next tick, per project, keyed by "card:id" / "lane:id" */
+    private final Map<String, Map<String, Map<String, Object>>> pending = new ConcurrentHashMap<>();
+
+    private final Counter publishedCounter;
+    private final Counter coalescedCounter;
+    private final Counter slowClientCounter;
+
+    @Value("${app.board-sync.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.board-sync.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${app.board-sync.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.board-sync.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${app.board-sync.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    private ExecutorService senders;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public BoardSyncHub(MeterRegistry meterRegistry) {
+        this.publishedCounter = meterRegistry.counter("board_sync.deltas_published");
+        this.coalescedCounter = meterRegistry.counter("board_sync.deltas_coalesced");
+        this.slowClientCounter = meterRegistry.counter("board_sync.slow_clients_dropped");
+        meterRegistry.gauge("board_sync.subscribers", subscriberCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "board-sync-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-sync-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(() -> runSafely(this::flush), tickMs, tickMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(() -> runSafely(this::sendHeartbeats), heartbeatMs, heartbeatMs,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        for (Subscriber subscriber : allSubscribers()) {
+            subscriber.emitter.complete();
+            unregister(subscriber);
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open the channel of one board.
+     *
+     * @param projectId the project the board belongs to
+     * @param boardId the board, null for the project's default board
+     * @param defaultBoardId the ID of the project's default board, if it has one
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String projectId, String boardId, String defaultBoardId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        String boardKey = boardId == null || boardId.equals(defaultBoardId) ? DEFAULT_BOARD : boardId;
+        Subscriber subscriber = new Subscriber(projectId, boardKey, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        // Added under the project's map entry, like removal, so a concurrent unsubscribe never drops a live set
+        byProject.compute(projectId, (key, channels) -> {
+            if (defaultBoardId != null) {
+                defaultBoardIds.put(projectId, defaultBoardId);
+            }
+            Map<String, Set<Subscriber>> boards = channels != null ? channels : new ConcurrentHashMap<>();
+            boards.computeIfAbsent(boardKey, board -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            return boards;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // Flush headers to the client right away
+        subscriber.queue.offer(HEARTBEAT);
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publish changed fields of a task card (status, sortRank, assigneeId, ...).
+     */
+    public void cardChanged(String projectId, String taskId, Map<String, Object> fields) {
+        publish(projectId, "card", taskId, fields);
+    }
+
+    /**
+     * Publish changed fields of a workflow lane (sortRank, ...) to its board's channel.
+     *
+     * @param boardId the lane's board_id, null for the default board
+     */
+    public void laneChanged(String projectId, String boardId, String laneId, Map<String, Object> fields) {
+        Map<String, Object> withBoard = new LinkedHashMap<>(fields);
+        withBoard.put("boardId", boardId);
+        publish(projectId, "lane", laneId, withBoard);
+    }
+
+    /**
+     * Number of connected board clients.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Send the deltas coalesced since the last tick, one batch per board channel.
+     */
+    void flush() {
+        for (String projectId : pending.keySet()) {
+            Map<String, Map<String, Object>> deltas = pending.get(projectId);
+            if (deltas == null) {
+                continue;
+            }
+            List<Map<String, Object>> changes;
+            synchronized (deltas) {
+                // Removed under the lock, so enqueue() never writes to a map already sent
+                pending.remove(projectId, deltas);
+                changes = new ArrayList<>(deltas.values());
+            }
+            Map<String, Set<Subscriber>> channels = byProject.get(projectId);
+            if (changes.isEmpty() || channels == null) {
+                continue;
+            }
+            for (Map.Entry<String, Set<Subscriber>> channel : channels.entrySet()) {
+                List<Map<String, Object>> boardChanges = new ArrayList<>();
+                for (Map<String, Object> change : changes) {
+                    if (!"lane".equals(change.get("type"))
+                            || channel.getKey().equals(boardKey(projectId, (String) change.get("boardId")))) {
+                        boardChanges.add(change);
+                    }
+                }
+                if (boardChanges.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> batch = new LinkedHashMap<>();
+                batch.put("seq", sequence.incrementAndGet());
+                batch.put("projectId", projectId);
+                batch.put("boardId", DEFAULT_BOARD.equals(channel.getKey()) ? null : channel.getKey());
+                batch.put("deltas", boardChanges);
+                for (Subscriber subscriber : channel.getValue()) {
+                    if (subscriber.queue.offer(batch)) {
+                        scheduleDrain(subscriber);
+                    } else {
+                        slowClientCounter.increment();
+                        logger.info("Dropping slow board subscriber {} of project {}", subscriber.id, projectId);
+                        unregister(subscriber);
+                        subscriber.emitter.complete();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect clients that went away.
+     */
+    void sendHeartbeats() {
+        for (Subscriber subscriber : allSubscribers()) {
+            // A full queue already has data on its way; no need for a heartbeat
+            if (subscriber.queue.offer(HEARTBEAT)) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    private String boardKey(String projectId, String boardId) {
+        return boardId == null || boardId.equals(defaultBoardIds.get(projectId)) ? DEFAULT_BOARD : boardId;
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            // An exception would cancel the periodic task
+            logger.warn("Board sync tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue a delta once the surrounding transaction commits (right away without one), so rolled
+     * back changes are never pushed. Boards nobody has open cost nothing.
+     */
+    private void publish(String projectId, String type, String id, Map<String, Object> fields) {
+        if (id == null || projectId == null || !byProject.containsKey(projectId)) {
+            return;
+        }
+        Runnable enqueue = () -> enqueue(projectId, type, id, fields);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    private void enqueue(String projectId, String type, String id, Map<String, Object> fields) {
+        publishedCounter.increment();
+        while (true) {
+            Map<String, Map<String, Object>> deltas = pending.computeIfAbsent(projectId, key -> new LinkedHashMap<>());
+            synchronized (deltas) {
+                if (pending.get(projectId) != deltas) {
+                    // flush() took this map in the meantime; start the next one
+                    continue;
+                }
+                Map<String, Object> delta = deltas.get(type + ":" + id);
+                if (delta == null) {
+                    delta = new LinkedHashMap<>();
+                    delta.put("type", type);
+                    delta.put("id", id);
+                    deltas.put(type + ":" + id, delta);
+                } else {
+                    coalescedCounter.increment();
+                }
+                // Later values win; fields absent from this change keep their earlier value
+                delta.putAll(fields);
+                return;
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (Exception e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Map<String, Object> batch;
+            while (!subscriber.closed && (batch = subscriber.queue.poll()) != null) {
+                if (batch == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(batch.get("seq")))
+                        .name("board")
+                        .data(batch));
+                }
+            }
+        } catch (Exception e) {
+            // Client disconnected
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscriber.closed) {
+            subscriber.closed = true;
+            boolean[] removed = new boolean[1];
+            // Drop the board and project entries once their last subscriber leaves
+            byProject.computeIfPresent(subscriber.projectId, (key, channels) -> {
+                channels.computeIfPresent(subscriber.boardKey, (board, subscribers) -> {
+                    removed[0] = subscribers.remove(subscriber);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                if (channels.isEmpty()) {
+                    defaultBoardIds.remove(key);
+                    return null;
+                }
+                return channels;
+            });
+            if (removed[0]) {
+                subscriberCount.decrementAndGet();
+            }
+            subscriber.queue.clear();
+        }
+    }
+
+    private List<Subscriber> allSubscribers() {
+        List<Subscriber> all = new ArrayList<>();
+        byProject.values().forEach(channels -> channels.values().forEach(all::addAll));
+        return all;
+    }
+
+    private static final class Subscriber {
+        private final String id = UUID.randomUUID().toString();
+        private final String projectId;
+        private final String boardKey;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Map<String, Object>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(String projectId, String boardKey, SseEmitter emitter,
+                           BlockingQueue<Map<String, Object>> queue) {
+            this.projectId = projectId;
+            this.boardKey = boardKey;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -80,8 +80,8 @@ public class DashboardService {
         // Project-specific counts
         statistics.put("projectSprints", sprintRepository.countByProjectId(projectId));
         statistics.put("projectStories", storyRepository.countByProjectId(projectId));
-        statistics.put("projectTasks", 0); // Note: Task entity doesn't have projectId field
-        statistics.put("projectSubtasks", 0); // Note: Subtask entity doesn't have projectId field
+        statistics.put("projectTasks", taskRepository.countByProjectId(projectId));
+        statistics.put("projectSubtasks", subtaskRepository.countByProjectId(projectId));
         
         // Active counts for project
         statistics.put("activeProjectSprints", sprintRepository.findByProjectId(projectId).stream()
@@ -95,8 +95,8 @@ public class DashboardService {
         statistics.put("completedProjectStories", storyRepository.findByProjectId(projectId).stream()
             .filter(story -> story.getStatus() == com.sprintsync.api.entity.enums.StoryStatus.DONE)
             .count());
-        // Note: Task entity doesn't have projectId field - tasks are related to projects through stories
-        statistics.put("completedProjectTasks", 0);
+        statistics.put("completedProjectTasks",
+            taskRepository.countByProjectIdAndStatus(projectId, com.sprintsync.api.entity.enums.TaskStatus.DONE));
         
         return statistics;
     }
@@ -151,12 +151,11 @@ public class DashboardService {
         Map<String, Object> activities = new HashMap<>();
         
         // Recent tasks for project
-        // Note: Task entity doesn't have projectId field - tasks are related to projects through stories
-        List<Task> recentTasks = Collections.emptyList();
+        LocalDateTime since = LocalDateTime.now().minusDays(7);
+        List<Task> recentTasks = taskRepository.findTop10ByProjectIdAndUpdatedAtAfterOrderByUpdatedAtDesc(projectId, since);
         activities.put("recentTasks", recentTasks);
         
         // Recent stories for project
-        LocalDateTime since = LocalDateTime.now().minusDays(7);
         List<Story> recentStories = storyRepository.findTop10ByProjectIdAndUpdatedAtAfterOrderByUpdatedAtDesc(projectId, since);
         activities.put("recentStories", recentStories);
         
@@ -281,7 +280,7 @@ public class DashboardService {
         }
         
         // Project-specific completion rates
-        List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+        List<Task> projectTasks = taskRepository.findByProjectId(projectId);
         long completedProjectTasks = projectTasks.stream()
             .filter(task -> task.getStatus() == com.sprintsync.api.entity.enums.TaskStatus.DONE)
             .count();
@@ -455,7 +454,7 @@ public class DashboardService {
     public Map<String, Object> getProjectTaskDistribution(String projectId) {
         Map<String, Object> distribution = new HashMap<>();
         
-        List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+        List<Task> projectTasks = taskRepository.findByProjectId(projectId);
         Map<com.sprintsync.api.entity.enums.TaskStatus, Long> statusDistribution = projectTasks.stream()
             .collect(Collectors.groupingBy(Task::getStatus, Collectors.counting()));
         distribution.put("statusDistribution", statusDistribution);
@@ -504,8 +503,8 @@ public class DashboardService {
         Map<String, Object> distribution = new HashMap<>();
         
         // Project task priority distribution
-        // Note: Task entity doesn't have projectId field
-        Map<String, Long> taskPriorityDistribution = Collections.emptyMap();
+        Map<String, Long> taskPriorityDistribution = taskRepository.findByProjectId(projectId).stream()
+            .collect(Collectors.groupingBy(task -> task.getPriority().getValue(), Collectors.counting()));
         distribution.put("taskPriorityDistribution", taskPriorityDistribution);
         
         // Project story priority distribution
@@ -541,11 +540,12 @@ public class DashboardService {
     public Map<String, Object> getProjectOverdueItems(String projectId) {
         Map<String, Object> overdueItems = new HashMap<>();
         
-        // Note: Task entity doesn't have projectId field
-        List<Task> projectOverdueTasks = Collections.emptyList();
+        LocalDate today = LocalDate.now();
+        List<Task> projectOverdueTasks = taskRepository.findOverdueTasksByProjectId(projectId, today,
+            com.sprintsync.api.entity.enums.TaskStatus.DONE);
         overdueItems.put("overdueTasks", projectOverdueTasks);
         
-        List<Subtask> projectOverdueSubtasks = Collections.emptyList(); // Note: Subtask entity doesn't have projectId field
+        List<Subtask> projectOverdueSubtasks = subtaskRepository.findOverdueSubtasksByProjectId(projectId, today);
         overdueItems.put("overdueSubtasks", projectOverdueSubtasks);
         
         overdueItems.put("totalOverdue", projectOverdueTasks.size() + projectOverdueSubtasks.size());
@@ -578,11 +578,13 @@ public class DashboardService {
     public Map<String, Object> getProjectUpcomingDeadlines(String projectId) {
         Map<String, Object> deadlines = new HashMap<>();
         
-        // Note: Task entity doesn't have projectId field
-        List<Task> upcomingTasks = Collections.emptyList();
+        LocalDate today = LocalDate.now();
+        LocalDate nextWeek = today.plusDays(7);
+        
+        List<Task> upcomingTasks = taskRepository.findByProjectIdAndDueDateBetween(projectId, today, nextWeek);
         deadlines.put("upcomingTasks", upcomingTasks);
         
-        List<Subtask> upcomingSubtasks = Collections.emptyList(); // Note: Subtask entity doesn't have projectId field
+        List<Subtask> upcomingSubtasks = subtaskRepository.findByProjectIdAndDueDateBetween(projectId, today, nextWeek);
         deadlines.put("upcomingSubtasks", upcomingSubtasks);
         
         return deadlines;
@@ -644,7 +646,7 @@ public class DashboardService {
         Map<String, Object> allocation = new HashMap<>();
         
         // Get users assigned to project tasks
-        List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+        List<Task> projectTasks = taskRepository.findByProjectId(projectId);
         Set<String> assignedUserIds = projectTasks.stream()
             .filter(task -> task.getAssigneeId() != null)
             .map(Task::getAssigneeId)
@@ -685,7 +687,7 @@ public class DashboardService {
                 projectHealth.put("projectName", project.getName());
                 
                 // Calculate health score based on various metrics
-                List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+                List<Task> projectTasks = taskRepository.findByProjectId(project.getId());
                 long overdueTasks = projectTasks.stream()
                     .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now().toLocalDate()))
                     .filter(task -> task.getStatus() != com.sprintsync.api.entity.enums.TaskStatus.DONE)
@@ -719,7 +721,7 @@ public class DashboardService {
             health.put("projectId", project.getId());
             health.put("projectName", project.getName());
             
-            List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+            List<Task> projectTasks = taskRepository.findByProjectId(projectId);
             long overdueTasks = projectTasks.stream()
                 .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now().toLocalDate()))
                 .filter(task -> task.getStatus() != com.sprintsync.api.entity.enums.TaskStatus.DONE)
@@ -777,7 +779,7 @@ public class DashboardService {
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
         
         // Project tasks created in date range
-        List<Task> projectTasks = Collections.emptyList(); // Note: Task entity doesn't have projectId field
+        List<Task> projectTasks = taskRepository.findByProjectId(projectId);
         List<Task> tasksCreated = projectTasks.stream()
             .filter(task -> task.getCreatedAt().isAfter(startDateTime) && task.getCreatedAt().isBefore(endDateTime))
             .collect(Collectors.toList());
@@ -100,7 +100,7 @@ public class IssueService {
             try {
                 String title = "New Issue Assignment";
                 String message = "You have been assigned to issue: " + savedIssue.getTitle();
-                notificationService.createNotification(
+                notificationService.notify(
                     savedIssue.getAssigneeId(),
                     title,
                     message,
@@ -133,7 +133,7 @@ public class IssueService {
                     try {
                         String title = "New Issue Assignment";
                         String message = "You have been assigned to issue: " + issue.getTitle();
-                        notificationService.createNotification(
+                        notificationService.notify(
                             newAssigneeId,
                             title,
                             message,
@@ -262,7 +262,7 @@ public class IssueService {
                 try {
                     String title = "New Issue Assignment";
                     String message = "You have been assigned to issue: " + issue.getTitle();
-                    notificationService.createNotification(
+                    notificationService.notify(
                         assigneeId,
                         title,
                         message,
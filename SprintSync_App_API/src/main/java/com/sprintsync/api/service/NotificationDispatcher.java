@@ -0,0 +1,467 @@
+package com.sprintsync.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sprintsync.api.repository.UserRepository;
+import com.sprintsync.api.util.JdbcTimestamps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out pipeline for notifications.
+ * Callers enqueue notification events instead of saving rows in their own transaction; a
+ * dedicated dispatcher thread drains the queue every flush interval (or as soon as a full batch
+ * is waiting), resolves all recipients of the drained events with one query, coalesces repeats
+ * and writes the rows with JDBC batches. A bulk reassignment of hundreds of items therefore
+ * becomes one batch write instead of one synchronous save per item. When a batch fails its
+ * deliveries are retried one per transaction, so only the rows that fail again are dropped.
+ *
+ * Coalescing: events for the same recipient, type and related entity that arrive within the
+ * coalesce window collapse into one notification. Inside a drain only the latest event is kept;
+ * across drains the notification written earlier is refreshed (new text, unread again) instead of
+ * a second row being added. Events without a related entity are never coalesced.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (id, user_id, title, message, type, is_read, related_entity_type, " +
+        "related_entity_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, false, ?, ?, ?, ?)";
+
+    private static final String REFRESH_SQL =
+        "UPDATE notifications SET title = ?, message = ?, is_read = false, read_at = NULL, updated_at = ? " +
+        "WHERE id = ?";
+
+    /**
+     * A notification to deliver to one or more users.
+     */
+    public static class NotificationEvent {
+        private final Set<String> recipientIds;
+        private final String title;
+        private final String message;
+        private final String type;
+        private final String relatedEntityType;
+        private final String relatedEntityId;
+        private final LocalDateTime occurredAt = LocalDateTime.now();
+
+        public NotificationEvent(Collection<String> recipientIds, String title, String message, String type,
+                                 String relatedEntityType, String relatedEntityId) {
+            this.recipientIds = new LinkedHashSet<>(recipientIds);
+            this.title = title;
+            this.message = message;
+            this.type = type;
+            this.relatedEntityType = relatedEntityType;
+            this.relatedEntityId = relatedEntityId;
+        }
+
+        public Set<String> getRecipientIds() {
+            return recipientIds;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getRelatedEntityType() {
+            return relatedEntityType;
+        }
+
+        public String getRelatedEntityId() {
+            return relatedEntityId;
+        }
+
+        public LocalDateTime getOccurredAt() {
+            return occurredAt;
+        }
+    }
+
+    /** One event addressed to one recipient */
+    private static final class Delivery {
+        private final String userId;
+        private final NotificationEvent event;
+        private final CoalesceKey key;
+        private String notificationId;
+
+        private Delivery(String userId, NotificationEvent event) {
+            this.userId = userId;
+            this.event = event;
+            this.key = event.getRelatedEntityId() != null
+                ? new CoalesceKey(userId, event.getType(), event.getRelatedEntityType(), event.getRelatedEntityId())
+                : null;
+        }
+    }
+
+    private record CoalesceKey(String userId, String type, String entityType, String entityId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final IdGenerationService idGenerationService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Counter enqueuedCounter;
+    private final Counter insertedCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+
+    @Value("${app.notification.dispatch.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.notification.dispatch.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notification.dispatch.flush-interval-ms:250}")
+    private long flushIntervalMs;
+
+    @Value("${app.notification.dispatch.coalesce-window-ms:60000}")
+    private long coalesceWindowMs;
+
+    private BlockingQueue<NotificationEvent> queue;
+
+    /** Notification written per coalesce key, for refreshing instead of duplicating inside the window */
+    private Cache<CoalesceKey, String> recentNotifications;
+
+    private ScheduledExecutorService dispatcher;
+
+    @Autowired
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate, UserRepository userRepository,
+                                  IdGenerationService idGenerationService, UnreadNotificationCounter unreadCounter,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.idGenerationService = idGenerationService;
+        this.unreadCounter = unreadCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enqueuedCounter = meterRegistry.counter("notification.dispatch.enqueued");
+        this.insertedCounter = meterRegistry.counter("notification.dispatch.inserted");
+        this.coalescedCounter = meterRegistry.counter("notification.dispatch.coalesced");
+        this.droppedCounter = meterRegistry.counter("notification.dispatch.dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        recentNotifications = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(coalesceWindowMs))
+            .maximumSize(100_000)
+            .build();
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the dispatcher and deliver everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+            try {
+                if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                    dispatcher.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                dispatcher.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushSafely();
+    }
+
+    /**
+     * Enqueue a notification event. Inside a transaction the event is only enqueued after
+     * commit, so a rolled-back change notifies nobody.
+     */
+    public void enqueue(NotificationEvent event) {
+        if (event.getRecipientIds().isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(event);
+                }
+            });
+        } else {
+            offer(event);
+        }
+    }
+
+    /**
+     * Number of events waiting to be delivered.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void offer(NotificationEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment(event.getRecipientIds().size());
+            logger.warn("Notification queue full, dropping '{}' for {} recipients",
+                event.getTitle(), event.getRecipientIds().size());
+            return;
+        }
+        enqueuedCounter.increment();
+        if (queue.size() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    private void requestFlush() {
+        if (dispatcher != null && !dispatcher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            dispatcher.execute(this::flushSafely);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Notification dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drain the queue in batches and deliver them.
+     * Runs on the dispatcher thread, and on the caller's thread during shutdown.
+     */
+    synchronized void flush() {
+        flushRequested.set(false);
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<NotificationEvent> events) {
+        Set<String> existingUsers = resolveRecipients(events);
+
+        // Expand to one delivery per recipient; a later event for the same key replaces an earlier one
+        Map<Object, Delivery> deliveries = new LinkedHashMap<>();
+        int requested = 0;
+        for (NotificationEvent event : events) {
+            for (String userId : event.getRecipientIds()) {
+                if (!existingUsers.contains(userId)) {
+                    continue;
+                }
+                requested++;
+                Delivery delivery = new Delivery(userId, event);
+                Object deliveryKey = delivery.key != null ? delivery.key : delivery;
+                deliveries.remove(deliveryKey);
+                deliveries.put(deliveryKey, delivery);
+            }
+        }
+
+        List<Delivery> inserts = new ArrayList<>();
+        List<Delivery> refreshes = new ArrayList<>();
+        for (Delivery delivery : deliveries.values()) {
+            String recentId = delivery.key != null ? recentNotifications.getIfPresent(delivery.key) : null;
+            if (recentId != null) {
+                delivery.notificationId = recentId;
+                refreshes.add(delivery);
+            } else {
+                delivery.notificationId = idGenerationService.generateNotificationId();
+                inserts.add(delivery);
+            }
+        }
+
+        List<Delivery> written;
+        int dropped = 0;
+        try {
+            written = write(inserts, refreshes);
+        } catch (Exception e) {
+            // One bad row (e.g. a user deleted since the recipient lookup) must not cost the whole batch
+            logger.warn("Failed to write {} notifications as a batch, retrying one by one: {}",
+                deliveries.size(), e.getMessage());
+            Set<Delivery> coalesced = new HashSet<>(refreshes);
+            written = new ArrayList<>();
+            refreshes = new ArrayList<>();
+            for (Delivery delivery : deliveries.values()) {
+                boolean refresh = coalesced.contains(delivery);
+                if (refresh) {
+                    delivery.notificationId = recentNotifications.getIfPresent(delivery.key);
+                }
+                try {
+                    written.addAll(refresh ? write(List.of(), List.of(delivery)) : write(List.of(delivery), List.of()));
+                    if (refresh) {
+                        refreshes.add(delivery);
+                    }
+                } catch (Exception rowError) {
+                    delivery.notificationId = null;
+                    dropped++;
+                    logger.error("Failed to write notification '{}' for user {}: {}",
+                        delivery.event.getTitle(), delivery.userId, rowError.getMessage());
+                }
+            }
+        }
+
+        for (Delivery delivery : deliveries.values()) {
+            if (delivery.key != null && delivery.notificationId != null) {
+                recentNotifications.put(delivery.key, delivery.notificationId);
+            }
+        }
+        updateUnreadCounters(written, refreshes);
+        insertedCounter.increment(written.size());
+        coalescedCounter.increment(requested - written.size() - dropped);
+        droppedCounter.increment(dropped);
+    }
+
+    /**
+     * Refresh and insert in one transaction.
+     *
+     * @return the inserted deliveries, including refreshes whose notification no longer existed
+     */
+    private List<Delivery> write(List<Delivery> inserts, List<Delivery> refreshes) {
+        return transactionTemplate.execute(status -> {
+            List<Delivery> written = new ArrayList<>(inserts);
+            for (Delivery delivery : refresh(refreshes)) {
+                delivery.notificationId = idGenerationService.generateNotificationId();
+                written.add(delivery);
+            }
+            insert(written);
+            return written;
+        });
+    }
+
+    /**
+     * New rows add to their user's unread count; a refreshed row may or may not have been read
+     * already, so those users are recounted.
+     */
+    private void updateUnreadCounters(List<Delivery> inserts, List<Delivery> refreshes) {
+        Map<String, Long> addedByUser = new HashMap<>();
+        for (Delivery delivery : inserts) {
+            addedByUser.merge(delivery.userId, 1L, Long::sum);
+        }
+        addedByUser.forEach(unreadCounter::added);
+
+        // Refreshes whose row had been deleted were inserted instead and are already counted
+        Set<Delivery> inserted = new HashSet<>(inserts);
+        Set<String> recount = new HashSet<>();
+        for (Delivery delivery : refreshes) {
+            if (!inserted.contains(delivery)) {
+                recount.add(delivery.userId);
+            }
+        }
+        if (!recount.isEmpty()) {
+            unreadCounter.invalidate(recount);
+        }
+    }
+
+    /**
+     * Look up every recipient of the batch at once. Unknown users are skipped so a single stale
+     * ID cannot fail the whole batch on the user foreign key.
+     */
+    private Set<String> resolveRecipients(List<NotificationEvent> events) {
+        Set<String> recipientIds = new HashSet<>();
+        for (NotificationEvent event : events) {
+            recipientIds.addAll(event.getRecipientIds());
+        }
+        recipientIds.removeIf(Objects::isNull);
+        if (recipientIds.isEmpty()) {
+            return recipientIds;
+        }
+        Set<String> existing = new HashSet<>(userRepository.findExistingIds(recipientIds));
+        if (existing.size() < recipientIds.size()) {
+            logger.debug("Skipping notifications for {} unknown users", recipientIds.size() - existing.size());
+        }
+        return existing;
+    }
+
+    private void insert(List<Delivery> inserts) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, delivery) -> {
+            NotificationEvent event = delivery.event;
+            ps.setString(1, delivery.notificationId);
+            ps.setString(2, delivery.userId);
+            ps.setString(3, event.getTitle());
+            ps.setString(4, event.getMessage());
+            ps.setString(5, event.getType());
+            ps.setString(6, event.getRelatedEntityType());
+            ps.setString(7, event.getRelatedEntityId());
+            JdbcTimestamps.setUtc(ps, 8, event.getOccurredAt());
+            JdbcTimestamps.setUtc(ps, 9, event.getOccurredAt());
+        });
+    }
+
+    /**
+     * Refresh notifications written earlier in the coalesce window.
+     *
+     * @return the deliveries whose notification no longer exists (e.g. deleted by the user)
+     */
+    private List<Delivery> refresh(List<Delivery> refreshes) {
+        List<Delivery> missing = new ArrayList<>();
+        if (refreshes.isEmpty()) {
+            return missing;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(REFRESH_SQL, refreshes, refreshes.size(), (ps, delivery) -> {
+            ps.setString(1, delivery.event.getTitle());
+            ps.setString(2, delivery.event.getMessage());
+            JdbcTimestamps.setUtc(ps, 3, delivery.event.getOccurredAt());
+            ps.setString(4, delivery.notificationId);
+        });
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    missing.add(refreshes.get(index));
+                }
+                index++;
+            }
+        }
+        return missing;
+    }
+}
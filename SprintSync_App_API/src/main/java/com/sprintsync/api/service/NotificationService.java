@@ -5,8 +5,10 @@ import com.sprintsync.api.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,17 +28,26 @@ public class NotificationService {
     @Autowired
     private IdGenerationService idGenerationService;
 
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
     /**
      * Create a new notification
      */
     @Transactional
     public Notification createNotification(String userId, String title, String message, String type) {
-        System.out.println("NotificationService.createNotification called with:");
-        System.out.println("  userId: " + userId);
-        System.out.println("  title: " + title);
-        System.out.println("  message: " + message);
-        System.out.println("  type: " + type);
-        
+        return createNotification(userId, title, message, type, null, null);
+    }
+
+    /**
+     * Create a notification with related entity
+     */
+    @Transactional
+    public Notification createNotification(String userId, String title, String message, String type, 
+                                          String relatedEntityType, String relatedEntityId) {
         Notification notification = new Notification();
         notification.setId(idGenerationService.generateNotificationId());
         notification.setUserId(userId);
@@ -44,40 +55,43 @@ public class NotificationService {
         notification.setMessage(message);
         notification.setType(type);
         notification.setIsRead(false);
+        notification.setRelatedEntityType(relatedEntityType);
+        notification.setRelatedEntityId(relatedEntityId);
         notification.setCreatedAt(LocalDateTime.now());
         notification.setUpdatedAt(LocalDateTime.now());
         
         Notification saved = notificationRepository.save(notification);
-        System.out.println("Notification saved with ID: " + saved.getId());
-        System.out.println("Notification userId: " + saved.getUserId());
-        
+        unreadCounter.added(userId, 1);
         return saved;
     }
 
     /**
-     * Create a notification with related entity
+     * Notify a user asynchronously through the notification dispatcher.
+     * Use this from business flows (assignments etc.); the notification is written in a batch
+     * after the caller's transaction commits and may be coalesced with recent duplicates.
      */
-    @Transactional
-    public Notification createNotification(String userId, String title, String message, String type, 
-                                          String relatedEntityType, String relatedEntityId) {
-        Notification notification = createNotification(userId, title, message, type);
-        notification.setRelatedEntityType(relatedEntityType);
-        notification.setRelatedEntityId(relatedEntityId);
-        
-        return notificationRepository.save(notification);
+    public void notify(String userId, String title, String message, String type,
+                       String relatedEntityType, String relatedEntityId) {
+        if (userId == null || userId.isEmpty()) {
+            return;
+        }
+        notifyAll(List.of(userId), title, message, type, relatedEntityType, relatedEntityId);
+    }
+
+    /**
+     * Notify several users of the same event asynchronously.
+     */
+    public void notifyAll(Collection<String> userIds, String title, String message, String type,
+                          String relatedEntityType, String relatedEntityId) {
+        notificationDispatcher.enqueue(new NotificationDispatcher.NotificationEvent(
+            userIds, title, message, type, relatedEntityType, relatedEntityId));
     }
 
     /**
      * Get all notifications for a user
      */
     public List<Notification> getNotificationsByUserId(String userId) {
-        System.out.println("NotificationService.getNotificationsByUserId called with userId: " + userId);
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        System.out.println("Found " + notifications.size() + " notifications for user: " + userId);
-        if (notifications.size() > 0) {
-            System.out.println("First notification userId: " + notifications.get(0).getUserId());
-        }
-        return notifications;
+        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
     /**
@@ -102,10 +116,15 @@ public class NotificationService {
         Optional<Notification> optionalNotification = notificationRepository.findById(notificationId);
         if (optionalNotification.isPresent()) {
             Notification notification = optionalNotification.get();
+            boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
             notification.setIsRead(true);
             notification.setReadAt(LocalDateTime.now());
             notification.setUpdatedAt(LocalDateTime.now());
-            return notificationRepository.save(notification);
+            Notification saved = notificationRepository.save(notification);
+            if (wasUnread) {
+                unreadCounter.removed(notification.getUserId(), 1);
+            }
+            return saved;
         }
         return null;
     }
@@ -114,22 +133,24 @@ public class NotificationService {
      * Mark all notifications as read for a user
      */
     @Transactional
-    public void markAllAsRead(String userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndIsReadFalse(userId);
-        LocalDateTime now = LocalDateTime.now();
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
-            notification.setReadAt(now);
-            notification.setUpdatedAt(now);
-        }
-        notificationRepository.saveAll(unreadNotifications);
+    public int markAllAsRead(String userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId, LocalDateTime.now());
+        unreadCounter.cleared(userId);
+        return updated;
     }
 
     /**
-     * Get unread count for a user
+     * Get unread count for a user, served from the in-memory counter
      */
     public long getUnreadCount(String userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return unreadCounter.get(userId);
+    }
+
+    /**
+     * Stream the unread count of a user (Server-Sent Events)
+     */
+    public SseEmitter subscribeToUnreadCount(String userId) {
+        return unreadCounter.subscribe(userId);
     }
 
     /**
@@ -137,7 +158,12 @@ public class NotificationService {
      */
     @Transactional
     public void deleteNotification(String notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounter.removed(notification.getUserId(), 1);
+            }
+        });
     }
 }
 
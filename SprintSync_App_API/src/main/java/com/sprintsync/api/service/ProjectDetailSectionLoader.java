@@ -0,0 +1,111 @@
+package com.sprintsync.api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads the independent sections of a detailed project view in parallel.
+ * Each section runs on a bounded worker pool inside its own read-only transaction, so the
+ * view takes as long as its slowest section rather than the sum of all of them. When the
+ * pool is saturated a section is rejected outright instead of running on the request thread,
+ * and a section that outlives the timeout is cancelled; callers report either as a failed section.
+ *
+ * @author SprintSync Team
+ */
+@Component
+public class ProjectDetailSectionLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectDetailSectionLoader.class);
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.project-detail.loader-threads:4}")
+    private int loaderThreads;
+
+    @Value("${app.project-detail.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.project-detail.section-timeout-ms:10000}")
+    private long sectionTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @Autowired
+    public ProjectDetailSectionLoader(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(loaderThreads, loaderThreads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "project-detail-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        // Statements of a timed-out section are cancelled by the driver rather than left running
+        readOnlyTransaction.setTimeout((int) Math.max(1, (sectionTimeoutMs + 999) / 1000));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start loading a section. The returned future completes exceptionally if the pool is
+     * saturated, the section fails, or it does not finish within the section timeout; in the
+     * last case the worker running it is interrupted.
+     *
+     * @param name section name, for logging
+     * @param section loads the section; runs inside a read-only transaction
+     */
+    public <T> CompletableFuture<T> load(String name, Supplier<T> section) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(readOnlyTransaction.execute(status -> section.get()));
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Project section {} rejected: loader pool is saturated", name);
+            result.completeExceptionally(e);
+            return result;
+        }
+        return result
+            .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+            .whenComplete((value, error) -> {
+                if (error != null) {
+                    task.cancel(true);
+                    logger.warn("Failed to load project section {}: {}", name, error.toString());
+                }
+            });
+    }
+}
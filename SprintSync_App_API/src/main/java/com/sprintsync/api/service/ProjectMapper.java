@@ -2,6 +2,7 @@ package com.sprintsync.api.service;
 
 import com.sprintsync.api.dto.*;
 import com.sprintsync.api.entity.Project;
+import com.sprintsync.api.util.FieldSelection;
 import com.sprintsync.api.repository.UserRepository;
 import com.sprintsync.api.repository.DepartmentRepository;
 import com.sprintsync.api.repository.ProjectTeamMemberRepository;
@@ -24,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -69,7 +71,7 @@ public class ProjectMapper {
     private com.sprintsync.api.repository.ProjectIntegrationRepository projectIntegrationRepository;
 
     @Autowired
-    private com.sprintsync.api.repository.AvailableIntegrationRepository availableIntegrationRepository;
+    private AvailableIntegrationCatalog availableIntegrationCatalog;
 
     @Autowired
     private com.sprintsync.api.repository.EpicRepository epicRepository;
@@ -77,6 +79,12 @@ public class ProjectMapper {
     @Autowired
     private com.sprintsync.api.repository.ReleaseRepository releaseRepository;
 
+    @Autowired
+    private ProjectSpendLedgerService projectSpendLedgerService;
+
+    @Autowired
+    private ProjectDetailSectionLoader projectDetailSectionLoader;
+
     /**
      * Convert Project entity to ProjectDto
      */
@@ -89,10 +97,254 @@ public class ProjectMapper {
     }
 
     public ProjectDto toDto(Project project, boolean includeDetails, boolean includeTeamMetrics) {
+        return toDto(project, includeDetails, includeTeamMetrics, FieldSelection.all());
+    }
+
+    /**
+     * Convert Project entity to ProjectDto, computing only the selected fields.
+     * Spend, department, team members, counts and detail sections that are not selected
+     * are never queried.
+     */
+    public ProjectDto toDto(Project project, boolean includeDetails, boolean includeTeamMetrics, FieldSelection fields) {
         if (project == null) {
             return null;
         }
 
+        ProjectDto dto = toBasicDto(project);
+        if (fields.includes("spent")) {
+            BigDecimal recalculatedSpend = calculateCompletedTaskSpend(project);
+            dto.setSpent(recalculatedSpend.toPlainString());
+        }
+
+        // Get department name instead of ID
+        if (project.getDepartmentId() != null && fields.includes("department")) {
+            departmentRepository.findById(project.getDepartmentId())
+                .ifPresent(dept -> dto.setDepartment(dept.getName()));
+        }
+
+        // Get team members and high-level metrics
+        if (fields.includes("teamMembers")) {
+            dto.setTeamMembers(getTeamMembers(project.getId(), includeTeamMetrics));
+        }
+        if (fields.includes("sprints")) {
+            dto.setSprints(getSprintCount(project.getId()));
+        }
+        if (fields.includes("completedSprints")) {
+            dto.setCompletedSprints(getCompletedSprintCount(project.getId()));
+        }
+        if (fields.includes("totalTasks")) {
+            dto.setTotalTasks(getTotalTaskCount(project.getId()));
+        }
+        if (fields.includes("completedTasks")) {
+            dto.setCompletedTasks(getCompletedTaskCount(project.getId()));
+        }
+
+        populateDetails(dto, project.getId(), includeDetails, fields);
+
+        return dto;
+    }
+
+    /**
+     * Fill the selected detail sections (milestones, requirements, stakeholders, risks,
+     * integrations, epics, releases), or empty lists when details are not requested.
+     * The sections are independent and are loaded in parallel; a section that fails or times
+     * out is left empty and named in failedSections so clients can tell it from an empty one.
+     */
+    private void populateDetails(ProjectDto dto, String projectId, boolean includeDetails, FieldSelection fields) {
+        CompletableFuture<List<MilestoneDto>> milestones =
+            loadSection(includeDetails, fields, "milestones", () -> getMilestones(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.RequirementDto>> requirements =
+            loadSection(includeDetails, fields, "requirements", () -> getRequirements(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.StakeholderDto>> stakeholders =
+            loadSection(includeDetails, fields, "stakeholders", () -> getStakeholders(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.RiskDto>> risks =
+            loadSection(includeDetails, fields, "risks", () -> getRisks(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.IntegrationDto>> integrations =
+            loadSection(includeDetails, fields, "integrations", () -> getIntegrations(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.EpicDto>> epics =
+            loadSection(includeDetails, fields, "epics", () -> getEpics(projectId));
+        CompletableFuture<List<com.sprintsync.api.dto.ReleaseDto>> releases =
+            loadSection(includeDetails, fields, "releases", () -> getReleases(projectId));
+
+        List<String> failedSections = new ArrayList<>();
+        dto.setMilestones(sectionResult(milestones, "milestones", failedSections));
+        dto.setRequirements(sectionResult(requirements, "requirements", failedSections));
+        dto.setStakeholders(sectionResult(stakeholders, "stakeholders", failedSections));
+        dto.setRisks(sectionResult(risks, "risks", failedSections));
+        dto.setIntegrations(sectionResult(integrations, "integrations", failedSections));
+        dto.setEpics(sectionResult(epics, "epics", failedSections));
+        dto.setReleases(sectionResult(releases, "releases", failedSections));
+        dto.setFailedSections(failedSections.isEmpty() ? null : failedSections);
+    }
+
+    private <T> CompletableFuture<List<T>> loadSection(boolean includeDetails, FieldSelection fields, String name,
+                                                       java.util.function.Supplier<List<T>> section) {
+        if (!includeDetails || !fields.includes(name)) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return projectDetailSectionLoader.load(name, section);
+    }
+
+    private <T> List<T> sectionResult(CompletableFuture<List<T>> section, String name, List<String> failedSections) {
+        try {
+            return section.join();
+        } catch (java.util.concurrent.CompletionException | java.util.concurrent.CancellationException e) {
+            failedSections.add(name);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Convert a list of projects to DTOs with a constant number of queries.
+     * Every per-project section (department, spend, team members, sprint and task counts)
+     * is answered by one grouped query across all project IDs and stitched in memory.
+     */
+    public List<ProjectDto> toDtos(List<Project> projects, boolean includeDetails, boolean includeTeamMetrics) {
+        return toDtos(projects, includeDetails, includeTeamMetrics, FieldSelection.all());
+    }
+
+    /**
+     * Batch conversion computing only the selected fields; grouped queries for
+     * unselected sections are not run.
+     */
+    public List<ProjectDto> toDtos(List<Project> projects, boolean includeDetails, boolean includeTeamMetrics,
+                                   FieldSelection fields) {
+        if (projects == null || projects.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> projectIds = projects.stream()
+                .map(Project::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        boolean includeSpend = fields.includes("spent");
+        boolean includeTeam = fields.includes("teamMembers");
+
+        // Spend: pre-summed ledger rows, or hours per (project, assignee) when the ledger is not available
+        Map<String, BigDecimal> ledgerSpend = includeSpend ? loadLedgerSpend(projectIds) : null;
+        boolean aggregateSpend = includeSpend && ledgerSpend == null;
+        Map<String, List<Object[]>> timeEntryRowsByProject = !aggregateSpend ? Collections.emptyMap() : groupByProject(
+                safeRows(() -> taskRepository.sumTimeEntryHoursByProjectAndAssignee(projectIds), "time entry hours"));
+        Map<String, List<Object[]>> manualRowsByProject = !aggregateSpend ? Collections.emptyMap() : groupByProject(
+                safeRows(() -> taskRepository.sumManualTaskHoursByProjectAndAssignee(projectIds), "manual task hours"));
+
+        // Team members of all projects
+        List<com.sprintsync.api.entity.ProjectTeamMember> assignments = projectIds.isEmpty() || !includeTeam
+                ? Collections.emptyList()
+                : projectTeamMemberRepository.findByProjectIdIn(projectIds);
+        Map<String, List<com.sprintsync.api.entity.ProjectTeamMember>> assignmentsByProject = assignments.stream()
+                .collect(Collectors.groupingBy(com.sprintsync.api.entity.ProjectTeamMember::getProjectId));
+
+        // Users needed for team members and hourly rates, loaded once
+        Set<String> userIds = new java.util.HashSet<>();
+        assignments.forEach(assignment -> {
+            if (assignment.getUserId() != null) {
+                userIds.add(assignment.getUserId());
+            }
+        });
+        java.util.stream.Stream.concat(timeEntryRowsByProject.values().stream(), manualRowsByProject.values().stream())
+                .flatMap(List::stream)
+                .map(row -> (String) row[0])
+                .filter(Objects::nonNull)
+                .forEach(userIds::add);
+        Map<String, com.sprintsync.api.entity.User> usersById = userIds.isEmpty()
+                ? Collections.emptyMap()
+                : userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(com.sprintsync.api.entity.User::getId, user -> user));
+        Map<String, BigDecimal> hourlyRates = usersById.values().stream()
+                .collect(Collectors.toMap(
+                    com.sprintsync.api.entity.User::getId,
+                    user -> user.getHourlyRate() != null ? user.getHourlyRate() : BigDecimal.ZERO));
+
+        // Department names for projects and team members, loaded once
+        Set<String> departmentIds = new java.util.HashSet<>();
+        if (fields.includes("department")) {
+            projects.forEach(project -> {
+                if (project.getDepartmentId() != null) {
+                    departmentIds.add(project.getDepartmentId());
+                }
+            });
+        }
+        usersById.values().forEach(user -> {
+            if (user.getDepartmentId() != null) {
+                departmentIds.add(user.getDepartmentId());
+            }
+        });
+        Map<String, String> departmentNamesById = departmentIds.isEmpty()
+                ? Collections.emptyMap()
+                : departmentRepository.findAllById(departmentIds).stream()
+                    .collect(Collectors.toMap(com.sprintsync.api.entity.Department::getId,
+                                              com.sprintsync.api.entity.Department::getName));
+
+        // Sprint and task counts: [projectId, total, completed]
+        boolean includeSprintCounts = fields.includesAny("sprints", "completedSprints");
+        boolean includeTaskCounts = fields.includesAny("totalTasks", "completedTasks");
+        Map<String, Object[]> sprintCounts = !includeSprintCounts ? Collections.emptyMap() : indexByProject(safeRows(
+                () -> sprintRepository.countByProjectIdsGroupedWithStatus(projectIds, SprintStatus.COMPLETED), "sprint counts"));
+        Map<String, Object[]> taskCounts = !includeTaskCounts ? Collections.emptyMap() : indexByProject(safeRows(
+                () -> taskRepository.countByProjectIdsGroupedWithStatus(projectIds, TaskStatus.DONE), "task counts"));
+
+        // Team metrics are per user; compute each user once across all projects
+        Map<String, Integer> workloadByUser = new HashMap<>();
+        Map<String, Integer> performanceByUser = new HashMap<>();
+
+        List<ProjectDto> dtos = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            ProjectDto dto = toBasicDto(project);
+            String projectId = project.getId();
+
+            if (includeSpend) {
+                BigDecimal spend = ledgerSpend != null
+                        ? ledgerSpend.getOrDefault(projectId, fallbackSpend(project))
+                        : computeSpend(project, timeEntryRowsByProject.get(projectId), manualRowsByProject.get(projectId), hourlyRates);
+                dto.setSpent(spend.toPlainString());
+            }
+
+            if (project.getDepartmentId() != null) {
+                dto.setDepartment(departmentNamesById.get(project.getDepartmentId()));
+            }
+
+            List<TeamMemberDto> teamMembers = new ArrayList<>();
+            for (com.sprintsync.api.entity.ProjectTeamMember assignment
+                    : assignmentsByProject.getOrDefault(projectId, Collections.emptyList())) {
+                com.sprintsync.api.entity.User user = usersById.get(assignment.getUserId());
+                if (user == null) {
+                    continue;
+                }
+                TeamMemberDto member = toTeamMemberDto(assignment, user, departmentNamesById, false);
+                if (includeTeamMetrics) {
+                    member.setWorkload(workloadByUser.computeIfAbsent(user.getId(), this::calculateWorkload));
+                    member.setPerformance(performanceByUser.computeIfAbsent(user.getId(), this::calculatePerformance));
+                }
+                teamMembers.add(member);
+            }
+            if (includeTeam) {
+                dto.setTeamMembers(teamMembers);
+            }
+
+            if (includeSprintCounts) {
+                Object[] sprints = sprintCounts.get(projectId);
+                dto.setSprints(sprints != null ? toInt(sprints[1]) : 0);
+                dto.setCompletedSprints(sprints != null ? toInt(sprints[2]) : 0);
+            }
+            if (includeTaskCounts) {
+                Object[] tasks = taskCounts.get(projectId);
+                dto.setTotalTasks(tasks != null ? toInt(tasks[1]) : 0);
+                dto.setCompletedTasks(tasks != null ? toInt(tasks[2]) : 0);
+            }
+
+            populateDetails(dto, projectId, includeDetails, fields);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * Map the scalar project fields shared by the single and batch conversions.
+     */
+    private ProjectDto toBasicDto(Project project) {
         ProjectDto dto = new ProjectDto();
         
         // Keep ID as String to match database
@@ -115,52 +367,82 @@ public class ProjectMapper {
 
         // Convert BigDecimal to String for frontend
         dto.setBudget(project.getBudget() != null ? project.getBudget().toString() : "0");
-        BigDecimal recalculatedSpend = calculateCompletedTaskSpend(project);
-        dto.setSpent(recalculatedSpend.toPlainString());
+        return dto;
+    }
 
-        // Get department name instead of ID
-        if (project.getDepartmentId() != null) {
-            departmentRepository.findById(project.getDepartmentId())
-                .ifPresent(dept -> dto.setDepartment(dept.getName()));
+    /**
+     * Spend per project from the spend ledger, or null when the ledger cannot be used.
+     */
+    private Map<String, BigDecimal> loadLedgerSpend(List<String> projectIds) {
+        if (!projectSpendLedgerService.isAvailable()) {
+            return null;
+        }
+        try {
+            return projectSpendLedgerService.getProjectSpend(projectIds);
+        } catch (Exception e) {
+            logger.warn("Failed to read project spend ledger: {}", e.getMessage());
+            return null;
         }
+    }
 
-        // Get team members and high-level metrics
-        dto.setTeamMembers(getTeamMembers(project.getId(), includeTeamMetrics));
-        dto.setSprints(getSprintCount(project.getId()));
-        dto.setCompletedSprints(getCompletedSprintCount(project.getId()));
-        dto.setTotalTasks(getTotalTaskCount(project.getId()));
-        dto.setCompletedTasks(getCompletedTaskCount(project.getId()));
-
-        if (includeDetails) {
-            dto.setMilestones(getMilestones(project.getId()));
-            dto.setRequirements(getRequirements(project.getId()));
-            dto.setStakeholders(getStakeholders(project.getId()));
-            dto.setRisks(getRisks(project.getId()));
-            dto.setIntegrations(getIntegrations(project.getId()));
-            dto.setEpics(getEpics(project.getId()));
-            dto.setReleases(getReleases(project.getId()));
-        } else {
-            dto.setMilestones(Collections.emptyList());
-            dto.setRequirements(Collections.emptyList());
-            dto.setStakeholders(Collections.emptyList());
-            dto.setRisks(Collections.emptyList());
-            dto.setIntegrations(Collections.emptyList());
-            dto.setEpics(Collections.emptyList());
-            dto.setReleases(Collections.emptyList());
+    private BigDecimal fallbackSpend(Project project) {
+        return project.getSpent() != null ? project.getSpent() : BigDecimal.ZERO;
+    }
+
+    private List<Object[]> safeRows(java.util.function.Supplier<List<Object[]>> query, String section) {
+        try {
+            List<Object[]> rows = query.get();
+            return rows != null ? rows : Collections.emptyList();
+        } catch (Exception e) {
+            logger.warn("Failed to load {} for project list: {}", section, e.getMessage());
+            return Collections.emptyList();
         }
+    }
 
-        return dto;
+    /**
+     * Group [projectId, assigneeId, hours] rows into per-project [assigneeId, hours] rows.
+     */
+    private Map<String, List<Object[]>> groupByProject(List<Object[]> rows) {
+        Map<String, List<Object[]>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row == null || row.length < 3 || row[0] == null) {
+                continue;
+            }
+            grouped.computeIfAbsent((String) row[0], key -> new ArrayList<>())
+                    .add(new Object[] { row[1], row[2] });
+        }
+        return grouped;
+    }
+
+    private Map<String, Object[]> indexByProject(List<Object[]> rows) {
+        Map<String, Object[]> indexed = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row != null && row.length >= 3 && row[0] != null) {
+                indexed.put((String) row[0], row);
+            }
+        }
+        return indexed;
+    }
+
+    private int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
     }
 
     /**
      * Recalculate project spend based on completed (Done lane) tasks.
      * This derives the payable amount per user (actual hours * hourly rate) and sums it.
+     * Reads the pre-summed spend ledger when it is available.
      */
     private BigDecimal calculateCompletedTaskSpend(Project project) {
         if (project == null || project.getId() == null) {
             return BigDecimal.ZERO;
         }
 
+        Map<String, BigDecimal> ledgerSpend = loadLedgerSpend(List.of(project.getId()));
+        if (ledgerSpend != null) {
+            return ledgerSpend.getOrDefault(project.getId(), fallbackSpend(project));
+        }
+
         try {
             List<Object[]> timeEntryRows = taskRepository.sumTimeEntryHoursByAssigneeForProject(project.getId());
             List<Object[]> manualRows = taskRepository.sumManualTaskHoursWithoutTimeEntries(project.getId());
@@ -170,6 +452,30 @@ public class ProjectMapper {
                 return project.getSpent() != null ? project.getSpent() : BigDecimal.ZERO;
             }
 
+            Set<String> assigneeIds = new java.util.HashSet<>();
+            rowsToStream(timeEntryRows).forEach(row -> assigneeIds.add((String) row[0]));
+            rowsToStream(manualRows).forEach(row -> assigneeIds.add((String) row[0]));
+            assigneeIds.remove(null);
+            Map<String, BigDecimal> hourlyRates = userRepository.findAllById(assigneeIds).stream()
+                .collect(Collectors.toMap(
+                    com.sprintsync.api.entity.User::getId,
+                    user -> user.getHourlyRate() != null ? user.getHourlyRate() : BigDecimal.ZERO
+                ));
+
+            return computeSpend(project, timeEntryRows, manualRows, hourlyRates);
+        } catch (Exception ex) {
+            logger.warn("Failed to recalculate spend for project {}: {}", project.getId(), ex.getMessage());
+            return project.getSpent() != null ? project.getSpent() : BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Sum (hours * hourly rate) per assignee from [assigneeId, hours] rows.
+     * Falls back to the stored project spend when there are no hours at all.
+     */
+    private BigDecimal computeSpend(Project project, List<Object[]> timeEntryRows, List<Object[]> manualRows,
+                                    Map<String, BigDecimal> hourlyRates) {
+        try {
             Map<String, BigDecimal> hoursByAssignee = new HashMap<>();
             mergeHours(rowsToStream(timeEntryRows), hoursByAssignee);
             mergeHours(rowsToStream(manualRows), hoursByAssignee);
@@ -178,13 +484,6 @@ public class ProjectMapper {
                 return project.getSpent() != null ? project.getSpent() : BigDecimal.ZERO;
             }
 
-            Set<String> assigneeIds = hoursByAssignee.keySet();
-            Map<String, BigDecimal> hourlyRates = userRepository.findAllById(assigneeIds).stream()
-                .collect(Collectors.toMap(
-                    com.sprintsync.api.entity.User::getId,
-                    user -> user.getHourlyRate() != null ? user.getHourlyRate() : BigDecimal.ZERO
-                ));
-
             BigDecimal total = BigDecimal.ZERO;
             for (Map.Entry<String, BigDecimal> entry : hoursByAssignee.entrySet()) {
                 BigDecimal hourlyRate = hourlyRates.getOrDefault(entry.getKey(), BigDecimal.ZERO);
@@ -380,28 +679,7 @@ public class ProjectMapper {
                     continue;
                 }
 
-                TeamMemberDto dto = new TeamMemberDto();
-                dto.setId(user.getId());
-                dto.setName(user.getName());
-                dto.setRole(assignment.getRole());
-                dto.setIsTeamLead(assignment.getIsTeamLead());
-                dto.setAvailability(assignment.getAllocationPercentage());
-
-                if (user.getDepartmentId() != null) {
-                    dto.setDepartment(departmentNamesById.get(user.getDepartmentId()));
-                }
-
-                dto.setExperience(user.getExperience() != null ? user.getExperience().getValue() : "mid");
-                dto.setHourlyRate(user.getHourlyRate() != null ? user.getHourlyRate().doubleValue() : 0.0);
-                dto.setAvatar(user.getAvatarUrl());
-                dto.setSkills(parseSkills(user.getSkills()));
-
-                if (includeMetrics) {
-                    dto.setWorkload(calculateWorkload(user.getId()));
-                    dto.setPerformance(calculatePerformance(user.getId()));
-                }
-
-                teamMembers.add(dto);
+                teamMembers.add(toTeamMemberDto(assignment, user, departmentNamesById, includeMetrics));
             }
 
             return teamMembers;
@@ -411,6 +689,33 @@ public class ProjectMapper {
         }
     }
 
+    private TeamMemberDto toTeamMemberDto(com.sprintsync.api.entity.ProjectTeamMember assignment,
+                                          com.sprintsync.api.entity.User user,
+                                          Map<String, String> departmentNamesById,
+                                          boolean includeMetrics) {
+        TeamMemberDto dto = new TeamMemberDto();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setRole(assignment.getRole());
+        dto.setIsTeamLead(assignment.getIsTeamLead());
+        dto.setAvailability(assignment.getAllocationPercentage());
+
+        if (user.getDepartmentId() != null) {
+            dto.setDepartment(departmentNamesById.get(user.getDepartmentId()));
+        }
+
+        dto.setExperience(user.getExperience() != null ? user.getExperience().getValue() : "mid");
+        dto.setHourlyRate(user.getHourlyRate() != null ? user.getHourlyRate().doubleValue() : 0.0);
+        dto.setAvatar(user.getAvatarUrl());
+        dto.setSkills(parseSkills(user.getSkills()));
+
+        if (includeMetrics) {
+            dto.setWorkload(calculateWorkload(user.getId()));
+            dto.setPerformance(calculatePerformance(user.getId()));
+        }
+        return dto;
+    }
+
     private String[] parseSkills(String skillsJson) {
         if (skillsJson == null || skillsJson.trim().isEmpty()) {
             return new String[0];
@@ -548,12 +853,7 @@ public class ProjectMapper {
      */
     private Integer getTotalTaskCount(String projectId) {
         try {
-            List<String> storyIds = storyRepository.findIdsByProjectId(projectId);
-            if (storyIds == null || storyIds.isEmpty()) {
-                return 0;
-            }
-
-            return (int) taskRepository.countByStoryIds(storyIds);
+            return (int) taskRepository.countByProjectId(projectId);
         } catch (Exception e) {
             return 0;
         }
@@ -564,12 +864,7 @@ public class ProjectMapper {
      */
     private Integer getCompletedTaskCount(String projectId) {
         try {
-            List<String> storyIds = storyRepository.findIdsByProjectId(projectId);
-            if (storyIds == null || storyIds.isEmpty()) {
-                return 0;
-            }
-
-            return (int) taskRepository.countByStoryIdsAndStatus(storyIds, TaskStatus.DONE);
+            return (int) taskRepository.countByProjectIdAndStatus(projectId, TaskStatus.DONE);
         } catch (Exception e) {
             return 0;
         }
@@ -712,7 +1007,7 @@ public class ProjectMapper {
             projectIntegrationRepository.findByProjectId(projectId).forEach(projectIntegration -> {
                 // Get integration details from available integrations
                 if (projectIntegration.getIntegrationId() != null) {
-                    availableIntegrationRepository.findById(projectIntegration.getIntegrationId()).ifPresent(availableIntegration -> {
+                    availableIntegrationCatalog.findById(projectIntegration.getIntegrationId()).ifPresent(availableIntegration -> {
                         com.sprintsync.api.dto.IntegrationDto dto = new com.sprintsync.api.dto.IntegrationDto();
                         dto.setId(projectIntegration.getId());
                         dto.setProjectId(projectIntegration.getProjectId());
@@ -0,0 +1,178 @@
+package com.sprintsync.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and verifies project_spend_ledger, the per-project, per-assignee spend of completed tasks.
+ * The ledger is kept current by database triggers that apply each task change as a delta
+ * (see create_project_spend_ledger.sql), so the spend shown on a project card is one indexed SUM
+ * instead of the aggregate queries over tasks, time entries and users. A scheduled job compares the ledger with a fresh aggregate and repairs
+ * any drifted rows.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class ProjectSpendLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectSpendLedgerService.class);
+
+    /** Spend per (project, assignee) computed from the source tables, same rules as the triggers */
+    private static final String SOURCE_SQL =
+        "SELECT s.project_id, t.assignee_id, COUNT(*) AS task_count, " +
+        "COALESCE(SUM(CASE WHEN te.total IS NOT NULL THEN te.total ELSE COALESCE(t.actual_hours, 0) END), 0) AS hours " +
+        "FROM tasks t " +
+        "JOIN stories s ON s.id = t.story_id " +
+        "LEFT JOIN (SELECT task_id, SUM(hours_worked) AS total FROM time_entries " +
+        "           WHERE task_id IS NOT NULL GROUP BY task_id) te ON te.task_id = t.id " +
+        "WHERE t.assignee_id IS NOT NULL AND s.project_id IS NOT NULL AND LOWER(t.status) = 'done' " +
+        "GROUP BY s.project_id, t.assignee_id";
+
+    private static final String DRIFT_SQL =
+        "SELECT COALESCE(l.project_id, src.project_id) AS project_id, " +
+        "COALESCE(l.assignee_id, src.assignee_id) AS assignee_id " +
+        "FROM project_spend_ledger l " +
+        "FULL OUTER JOIN (" + SOURCE_SQL + ") src " +
+        "ON src.project_id = l.project_id AND src.assignee_id = l.assignee_id " +
+        "LEFT JOIN users u ON u.id = COALESCE(l.assignee_id, src.assignee_id) " +
+        "WHERE l.project_id IS NULL OR src.project_id IS NULL " +
+        "OR l.hours <> src.hours OR l.task_count <> src.task_count OR l.hourly_rate <> COALESCE(u.hourly_rate, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private volatile boolean available;
+
+    @Value("${app.project-spend-ledger.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    public ProjectSpendLedgerService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectLedger() {
+        if (!enabled) {
+            available = false;
+            return;
+        }
+        try {
+            String table = jdbcTemplate.queryForObject("SELECT to_regclass('project_spend_ledger')::text", String.class);
+            available = table != null;
+            if (!available) {
+                logger.info("project_spend_ledger not found, project spend is computed from tasks and time entries");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for project_spend_ledger: {}", e.getMessage());
+            available = false;
+        }
+    }
+
+    /**
+     * Whether reads can be served from the ledger (table present and feature enabled).
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Spend per project for several projects at once. Projects without completed
+     * assigned tasks are absent from the result.
+     */
+    public Map<String, BigDecimal> getProjectSpend(Collection<String> projectIds) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        if (projectIds == null || projectIds.isEmpty()) {
+            return result;
+        }
+        namedParameterJdbcTemplate.query(
+            "SELECT project_id, SUM(spend) AS spend FROM project_spend_ledger " +
+            "WHERE project_id IN (:projectIds) GROUP BY project_id",
+            new MapSqlParameterSource("projectIds", projectIds),
+            rs -> {
+                BigDecimal spend = rs.getBigDecimal("spend");
+                result.put(rs.getString("project_id"),
+                    spend != null ? spend.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+            });
+        return result;
+    }
+
+    /**
+     * Compare the ledger with a fresh aggregate of the source tables and, if requested,
+     * recompute every drifted (project, assignee) row.
+     *
+     * @return summary with the number of drifted and repaired rows
+     */
+    @Transactional
+    public Map<String, Object> verify(boolean repair) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!available) {
+            result.put("skipped", "ledger not available");
+            return result;
+        }
+        List<String[]> drifted = new ArrayList<>();
+        jdbcTemplate.query(DRIFT_SQL, rs -> {
+            drifted.add(new String[] { rs.getString("project_id"), rs.getString("assignee_id") });
+        });
+        result.put("drifted", drifted.size());
+        if (repair && !drifted.isEmpty()) {
+            for (String[] key : drifted) {
+                jdbcTemplate.queryForList("SELECT refresh_project_spend_ledger(?, ?)", key[0], key[1]);
+            }
+            result.put("repaired", drifted.size());
+        }
+        if (!drifted.isEmpty()) {
+            logger.warn("Project spend ledger verification found {} drifted rows (repair={})", drifted.size(), repair);
+        }
+        return result;
+    }
+
+    /**
+     * Rebuild the whole ledger from the source tables.
+     *
+     * @return number of ledger rows written
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM project_spend_ledger");
+        int rows = jdbcTemplate.update(
+            "INSERT INTO project_spend_ledger (project_id, assignee_id, hours, hourly_rate, spend, task_count) " +
+            "SELECT src.project_id, src.assignee_id, src.hours, COALESCE(u.hourly_rate, 0), " +
+            "src.hours * COALESCE(u.hourly_rate, 0), src.task_count " +
+            "FROM (" + SOURCE_SQL + ") src LEFT JOIN users u ON u.id = src.assignee_id");
+        available = true;
+        logger.info("Rebuilt project spend ledger with {} rows", rows);
+        return rows;
+    }
+
+    @Scheduled(cron = "${app.project-spend-ledger.verify-cron:0 45 2 * * *}")
+    @Transactional
+    public void scheduledVerify() {
+        try {
+            verify(true);
+        } catch (Exception e) {
+            logger.error("Project spend ledger verification failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sprintsync.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sprintsync.api.dto.TeamMemberDto;
+import com.sprintsync.api.entity.enums.ExperienceLevel;
+import com.sprintsync.api.repository.ProjectTeamMemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds project team rosters (team member DTOs) from a single joined query over
+ * project_team_members, users and departments, for one project or for all projects.
+ * Skills are stored on the user as a JSON array string; they are parsed once per user
+ * version (updated_at) and reused across memberships and requests.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("null")
+public class ProjectTeamRosterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectTeamRosterService.class);
+
+    private static final String[] DEFAULT_SKILLS = new String[]{"General"};
+
+    private final ProjectTeamMemberRepository projectTeamMemberRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Parsed skills per user, valid while the user's version and raw skills are unchanged */
+    private final Cache<String, ParsedSkills> skillsByUser = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .build();
+
+    @Autowired
+    public ProjectTeamRosterService(ProjectTeamMemberRepository projectTeamMemberRepository, ObjectMapper objectMapper) {
+        this.projectTeamMemberRepository = projectTeamMemberRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Team members of one project.
+     */
+    public List<TeamMemberDto> getProjectRoster(String projectId) {
+        return toDtos(projectTeamMemberRepository.findRosterByProjectId(projectId));
+    }
+
+    /**
+     * Team memberships across all projects.
+     */
+    public List<TeamMemberDto> getAllRosters() {
+        return toDtos(projectTeamMemberRepository.findRoster());
+    }
+
+    private List<TeamMemberDto> toDtos(List<Object[]> rows) {
+        List<TeamMemberDto> teamMembers = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            try {
+                teamMembers.add(toDto(row));
+            } catch (Exception e) {
+                // Skip the malformed row but keep the rest of the roster
+                logger.warn("Error processing team member row: {}", e.getMessage());
+            }
+        }
+        return teamMembers;
+    }
+
+    private TeamMemberDto toDto(Object[] row) {
+        String role = (String) row[0];
+        Boolean isTeamLead = (Boolean) row[1];
+        Integer allocationPercentage = (Integer) row[2];
+        String userId = (String) row[3];
+        String name = (String) row[4];
+        BigDecimal hourlyRate = (BigDecimal) row[5];
+        ExperienceLevel experience = (ExperienceLevel) row[6];
+        String avatarUrl = (String) row[7];
+        String skills = (String) row[8];
+        LocalDateTime userVersion = (LocalDateTime) row[9];
+        String departmentName = (String) row[10];
+
+        TeamMemberDto dto = new TeamMemberDto();
+        dto.setId(userId != null ? userId : "");
+        dto.setName(name != null ? name : "Unknown User");
+        dto.setRole(role != null ? role : "developer");
+        dto.setIsTeamLead(isTeamLead != null ? isTeamLead : false);
+        dto.setAvailability(allocationPercentage != null ? allocationPercentage : 100);
+        dto.setHourlyRate(hourlyRate != null ? hourlyRate.doubleValue() : 0.0);
+        dto.setExperience(experience != null ? experience.name() : "mid");
+        dto.setAvatar(avatarUrl);
+
+        // Default values for fields not tracked on the roster
+        dto.setWorkload(0);
+        dto.setPerformance(85);
+
+        dto.setSkills(getSkills(userId, userVersion, skills));
+        dto.setDepartment(departmentName != null ? departmentName : "Unassigned");
+        return dto;
+    }
+
+    private String[] getSkills(String userId, LocalDateTime userVersion, String rawSkills) {
+        if (rawSkills == null || rawSkills.trim().isEmpty()) {
+            return DEFAULT_SKILLS;
+        }
+        if (userId == null) {
+            return parseSkills(rawSkills);
+        }
+        ParsedSkills cached = skillsByUser.getIfPresent(userId);
+        if (cached != null && cached.matches(userVersion, rawSkills)) {
+            return cached.skills;
+        }
+        String[] parsed = parseSkills(rawSkills);
+        skillsByUser.put(userId, new ParsedSkills(userVersion, rawSkills, parsed));
+        return parsed;
+    }
+
+    /**
+     * Parse a skills JSON array; a value that is not an array is treated as a single skill.
+     */
+    private String[] parseSkills(String rawSkills) {
+        String skillsJson = rawSkills.trim();
+        if (!skillsJson.startsWith("[") || !skillsJson.endsWith("]")) {
+            return new String[]{skillsJson};
+        }
+        try {
+            return objectMapper.readValue(skillsJson, String[].class);
+        } catch (Exception e) {
+            // Not valid JSON: fall back to splitting the bracketed list
+            String skillsStr = skillsJson.substring(1, skillsJson.length() - 1);
+            String[] skillsArray = skillsStr.split(",");
+            for (int i = 0; i < skillsArray.length; i++) {
+                skillsArray[i] = skillsArray[i].trim().replaceAll("^\"|\"$", "");
+            }
+            return skillsArray;
+        }
+    }
+
+    private static final class ParsedSkills {
+        private final LocalDateTime version;
+        private final String raw;
+        private final String[] skills;
+
+        private ParsedSkills(LocalDateTime version, String raw, String[] skills) {
+            this.version = version;
+            this.raw = raw;
+            this.skills = skills;
+        }
+
+        /** The raw comparison also covers writes that bypass the updated_at audit timestamp */
+        private boolean matches(LocalDateTime otherVersion, String otherRaw) {
+            return Objects.equals(version, otherVersion) && raw.equals(otherRaw);
+        }
+    }
+}
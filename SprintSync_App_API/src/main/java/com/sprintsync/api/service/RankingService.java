@@ -0,0 +1,488 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.util.FractionalRank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fractional ranking for board lanes, task cards and backlog stories (add_fractional_rank_columns.sql).
+ *
+ * Items are ordered by sort_rank within their project. Moving an item writes one key between its new
+ * neighbours, so a drag-and-drop is a single-row update whatever the size of the list. Keys grow when
+ * items keep landing in the same gap; such projects are re-spread by the scheduled rebalancer, which
+ * also backfills rows created before ranking existed, in their old display_order / order_index order.
+ * Rank writers of one project are serialized by a transaction-scoped advisory lock.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class RankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingService.class);
+
+    /**
+     * Ranked tables, with the legacy ordering used for unranked rows and ties.
+     */
+    public enum Scope {
+        LANE("workflow_lanes", "display_order"),
+        TASK("tasks", "order_index, task_number"),
+        STORY("stories", "order_index");
+
+        private final String table;
+        private final String legacyOrder;
+
+        Scope(String table, String legacyOrder) {
+            this.table = table;
+            this.legacyOrder = legacyOrder;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Projects whose keys passed the soft length limit, per scope */
+    private final Map<Scope, Set<String>> longRankProjects = new EnumMap<>(Scope.class);
+
+    @Value("${app.ranking.max-rank-length:24}")
+    private int maxRankLength;
+
+    @Value("${app.ranking.hard-rank-length:128}")
+    private int hardRankLength;
+
+    @Value("${app.ranking.rebalance-batch:50}")
+    private int rebalanceBatch;
+
+    @Autowired
+    public RankingService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Scope scope : Scope.values()) {
+            longRankProjects.put(scope, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Key placing a new item after the last ranked item of its project. Takes the project's rank lock
+     * before reading the last key, so concurrent inserts into one project cannot pick the same key;
+     * the lock is held until the caller's transaction ends, i.e. until the new item is written.
+     *
+     * @param scope the ranked table
+     * @param projectId the project ID, null giving a first key
+     * @return the rank to store with the new item
+     */
+    public String rankAfterLast(Scope scope, String projectId) {
+        return FractionalRank.between(lastRank(scope, projectId), null);
+    }
+
+    /**
+     * Keys placing a block of new items, in order, after the last ranked item of their project.
+     * Locks like {@link #rankAfterLast(Scope, String)}.
+     *
+     * @param scope the ranked table
+     * @param projectId the project ID, null giving keys from the start
+     * @param count the number of new items
+     * @return the ranks to store with the new items
+     */
+    public List<String> ranksAfterLast(Scope scope, String projectId, int count) {
+        return FractionalRank.spreadAfter(lastRank(scope, projectId), count);
+    }
+
+    private String lastRank(Scope scope, String projectId) {
+        if (projectId == null) {
+            return null;
+        }
+        lockGroup(scope, projectId);
+        return jdbcTemplate.queryForObject(
+            "SELECT MAX(sort_rank) FROM " + scope.table + " WHERE project_id = ?", String.class, projectId);
+    }
+
+    /**
+     * Key placing a new task after the last ranked task of its story's project.
+     *
+     * @param storyId the story the task belongs to
+     * @return the rank to store with the new task
+     */
+    public String rankAfterLastTaskOfStory(String storyId) {
+        List<String> projectIds = jdbcTemplate.queryForList(
+            "SELECT project_id FROM stories WHERE id = ?", String.class, storyId);
+        return rankAfterLast(Scope.TASK, projectIds.isEmpty() ? null : projectIds.get(0));
+    }
+
+    /**
+     * Move an item between two neighbours of the same project. Either neighbour may be omitted: the
+     * other side is then the neighbour's current successor (or predecessor), or the end of the list.
+     *
+     * @param scope the ranked table
+     * @param id the item to move
+     * @param previousId the item that should directly precede it, or null
+     * @param nextId the item that should directly follow it, or null
+     * @return the item's new rank
+     * @throws IllegalArgumentException if an item is missing, no neighbour is given, or they span projects
+     */
+    @Transactional
+    public String move(Scope scope, String id, String previousId, String nextId) {
+        if (previousId == null && nextId == null) {
+            throw new IllegalArgumentException("previousId or nextId is required");
+        }
+        if (id.equals(previousId) || id.equals(nextId)) {
+            throw new IllegalArgumentException("An item cannot be moved next to itself");
+        }
+        List<String> ids = new ArrayList<>();
+        ids.add(id);
+        if (previousId != null) {
+            ids.add(previousId);
+        }
+        if (nextId != null) {
+            ids.add(nextId);
+        }
+
+        String projectId = projectOf(scope, id);
+        if (projectId == null) {
+            throw new IllegalArgumentException("Item " + id + " has no project to be ranked in");
+        }
+        lockGroup(scope, projectId);
+        Map<String, String[]> rows = lockRows(scope, ids);
+        for (String neighbourId : ids) {
+            if (!projectId.equals(rows.get(neighbourId)[0])) {
+                throw new IllegalArgumentException("Item " + neighbourId + " belongs to another project");
+            }
+        }
+
+        // Unranked rows have no place to move between yet, and ties have no gap: rank the project first
+        boolean rebalanced = false;
+        if (hasNullRank(rows)) {
+            rebalanceGroup(scope, projectId);
+            rows = lockRows(scope, ids);
+            rebalanced = true;
+        }
+        String current = rows.get(id)[1];
+        String[] bounds = bounds(scope, projectId, id, rank(rows, previousId), rank(rows, nextId));
+        if (!rebalanced && (!inOrder(bounds) || exceeds(bounds, hardRankLength))) {
+            rebalanceGroup(scope, projectId);
+            rows = lockRows(scope, ids);
+            current = rows.get(id)[1];
+            bounds = bounds(scope, projectId, id, rank(rows, previousId), rank(rows, nextId));
+        }
+        if (!inOrder(bounds)) {
+            throw new IllegalArgumentException("Items " + previousId + " and " + nextId + " are not adjacent in order");
+        }
+
+        // Already in place: nothing to write
+        if ((bounds[0] == null || bounds[0].compareTo(current) < 0)
+                && (bounds[1] == null || current.compareTo(bounds[1]) < 0)) {
+            return current;
+        }
+
+        String rank = FractionalRank.between(bounds[0], bounds[1]);
+        jdbcTemplate.update("UPDATE " + scope.table + " SET sort_rank = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?",
+            rank, id);
+        if (rank.length() > maxRankLength) {
+            longRankProjects.get(scope).add(projectId);
+        }
+        return rank;
+    }
+
+    /**
+     * Put a list of items in the given order, re-ranking only the items that moved: the longest run
+     * that is already in order keeps its keys and the others get keys in the gaps around it.
+     *
+     * @param scope the ranked table
+     * @param ids the items in their new order, all of one project
+     * @return the new ranks of the items whose rank changed, by ID
+     * @throws IllegalArgumentException if an item is missing or the items span projects
+     */
+    @Transactional
+    public Map<String, String> reorder(Scope scope, List<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (new LinkedHashSet<>(ids).size() != ids.size()) {
+            throw new IllegalArgumentException("Duplicate IDs in reorder list");
+        }
+        String projectId = projectOf(scope, ids.get(0));
+        if (projectId != null) {
+            lockGroup(scope, projectId);
+        }
+        Map<String, String[]> rows = lockRows(scope, ids);
+        for (String id : ids) {
+            String itemProject = rows.get(id)[0];
+            if (itemProject == null ? projectId != null : !itemProject.equals(projectId)) {
+                throw new IllegalArgumentException("Item " + id + " belongs to another project");
+            }
+        }
+        if (projectId != null && hasNullRank(rows)) {
+            rebalanceGroup(scope, projectId);
+            rows = lockRows(scope, ids);
+        }
+
+        List<String> ranks = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            ranks.add(rows.get(id)[1]);
+        }
+        List<String> reranked = rerank(ranks);
+        if (reranked == null && projectId != null) {
+            // Keys in the gaps got too long: spread the project and place the items again
+            rebalanceGroup(scope, projectId);
+            rows = lockRows(scope, ids);
+            ranks.clear();
+            for (String id : ids) {
+                ranks.add(rows.get(id)[1]);
+            }
+            reranked = rerank(ranks);
+        }
+        if (reranked == null) {
+            reranked = FractionalRank.spread(ids.size());
+        }
+
+        Map<String, String> changed = new LinkedHashMap<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (!reranked.get(i).equals(ranks.get(i))) {
+                changed.put(ids.get(i), reranked.get(i));
+                updates.add(new Object[] { reranked.get(i), ids.get(i) });
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE " + scope.table + " SET sort_rank = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?", updates);
+        }
+        return changed;
+    }
+
+    /**
+     * Re-spread the ranks of one project, keeping its current order.
+     *
+     * @param scope the ranked table
+     * @param projectId the project ID
+     * @return the number of rows whose rank changed
+     */
+    @Transactional
+    public int rebalance(Scope scope, String projectId) {
+        return rebalanceGroup(scope, projectId);
+    }
+
+    /**
+     * Backfill unranked rows and re-spread projects whose keys grew long, a bounded number of projects per run.
+     */
+    @Scheduled(fixedDelayString = "${app.ranking.rebalance-ms:300000}",
+               initialDelayString = "${app.ranking.rebalance-initial-delay-ms:60000}")
+    public void rebalancePending() {
+        for (Scope scope : Scope.values()) {
+            Set<String> projectIds = new LinkedHashSet<>();
+            Iterator<String> pending = longRankProjects.get(scope).iterator();
+            while (pending.hasNext() && projectIds.size() < rebalanceBatch) {
+                projectIds.add(pending.next());
+                pending.remove();
+            }
+            try {
+                if (projectIds.size() < rebalanceBatch) {
+                    projectIds.addAll(jdbcTemplate.queryForList(
+                        "SELECT DISTINCT project_id FROM " + scope.table +
+                        " WHERE sort_rank IS NULL AND project_id IS NOT NULL LIMIT ?",
+                        String.class, rebalanceBatch - projectIds.size()));
+                }
+            } catch (Exception e) {
+                logger.warn("Could not look up unranked {}: {}", scope.table, e.getMessage());
+            }
+            for (String projectId : projectIds) {
+                try {
+                    Integer changed = transactionTemplate.execute(status -> rebalanceGroup(scope, projectId));
+                    logger.debug("Rebalanced {} ranks in {} for project {}", changed, scope.table, projectId);
+                } catch (Exception e) {
+                    logger.warn("Failed to rebalance {} for project {}: {}", scope.table, projectId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Give a project's rows evenly spread keys in their current order: ranked rows first, then
+     * unranked rows in legacy order.
+     */
+    private int rebalanceGroup(Scope scope, String projectId) {
+        lockGroup(scope, projectId);
+        jdbcTemplate.queryForList("SELECT id FROM " + scope.table + " WHERE project_id = ? ORDER BY id FOR UPDATE",
+            String.class, projectId);
+        List<String[]> ordered = jdbcTemplate.query(
+            "SELECT id, sort_rank FROM " + scope.table + " WHERE project_id = ? " +
+            "ORDER BY sort_rank NULLS LAST, " + scope.legacyOrder + ", created_at, id",
+            (rs, i) -> new String[] { rs.getString("id"), rs.getString("sort_rank") }, projectId);
+
+        List<String> spread = FractionalRank.spread(ordered.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!spread.get(i).equals(ordered.get(i)[1])) {
+                updates.add(new Object[] { spread.get(i), ordered.get(i)[0] });
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + scope.table + " SET sort_rank = ? WHERE id = ?", updates);
+        }
+        return updates.size();
+    }
+
+    /**
+     * Serialize rank writers of one project and scope until the transaction ends. Every path that
+     * writes ranks (move, reorder, rebalance, keys for new items) takes this lock before any row lock,
+     * so a move that escalates to a whole-project rebalance never waits on rows another rank writer
+     * holds. Re-entrant within a transaction.
+     */
+    private void lockGroup(Scope scope, String projectId) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?), hashtext(?))", rs -> {
+        }, scope.table, projectId);
+    }
+
+    /**
+     * The project of an item, read without locking to pick the group lock.
+     */
+    private String projectOf(Scope scope, String id) {
+        List<String> projectIds = jdbcTemplate.queryForList(
+            "SELECT project_id FROM " + scope.table + " WHERE id = ?", String.class, id);
+        if (projectIds.isEmpty()) {
+            throw new IllegalArgumentException("Item not found with ID: " + id);
+        }
+        return projectIds.get(0);
+    }
+
+    /**
+     * Lock rows by ID, as id -> [project_id, sort_rank]. Callers hold the project's group lock.
+     */
+    private Map<String, String[]> lockRows(Scope scope, List<String> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Map<String, String[]> rows = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, project_id, sort_rank FROM " + scope.table + " WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+            rs -> {
+                rows.put(rs.getString("id"), new String[] { rs.getString("project_id"), rs.getString("sort_rank") });
+            }, ids.toArray());
+        for (String id : ids) {
+            if (!rows.containsKey(id)) {
+                throw new IllegalArgumentException("Item not found with ID: " + id);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The keys to move between; a missing side is the given neighbour's current successor or predecessor.
+     */
+    private String[] bounds(Scope scope, String projectId, String id, String previousRank, String nextRank) {
+        String low = previousRank;
+        String high = nextRank;
+        if (low != null && high == null) {
+            high = jdbcTemplate.queryForObject("SELECT MIN(sort_rank) FROM " + scope.table +
+                " WHERE project_id = ? AND sort_rank > ? AND id <> ?", String.class, projectId, low, id);
+        } else if (low == null && high != null) {
+            low = jdbcTemplate.queryForObject("SELECT MAX(sort_rank) FROM " + scope.table +
+                " WHERE project_id = ? AND sort_rank < ? AND id <> ?", String.class, projectId, high, id);
+        }
+        return new String[] { low, high };
+    }
+
+    /**
+     * Keys for a list in its new order, keeping the longest increasing run of current keys. Returns
+     * null when a new key would pass the hard length limit.
+     */
+    private List<String> rerank(List<String> ranks) {
+        boolean[] keep = longestIncreasingRun(ranks);
+        List<String> result = new ArrayList<>(ranks);
+        String previous = null;
+        for (int i = 0; i < ranks.size(); i++) {
+            if (keep[i]) {
+                previous = ranks.get(i);
+                continue;
+            }
+            String next = null;
+            for (int j = i + 1; j < ranks.size(); j++) {
+                if (keep[j]) {
+                    next = ranks.get(j);
+                    break;
+                }
+            }
+            previous = FractionalRank.between(previous, next);
+            if (previous.length() > hardRankLength) {
+                return null;
+            }
+            result.set(i, previous);
+        }
+        return result;
+    }
+
+    /**
+     * Marks the longest strictly increasing subsequence of keys (null keys never kept), in O(n log n).
+     */
+    private static boolean[] longestIncreasingRun(List<String> ranks) {
+        int n = ranks.size();
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            String rank = ranks.get(i);
+            if (rank == null) {
+                continue;
+            }
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ranks.get(tails[mid]).compareTo(rank) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            parent[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = parent[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+
+    private static String rank(Map<String, String[]> rows, String id) {
+        return id == null ? null : rows.get(id)[1];
+    }
+
+    private static boolean hasNullRank(Map<String, String[]> rows) {
+        for (String[] row : rows.values()) {
+            if (row[1] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean inOrder(String[] bounds) {
+        return bounds[0] == null || bounds[1] == null || bounds[0].compareTo(bounds[1]) < 0;
+    }
+
+    private static boolean exceeds(String[] bounds, int length) {
+        return (bounds[0] != null && bounds[0].length() >= length) || (bounds[1] != null && bounds[1].length() >= length);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -42,6 +43,9 @@ public class ReportsService {
     @Autowired
     private TimeEntryRepository timeEntryRepository;
 
+    @Autowired
+    private TimeTrackingAnalytics timeTrackingAnalytics;
+
 
     /**
      * Generate project summary report
@@ -456,13 +460,38 @@ public class ReportsService {
      */
     public Map<String, Object> generateTimeTrackingReport() {
         Map<String, Object> report = new HashMap<>();
-        
-        List<TimeEntry> allTimeEntries = timeEntryRepository.findAll();
-        report.put("totalTimeEntries", allTimeEntries.size());
-        
-        Map<String, Long> timeByUser = allTimeEntries.stream()
-            .collect(Collectors.groupingBy(TimeEntry::getUserId, Collectors.counting()));
+        Map<String, Long> timeByUser = new LinkedHashMap<>();
+        Map<String, Object> hoursByUser = new LinkedHashMap<>();
+        
+        if (timeTrackingAnalytics.isReady()) {
+            Map<String, Object> summary = timeTrackingAnalytics.aggregate(
+                TimeTrackingAnalytics.GroupBy.USER, null, null, null, null, null);
+            report.put("totalTimeEntries", summary.get("totalEntries"));
+            report.put("totalHours", summary.get("totalHours"));
+            report.put("billableHours", summary.get("billableHours"));
+            for (Object group : (List<?>) summary.get("groups")) {
+                Map<?, ?> row = (Map<?, ?>) group;
+                timeByUser.put((String) row.get("key"), (Long) row.get("entries"));
+                hoursByUser.put((String) row.get("key"), row.get("hours"));
+            }
+        } else {
+            // Snapshot still loading: aggregate in the database instead of loading every entry
+            long totalEntries = 0;
+            BigDecimal totalHours = BigDecimal.ZERO;
+            BigDecimal billableHours = BigDecimal.ZERO;
+            for (Object[] row : timeEntryRepository.summarizeByUser()) {
+                timeByUser.put((String) row[0], (Long) row[1]);
+                hoursByUser.put((String) row[0], row[2]);
+                totalEntries += (Long) row[1];
+                totalHours = totalHours.add(new BigDecimal(row[2].toString()));
+                billableHours = billableHours.add(new BigDecimal(row[3].toString()));
+            }
+            report.put("totalTimeEntries", totalEntries);
+            report.put("totalHours", totalHours);
+            report.put("billableHours", billableHours);
+        }
         report.put("timeEntriesByUser", timeByUser);
+        report.put("hoursByUser", hoursByUser);
         
         return report;
     }
@@ -480,6 +509,16 @@ public class ReportsService {
         return report;
     }
 
+    /**
+     * Generate time tracking analytics: time entries filtered and summed per user, project, task, day or month.
+     * Answered from the in-memory columnar snapshot.
+     */
+    public Map<String, Object> generateTimeTrackingAnalytics(String groupBy, String userId, String projectId,
+                                                             LocalDate startDate, LocalDate endDate, Boolean billable) {
+        return timeTrackingAnalytics.aggregate(TimeTrackingAnalytics.GroupBy.fromValue(groupBy),
+            userId, projectId, startDate, endDate, billable);
+    }
+
     /**
      * Generate date range report
      */
@@ -1,11 +1,13 @@
 package com.sprintsync.api.service;
 
+import com.sprintsync.api.dto.ParentStorySummary;
 import com.sprintsync.api.entity.Story;
 import com.sprintsync.api.entity.Task;
 import com.sprintsync.api.entity.enums.StoryPriority;
 import com.sprintsync.api.entity.enums.StoryStatus;
 import com.sprintsync.api.entity.enums.TaskStatus;
 import com.sprintsync.api.repository.StoryRepository;
+import com.sprintsync.api.util.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +42,7 @@ public class StoryService {
     private NotificationService notificationService;
     private TaskService taskService;
     private ActivityLogService activityLogService;
+    private RankingService rankingService;
 
     @Autowired
     public StoryService(StoryRepository storyRepository, IdGenerationService idGenerationService) {
@@ -62,6 +65,11 @@ public class StoryService {
         this.activityLogService = activityLogService;
     }
 
+    @Autowired
+    public void setRankingService(RankingService rankingService) {
+        this.rankingService = rankingService;
+    }
+
     /**
      * Create a new story.
      * 
@@ -73,6 +81,8 @@ public class StoryService {
         if (story.getId() == null) {
             story.setId(idGenerationService.generateStoryId());
         }
+        // New stories go after the last story of the project
+        story.setSortRank(rankingService.rankAfterLast(RankingService.Scope.STORY, story.getProjectId()));
         return storyRepository.save(story);
     }
 
@@ -151,9 +161,23 @@ public class StoryService {
      */
     @Transactional(readOnly = true)
     public List<Story> findStoriesByProject(String projectId) {
+        return findStoriesByProject(projectId, FieldSelection.all());
+    }
+
+    /**
+     * Find stories by project ID, resolving parent story details only when selected.
+     * 
+     * @param projectId the project ID
+     * @param fields the selected response fields
+     * @return list of stories for the specified project
+     */
+    @Transactional(readOnly = true)
+    public List<Story> findStoriesByProject(String projectId, FieldSelection fields) {
         List<Story> stories = storyRepository.findByProjectId(projectId);
         // Enrich stories with parent story details
-        enrichStoriesWithParentDetails(stories);
+        if (fields.includesAny("parentStory", "parentStoryTitle")) {
+            enrichStoriesWithParentDetails(stories);
+        }
         return stories;
     }
 
@@ -166,41 +190,63 @@ public class StoryService {
      */
     @Transactional(readOnly = true)
     public List<Story> findStoriesBySprint(String sprintId) {
+        return findStoriesBySprint(sprintId, FieldSelection.all());
+    }
+
+    /**
+     * Find stories by sprint ID, resolving parent story details only when selected.
+     * 
+     * @param sprintId the sprint ID
+     * @param fields the selected response fields
+     * @return list of stories in the specified sprint
+     */
+    @Transactional(readOnly = true)
+    public List<Story> findStoriesBySprint(String sprintId, FieldSelection fields) {
         List<Story> stories = storyRepository.findBySprintId(sprintId);
         // Enrich stories with parent story details
-        enrichStoriesWithParentDetails(stories);
+        if (fields.includesAny("parentStory", "parentStoryTitle")) {
+            enrichStoriesWithParentDetails(stories);
+        }
         return stories;
     }
 
     /**
      * Enrich stories with parent story details.
      * This helps the frontend display parent story information correctly.
-     * Checks both stories and backlog_stories tables for parent story.
+     * Parents are resolved in one query across the stories and backlog_stories tables,
+     * and stories sharing a parent share the same compact summary instance.
      * 
      * @param stories list of stories to enrich
      */
     private void enrichStoriesWithParentDetails(List<Story> stories) {
-        // First, try to find parent stories in the stories table
+        java.util.Set<String> parentIds = new java.util.HashSet<>();
         for (Story story : stories) {
             if (story.getParentId() != null && !story.getParentId().isEmpty()) {
-                try {
-                    Optional<Story> parentStoryOpt = storyRepository.findById(story.getParentId());
-                    if (parentStoryOpt.isPresent()) {
-                        Story parentStory = parentStoryOpt.get();
-                        story.setParentStory(parentStory);
-                        story.setParentStoryTitle(parentStory.getTitle());
-                    }
-                    // If not found in stories table, parent might be in backlog - handled separately if needed
-                } catch (Exception e) {
-                    // Log error but don't fail the request
-                    System.err.println("Error fetching parent story for story " + story.getId() + ": " + e.getMessage());
-                }
+                parentIds.add(story.getParentId());
+            }
+        }
+        if (parentIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, ParentStorySummary> parentsById = new HashMap<>();
+        try {
+            for (Object[] row : storyRepository.findStorySummariesByIds(parentIds)) {
+                String id = (String) row[0];
+                parentsById.putIfAbsent(id, new ParentStorySummary(id, (String) row[1], (String) row[2], (String) row[3]));
+            }
+        } catch (Exception e) {
+            // Log error but don't fail the request
+            System.err.println("Error fetching parent stories: " + e.getMessage());
+            return;
+        }
+
+        for (Story story : stories) {
+            ParentStorySummary parent = story.getParentId() != null ? parentsById.get(story.getParentId()) : null;
+            if (parent != null) {
+                story.setParentStory(parent);
             }
         }
-        
-        // For stories where parent was not found in stories table, check backlog_stories
-        // Note: This requires BacklogStoryRepository to be injected if needed
-        // For now, parent stories in backlog will show null title, which frontend can handle
     }
 
     /**
@@ -345,7 +391,7 @@ public class StoryService {
                 try {
                     String title = "New Story Assignment";
                     String message = "You have been assigned to story: " + story.getTitle();
-                    notificationService.createNotification(
+                    notificationService.notify(
                         assigneeId,
                         title,
                         message,
@@ -365,6 +411,24 @@ public class StoryService {
         }
     }
 
+    /**
+     * Move a story between two neighbouring stories of its project, updating only the moved story.
+     * 
+     * @param id the story ID
+     * @param previousId the story that should precede it, or null
+     * @param nextId the story that should follow it, or null
+     * @return the moved story
+     * @throws IllegalArgumentException if a story is not found or no neighbour is given
+     */
+    public Story moveStory(String id, String previousId, String nextId) {
+        String rank = rankingService.move(RankingService.Scope.STORY, id, previousId, nextId);
+        Story story = storyRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Story not found with ID: " + id));
+        // sort_rank is written outside JPA, the loaded entity may predate it
+        story.setSortRank(rank);
+        return story;
+    }
+
     /**
      * Move story to sprint.
      * 
@@ -576,6 +640,7 @@ public class StoryService {
                     
                     activityLogService.logActivity(
                         userId,
+                        savedStory.getProjectId(),
                         "task",
                         savedTask.getId(),
                         "pulled_to_sprint",
@@ -614,6 +679,7 @@ public class StoryService {
             
             activityLogService.logActivity(
                 userId,
+                savedStory.getProjectId(),
                 "story",
                 savedStory.getId(),
                 "pulled_to_sprint",
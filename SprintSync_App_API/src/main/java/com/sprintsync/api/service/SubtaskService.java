@@ -258,18 +258,14 @@ public class SubtaskService {
      * Get subtasks by sprint ID
      */
     public List<Subtask> getSubtasksBySprintId(String sprintId) {
-        // Note: Subtask entity doesn't have sprintId field - subtasks are related to sprints through tasks and stories
-        // This would need to be implemented by finding tasks by sprintId first, then subtasks by taskId
-        return Collections.emptyList();
+        return subtaskRepository.findBySprintId(sprintId);
     }
 
     /**
      * Get subtasks by project ID
      */
     public List<Subtask> getSubtasksByProjectId(String projectId) {
-        // Note: Subtask entity doesn't have projectId field - subtasks are related to projects through tasks and stories
-        // This would need to be implemented by finding stories by projectId first, then tasks by storyId, then subtasks by taskId
-        return Collections.emptyList();
+        return subtaskRepository.findByProjectId(projectId);
     }
 
     /**
@@ -388,9 +384,7 @@ public class SubtaskService {
      * Get subtasks by epic ID
      */
     public List<Subtask> getSubtasksByEpicId(String epicId) {
-        // Note: Subtask entity doesn't have epicId field - subtasks are related to epics through tasks and stories
-        // This would need to be implemented by finding stories by epicId first, then tasks by storyId, then subtasks by taskId
-        return Collections.emptyList();
+        return subtaskRepository.findByEpicId(epicId);
     }
 
     /**
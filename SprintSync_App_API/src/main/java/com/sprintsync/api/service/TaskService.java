@@ -1,13 +1,13 @@
 package com.sprintsync.api.service;
 
 import com.sprintsync.api.entity.Task;
-import com.sprintsync.api.entity.Notification;
 import com.sprintsync.api.entity.enums.TaskStatus;
 import com.sprintsync.api.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -32,6 +32,12 @@ public class TaskService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private BoardSyncHub boardSyncHub;
+
     /**
      * Get all tasks with pagination
      */
@@ -43,21 +49,15 @@ public class TaskService {
      * Get all tasks without pagination.
      */
     public List<Task> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        tasks.forEach(this::populateRawStatus);
-        return tasks;
+        return taskRepository.findAll();
     }
 
     /**
      * Get task by ID
-     * Preserves custom lane status values by fetching raw status from database
+     * Custom lane status values are hydrated with the entity (see Task#hydrateRawStatus)
      */
     public Task getTaskById(String id) {
-        Task task = taskRepository.findById(id).orElse(null);
-        if (task != null) {
-            populateRawStatus(task);
-        }
-        return task;
+        return taskRepository.findById(id).orElse(null);
     }
 
     /**
@@ -85,6 +85,11 @@ public class TaskService {
             task.setTaskNumber(maxTaskNumber + 1);
         }
         
+        // New cards go after the last card of the project
+        if (task.getStoryId() != null) {
+            task.setSortRank(rankingService.rankAfterLastTaskOfStory(task.getStoryId()));
+        }
+        
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
         Task savedTask = taskRepository.save(task);
@@ -94,7 +99,7 @@ public class TaskService {
             try {
                 String title = "New Task Assignment";
                 String message = "You have been assigned to task: " + savedTask.getTitle();
-                notificationService.createNotification(
+                notificationService.notify(
                     savedTask.getAssigneeId(),
                     title,
                     message,
@@ -130,8 +135,7 @@ public class TaskService {
                     try {
                         String title = "New Task Assignment";
                         String message = "You have been assigned to task: " + task.getTitle();
-                        System.out.println("Creating notification for user: " + newAssigneeId + ", task: " + task.getTitle());
-                        Notification createdNotification = notificationService.createNotification(
+                        notificationService.notify(
                             newAssigneeId,
                             title,
                             message,
@@ -139,7 +143,6 @@ public class TaskService {
                             "task",
                             task.getId()
                         );
-                        System.out.println("Notification created successfully: " + createdNotification.getId());
                     } catch (Exception e) {
                         // Log error but don't fail the update
                         System.err.println("Failed to create notification for task assignment: " + e.getMessage());
@@ -167,15 +170,10 @@ public class TaskService {
 
     /**
      * Get tasks by story ID
-     * Preserves custom lane status values by fetching raw status from database
+     * Custom lane status values are hydrated with the entities (see Task#hydrateRawStatus)
      */
     public List<Task> getTasksByStoryId(String storyId) {
-        List<Task> tasks = taskRepository.findByStoryId(storyId);
-        
-        // For each task, get the raw status from database and set it if it's a custom lane status
-        tasks.forEach(this::populateRawStatus);
-        
-        return tasks;
+        return taskRepository.findByStoryId(storyId);
     }
 
     /**
@@ -209,11 +207,32 @@ public class TaskService {
             Task task = optionalTask.get();
             task.setStatus(status);
             task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
+            Task savedTask = taskRepository.save(task);
+            publishCardChange(savedTask, "status", savedTask.getStatusAsString());
+            return savedTask;
         }
         return null;
     }
     
+    /**
+     * Move a task card between two neighbouring cards, optionally into another lane (status).
+     * Only the moved task is written (see RankingService#move).
+     */
+    @Transactional
+    public Task moveTask(String id, String previousId, String nextId, String statusValue) {
+        if (statusValue != null && updateTaskStatus(id, statusValue) == null) {
+            return null;
+        }
+        String rank = rankingService.move(RankingService.Scope.TASK, id, previousId, nextId);
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task != null) {
+            // sort_rank is written outside JPA, the loaded entity may predate it
+            task.setSortRank(rank);
+            publishCardChange(task, "sortRank", rank);
+        }
+        return task;
+    }
+    
     /**
      * Update task status with custom string value (for custom workflow lanes)
      */
@@ -226,12 +245,15 @@ public class TaskService {
                 TaskStatus status = TaskStatus.fromValue(statusValue);
                 task.setStatus(status);
                 task.setUpdatedAt(LocalDateTime.now());
-                return taskRepository.save(task);
+                Task savedTask = taskRepository.save(task);
+                publishCardChange(savedTask, "status", savedTask.getStatusAsString());
+                return savedTask;
             } catch (IllegalArgumentException e) {
                 // If it's a custom lane status (starts with "custom_lane_"), 
                 // we need to store it directly in the database using native query
                 // The TaskStatusConverter will handle reading it back
                 taskRepository.updateTaskStatusDirectly(id, statusValue);
+                publishCardChange(task, "status", statusValue);
                 // Return the updated task
                 return taskRepository.findById(id).orElse(null);
             }
@@ -249,14 +271,14 @@ public class TaskService {
             task.setAssigneeId(assigneeId);
             task.setUpdatedAt(LocalDateTime.now());
             Task savedTask = taskRepository.save(task);
+            publishCardChange(savedTask, "assigneeId", assigneeId);
             
             // Create notification for the assigned user
             if (assigneeId != null && !assigneeId.isEmpty()) {
                 try {
                     String title = "New Task Assignment";
                     String message = "You have been assigned to task: " + task.getTitle();
-                    System.out.println("Creating notification for user: " + assigneeId + ", task: " + task.getTitle());
-                    Notification createdNotification = notificationService.createNotification(
+                    notificationService.notify(
                         assigneeId,
                         title,
                         message,
@@ -264,7 +286,6 @@ public class TaskService {
                         "task",
                         task.getId()
                     );
-                    System.out.println("Notification created successfully: " + createdNotification.getId());
                 } catch (Exception e) {
                     // Log error but don't fail the assignment
                     System.err.println("Failed to create notification for task assignment: " + e.getMessage());
@@ -281,14 +302,10 @@ public class TaskService {
      * Update task actual hours (for effort logging)
      */
     public Task updateTaskActualHours(String id, java.math.BigDecimal actualHours) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setActualHours(actualHours);
-            task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
+        if (taskRepository.updateActualHours(id, actualHours) == 0) {
+            return null;
         }
-        return null;
+        return taskRepository.findById(id).orElse(null);
     }
 
     /**
@@ -354,18 +371,14 @@ public class TaskService {
      * Get tasks by sprint ID
      */
     public List<Task> getTasksBySprintId(String sprintId) {
-        // Note: Task entity doesn't have sprintId field - tasks are related to sprints through stories
-        // This would need to be implemented by finding stories by sprintId first, then tasks by storyId
-        return Collections.emptyList();
+        return taskRepository.findBySprintId(sprintId);
     }
 
     /**
      * Get tasks by project ID
      */
     public List<Task> getTasksByProjectId(String projectId) {
-        // Note: Task entity doesn't have projectId field - tasks are related to projects through stories
-        // This would need to be implemented by finding stories by projectId first, then tasks by storyId
-        return Collections.emptyList();
+        return taskRepository.findByProjectId(projectId);
     }
 
     /**
@@ -444,18 +457,14 @@ public class TaskService {
      * Get tasks by epic ID
      */
     public List<Task> getTasksByEpicId(String epicId) {
-        // Note: Task entity doesn't have epicId field - tasks are related to epics through stories
-        // This would need to be implemented by finding stories by epicId first, then tasks by storyId
-        return Collections.emptyList();
+        return taskRepository.findByEpicId(epicId);
     }
 
     /**
      * Get tasks by release ID
      */
     public List<Task> getTasksByReleaseId(String releaseId) {
-        // Note: Task entity doesn't have releaseId field - tasks are related to releases through stories
-        // This would need to be implemented by finding stories by releaseId first, then tasks by storyId
-        return Collections.emptyList();
+        return taskRepository.findByReleaseId(releaseId);
     }
 
     /**
@@ -487,37 +496,9 @@ public class TaskService {
     }
 
     /**
-     * Populate raw status details for a task to preserve custom lane statuses.
+     * Push one changed card field to the clients that have the task's board open
      */
-    private void populateRawStatus(Task task) {
-        if (task == null || task.getId() == null) {
-            return;
-        }
-
-        try {
-            String rawStatus = taskRepository.findStatusById(task.getId());
-            if (rawStatus != null) {
-                if (rawStatus.startsWith("custom_lane_")) {
-                    task.setRawStatus(rawStatus);
-                } else {
-                    try {
-                        TaskStatus enumStatus = TaskStatus.fromValue(rawStatus);
-                        if (!enumStatus.equals(task.getStatus())) {
-                            task.setRawStatus(rawStatus);
-                        }
-                    } catch (IllegalArgumentException e) {
-                        task.setRawStatus(rawStatus);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error getting raw status for task " + task.getId() + ": " + e.getMessage());
-        }
+    private void publishCardChange(Task task, String field, Object value) {
+        boardSyncHub.cardChanged(task.getProjectId(), task.getId(), Collections.singletonMap(field, value));
     }
 }
-
-
-
-
-
-
@@ -0,0 +1,135 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.entity.TimeEntry;
+import com.sprintsync.api.util.JdbcTimestamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Time;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Inserts validated batches of time entries with JDBC batching.
+ * When add_time_entry_batch_rollup.sql is installed the per-row rollup trigger is switched off for
+ * the inserts and the batch is rolled up once afterwards, so every affected task, story, sprint
+ * shard and project shard is updated a single time per submission. Without it the row trigger
+ * handles each insert as usual. Must run inside the caller's transaction.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class TimeEntryBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeEntryBatchWriter.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO time_entries (id, created_at, updated_at, user_id, project_id, story_id, task_id, subtask_id, " +
+        "description, entry_type, hours_worked, work_date, start_time, end_time, is_billable) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean setBasedRollup;
+
+    @Autowired
+    public TimeEntryBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectBatchRollup() {
+        try {
+            String function = jdbcTemplate.queryForObject(
+                "SELECT to_regproc('apply_time_entry_batch')::text", String.class);
+            setBasedRollup = function != null;
+            if (!setBasedRollup) {
+                logger.info("apply_time_entry_batch not found, batch inserts are rolled up row by row");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for apply_time_entry_batch: {}", e.getMessage());
+            setBasedRollup = false;
+        }
+    }
+
+    /**
+     * Lock the given users' time entries against other batch submissions until the transaction ends,
+     * taking the locks in sorted user order so two batches sharing users cannot deadlock. Call before
+     * reading the entries a batch is validated against.
+     */
+    public void lockUsers(Collection<String> userIds) {
+        for (String userId : new TreeSet<>(userIds)) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('time_entries'), hashtext(?))", rs -> {
+            }, userId);
+        }
+    }
+
+    /**
+     * Insert time entries that already carry their IDs and timestamps.
+     */
+    public void insert(List<TimeEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (setBasedRollup) {
+            setBatchMode(true);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getId());
+            JdbcTimestamps.setUtc(ps, 2, entry.getCreatedAt());
+            JdbcTimestamps.setUtc(ps, 3, entry.getUpdatedAt());
+            ps.setString(4, entry.getUserId());
+            ps.setString(5, entry.getProjectId());
+            ps.setString(6, entry.getStoryId());
+            ps.setString(7, entry.getTaskId());
+            ps.setString(8, entry.getSubtaskId());
+            ps.setString(9, entry.getDescription());
+            ps.setString(10, entry.getEntryType().name());
+            ps.setBigDecimal(11, entry.getHoursWorked());
+            ps.setDate(12, Date.valueOf(entry.getWorkDate()));
+            if (entry.getStartTime() != null) {
+                ps.setTime(13, Time.valueOf(entry.getStartTime()));
+            } else {
+                ps.setNull(13, Types.TIME);
+            }
+            if (entry.getEndTime() != null) {
+                ps.setTime(14, Time.valueOf(entry.getEndTime()));
+            } else {
+                ps.setNull(14, Types.TIME);
+            }
+            ps.setBoolean(15, entry.getIsBillable() == null || entry.getIsBillable());
+        });
+        if (setBasedRollup) {
+            setBatchMode(false);
+            String[] ids = entries.stream().map(TimeEntry::getId).toArray(String[]::new);
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                Array idArray = connection.createArrayOf("varchar", ids);
+                try (PreparedStatement ps = connection.prepareStatement("SELECT apply_time_entry_batch(?)")) {
+                    ps.setArray(1, idArray);
+                    ps.execute();
+                } finally {
+                    idArray.free();
+                }
+                return null;
+            });
+        }
+    }
+
+    private void setBatchMode(boolean on) {
+        // Transaction-local, so it never leaks to other users of the pooled connection
+        jdbcTemplate.queryForObject("SELECT set_config('sprintsync.time_entry_batch', ?, true)",
+            String.class, on ? "on" : "off");
+    }
+}
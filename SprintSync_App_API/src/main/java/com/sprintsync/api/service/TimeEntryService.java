@@ -4,6 +4,7 @@ import com.sprintsync.api.entity.TimeEntry;
 import com.sprintsync.api.entity.enums.TimeEntryType;
 import com.sprintsync.api.repository.TimeEntryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,8 +14,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for TimeEntry entity operations.
@@ -30,11 +38,29 @@ public class TimeEntryService {
 
     private final TimeEntryRepository timeEntryRepository;
     private final IdGenerationService idGenerationService;
+    private final ActualHoursRollupService actualHoursRollupService;
+    private final UserDailyHoursService userDailyHoursService;
+    private final TimeEntryBatchWriter timeEntryBatchWriter;
+    private final TimeTrackingAnalytics timeTrackingAnalytics;
+
+    @Value("${app.time-entry.batch.max-entries:200}")
+    private int maxBatchEntries;
+
+    @Value("${app.time-entry.batch.max-daily-hours:24}")
+    private BigDecimal maxDailyHours;
 
     @Autowired
-    public TimeEntryService(TimeEntryRepository timeEntryRepository, IdGenerationService idGenerationService) {
+    public TimeEntryService(TimeEntryRepository timeEntryRepository, IdGenerationService idGenerationService,
+                            ActualHoursRollupService actualHoursRollupService,
+                            UserDailyHoursService userDailyHoursService,
+                            TimeEntryBatchWriter timeEntryBatchWriter,
+                            TimeTrackingAnalytics timeTrackingAnalytics) {
         this.timeEntryRepository = timeEntryRepository;
         this.idGenerationService = idGenerationService;
+        this.actualHoursRollupService = actualHoursRollupService;
+        this.userDailyHoursService = userDailyHoursService;
+        this.timeEntryBatchWriter = timeEntryBatchWriter;
+        this.timeTrackingAnalytics = timeTrackingAnalytics;
     }
 
     /**
@@ -48,7 +74,82 @@ public class TimeEntryService {
         if (timeEntry.getId() == null) {
             timeEntry.setId(idGenerationService.generateTimeEntryId());
         }
-        return timeEntryRepository.save(timeEntry);
+        TimeEntry savedTimeEntry = timeEntryRepository.save(timeEntry);
+        userDailyHoursService.entryAdded(savedTimeEntry);
+        return savedTimeEntry;
+    }
+
+    /**
+     * Submit a batch of time entries, e.g. a week's timesheet, in one transaction.
+     * The whole batch is validated in memory against itself and the users' existing entries of the
+     * same days (one query): overlapping start/end times and days over the daily hours limit are
+     * rejected. Batches of the same users are serialized by a per-user lock taken before that query,
+     * so two concurrent submissions cannot both pass. Valid batches are inserted with JDBC batching
+     * and rolled up once per affected task, story, sprint, project and daily hours row.
+     * 
+     * @param timeEntries the time entries to create
+     * @return the created time entries
+     * @throws IllegalArgumentException listing every validation error if the batch is invalid
+     */
+    public List<TimeEntry> submitTimeEntries(List<TimeEntry> timeEntries) {
+        if (timeEntries == null || timeEntries.isEmpty()) {
+            throw new IllegalArgumentException("At least one time entry is required");
+        }
+        if (timeEntries.size() > maxBatchEntries) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxBatchEntries + " time entries");
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < timeEntries.size(); i++) {
+            validateBatchEntry(timeEntries.get(i), "Entry " + (i + 1), errors);
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        Set<String> userIds = new HashSet<>();
+        LocalDate firstDate = null;
+        LocalDate lastDate = null;
+        for (TimeEntry timeEntry : timeEntries) {
+            userIds.add(timeEntry.getUserId());
+            LocalDate workDate = timeEntry.getWorkDate();
+            firstDate = firstDate == null || workDate.isBefore(firstDate) ? workDate : firstDate;
+            lastDate = lastDate == null || workDate.isAfter(lastDate) ? workDate : lastDate;
+        }
+
+        // Concurrent batches of the same users wait here, so each validates against the other's committed entries
+        timeEntryBatchWriter.lockUsers(userIds);
+
+        // Existing and submitted entries per user and day, existing ones first
+        Map<String, List<BatchSlot>> slotsByDay = new LinkedHashMap<>();
+        for (TimeEntry existing : timeEntryRepository.findByUserIdInAndWorkDateBetween(userIds, firstDate, lastDate)) {
+            slotsByDay.computeIfAbsent(existing.getUserId() + "|" + existing.getWorkDate(), key -> new ArrayList<>())
+                    .add(new BatchSlot(existing, "existing time entry " + existing.getId(), false));
+        }
+        for (int i = 0; i < timeEntries.size(); i++) {
+            TimeEntry timeEntry = timeEntries.get(i);
+            slotsByDay.computeIfAbsent(timeEntry.getUserId() + "|" + timeEntry.getWorkDate(), key -> new ArrayList<>())
+                    .add(new BatchSlot(timeEntry, "entry " + (i + 1), true));
+        }
+        slotsByDay.values().forEach(slots -> validateBatchDay(slots, errors));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (TimeEntry timeEntry : timeEntries) {
+            if (timeEntry.getId() == null) {
+                timeEntry.setId(idGenerationService.generateTimeEntryId());
+            }
+            if (timeEntry.getIsBillable() == null) {
+                timeEntry.setIsBillable(true);
+            }
+            timeEntry.setCreatedAt(now);
+            timeEntry.setUpdatedAt(now);
+        }
+        timeEntryBatchWriter.insert(timeEntries);
+        userDailyHoursService.entriesAdded(timeEntries);
+        return timeEntries;
     }
 
     /**
@@ -78,6 +179,9 @@ public class TimeEntryService {
         TimeEntry existingTimeEntry = timeEntryRepository.findById(timeEntry.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Time entry not found with ID: " + timeEntry.getId()));
         
+        // Keep the old daily hours key, the merge below changes the managed entity in place
+        TimeEntry previous = dailyHoursSnapshot(existingTimeEntry);
+        
         // Update only provided fields
         // Required fields - only update if provided (not null)
         if (timeEntry.getUserId() != null) {
@@ -116,7 +220,10 @@ public class TimeEntryService {
         existingTimeEntry.setStartTime(timeEntry.getStartTime());
         existingTimeEntry.setEndTime(timeEntry.getEndTime());
         
-        return timeEntryRepository.save(existingTimeEntry);
+        TimeEntry savedTimeEntry = timeEntryRepository.save(existingTimeEntry);
+        userDailyHoursService.entryRemoved(previous);
+        userDailyHoursService.entryAdded(savedTimeEntry);
+        return savedTimeEntry;
     }
 
     /**
@@ -126,10 +233,118 @@ public class TimeEntryService {
      * @throws IllegalArgumentException if time entry not found
      */
     public void deleteTimeEntry(String id) {
-        if (!timeEntryRepository.existsById(id)) {
-            throw new IllegalArgumentException("Time entry not found with ID: " + id);
+        TimeEntry timeEntry = timeEntryRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Time entry not found with ID: " + id));
+        timeEntryRepository.delete(timeEntry);
+        userDailyHoursService.entryRemoved(timeEntry);
+        timeTrackingAnalytics.removed(id);
+    }
+
+    /**
+     * Get a week or month timesheet for a user from the daily hours rollup.
+     * 
+     * @param userId the user ID
+     * @param period "week" or "month"
+     * @param date any date inside the period
+     * @return timesheet matrix of daily hours per project
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTimesheet(String userId, String period, LocalDate date) {
+        return userDailyHoursService.getTimesheet(userId, period, date);
+    }
+
+    private static void validateBatchEntry(TimeEntry timeEntry, String label, List<String> errors) {
+        if (timeEntry == null) {
+            errors.add(label + ": time entry is required");
+            return;
+        }
+        if (timeEntry.getUserId() == null || timeEntry.getUserId().isBlank()) {
+            errors.add(label + ": user ID is required");
+        }
+        if (timeEntry.getDescription() == null || timeEntry.getDescription().trim().isEmpty()) {
+            errors.add(label + ": description is required");
         }
-        timeEntryRepository.deleteById(id);
+        if (timeEntry.getEntryType() == null) {
+            errors.add(label + ": entry type is required");
+        }
+        if (timeEntry.getWorkDate() == null) {
+            errors.add(label + ": work date is required");
+        }
+        if (timeEntry.getHoursWorked() == null || timeEntry.getHoursWorked().signum() <= 0) {
+            errors.add(label + ": hours worked must be positive");
+        }
+        if (timeEntry.getStartTime() != null && timeEntry.getEndTime() != null
+                && !timeEntry.getStartTime().isBefore(timeEntry.getEndTime())) {
+            errors.add(label + ": start time must be before end time");
+        }
+    }
+
+    /**
+     * Check one user's day: total hours within the daily limit and no submitted entry overlapping another entry.
+     */
+    private void validateBatchDay(List<BatchSlot> slots, List<String> errors) {
+        TimeEntry first = slots.get(0).timeEntry;
+        BigDecimal total = BigDecimal.ZERO;
+        boolean submitted = false;
+        for (BatchSlot slot : slots) {
+            total = total.add(slot.timeEntry.getHoursWorked());
+            submitted |= slot.submitted;
+        }
+        if (submitted && total.compareTo(maxDailyHours) > 0) {
+            errors.add("User " + first.getUserId() + " would log " + total.stripTrailingZeros().toPlainString()
+                    + " hours on " + first.getWorkDate() + ", above the daily limit of "
+                    + maxDailyHours.stripTrailingZeros().toPlainString());
+        }
+
+        List<BatchSlot> timed = new ArrayList<>();
+        for (BatchSlot slot : slots) {
+            if (slot.timeEntry.getStartTime() != null && slot.timeEntry.getEndTime() != null) {
+                timed.add(slot);
+            }
+        }
+        timed.sort(Comparator.comparing((BatchSlot slot) -> slot.timeEntry.getStartTime()));
+        BatchSlot latest = null;
+        for (BatchSlot slot : timed) {
+            if (latest != null && latest.timeEntry.getEndTime().isAfter(slot.timeEntry.getStartTime())
+                    && (latest.submitted || slot.submitted)) {
+                errors.add(capitalize(slot.label) + " overlaps " + latest.label + " on " + slot.timeEntry.getWorkDate());
+            }
+            if (latest == null || slot.timeEntry.getEndTime().isAfter(latest.timeEntry.getEndTime())) {
+                latest = slot;
+            }
+        }
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    /**
+     * A time entry of a validated day, either already stored or part of the submitted batch.
+     */
+    private static final class BatchSlot {
+        private final TimeEntry timeEntry;
+        private final String label;
+        private final boolean submitted;
+
+        private BatchSlot(TimeEntry timeEntry, String label, boolean submitted) {
+            this.timeEntry = timeEntry;
+            this.label = label;
+            this.submitted = submitted;
+        }
+    }
+
+    /**
+     * Copy of the fields that key a time entry's daily hours row.
+     */
+    private static TimeEntry dailyHoursSnapshot(TimeEntry timeEntry) {
+        TimeEntry snapshot = new TimeEntry();
+        snapshot.setUserId(timeEntry.getUserId());
+        snapshot.setWorkDate(timeEntry.getWorkDate());
+        snapshot.setProjectId(timeEntry.getProjectId());
+        snapshot.setIsBillable(timeEntry.getIsBillable());
+        snapshot.setHoursWorked(timeEntry.getHoursWorked());
+        return snapshot;
     }
 
     /**
@@ -287,9 +502,26 @@ public class TimeEntryService {
      */
     @Transactional(readOnly = true)
     public BigDecimal getTotalHoursWorkedByProject(String projectId) {
+        if (actualHoursRollupService.isAvailable()) {
+            return actualHoursRollupService.getProjectActualHours(projectId);
+        }
         return timeEntryRepository.sumHoursWorkedByProjectId(projectId);
     }
 
+    /**
+     * Get total hours worked by sprint (time logged against the sprint's stories and their tasks).
+     * 
+     * @param sprintId the sprint ID
+     * @return total hours worked in the sprint
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalHoursWorkedBySprint(String sprintId) {
+        if (actualHoursRollupService.isAvailable()) {
+            return actualHoursRollupService.getSprintActualHours(sprintId);
+        }
+        return timeEntryRepository.sumHoursWorkedBySprintId(sprintId);
+    }
+
     /**
      * Get total hours worked by story.
      * 
@@ -396,7 +628,7 @@ public class TimeEntryService {
     @Transactional(readOnly = true)
     public String getProjectTimeStatistics(String projectId) {
         long totalEntries = timeEntryRepository.countByProjectId(projectId);
-        BigDecimal totalHours = timeEntryRepository.sumHoursWorkedByProjectId(projectId);
+        BigDecimal totalHours = getTotalHoursWorkedByProject(projectId);
         BigDecimal billableHours = timeEntryRepository.sumBillableHoursByProjectId(projectId);
         
         return String.format("Total Entries: %d, Total Hours: %.2f, Billable Hours: %.2f",
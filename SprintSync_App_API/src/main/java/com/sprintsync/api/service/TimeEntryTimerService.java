@@ -0,0 +1,411 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.entity.TimeEntry;
+import com.sprintsync.api.entity.enums.TimeEntryType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running timers for time tracking, one per user.
+ * Timers live in a concurrent in-memory registry: pausing, resuming and editing a running timer
+ * never touches the database. The registry is checkpointed to time_entry_timers (see
+ * create_time_entry_timers.sql) when a timer starts, periodically for timers that changed, and on
+ * shutdown; stopping a timer creates its finalized time entry and removes the checkpoint in one
+ * transaction. After a restart the checkpoints are loaded back, so running timers keep counting.
+ *
+ * The registry belongs to this instance; with several instances, requests of a user must reach
+ * the instance holding the timer.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class TimeEntryTimerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeEntryTimerService.class);
+
+    private static final BigDecimal SECONDS_PER_HOUR = BigDecimal.valueOf(3600);
+    private static final BigDecimal MIN_HOURS = new BigDecimal("0.01");
+
+    private static final String INSERT_SQL =
+        "INSERT INTO time_entry_timers (user_id, project_id, story_id, task_id, subtask_id, description, entry_type, " +
+        "is_billable, started_at, accumulated_seconds, running_since, checkpointed_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String CHECKPOINT_SQL =
+        "UPDATE time_entry_timers SET project_id = ?, story_id = ?, task_id = ?, subtask_id = ?, description = ?, " +
+        "entry_type = ?, is_billable = ?, accumulated_seconds = ?, running_since = ?, " +
+        "checkpointed_at = CURRENT_TIMESTAMP WHERE user_id = ? AND started_at = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM time_entry_timers WHERE user_id = ?";
+
+    private final TimeEntryService timeEntryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, TimerSession> timers = new ConcurrentHashMap<>();
+
+    private volatile boolean persistent;
+
+    @Value("${app.time-entry.timer.max-hours:24}")
+    private BigDecimal maxHours;
+
+    @Autowired
+    public TimeEntryTimerService(TimeEntryService timeEntryService, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.timeEntryService = timeEntryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reload the timers checkpointed before the last shutdown or crash.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverTimers() {
+        try {
+            String table = jdbcTemplate.queryForObject("SELECT to_regclass('time_entry_timers')::text", String.class);
+            persistent = table != null;
+            if (!persistent) {
+                logger.info("time_entry_timers not found, running timers are kept in memory only");
+                return;
+            }
+            jdbcTemplate.query("SELECT * FROM time_entry_timers", rs -> {
+                TimerSession session = new TimerSession(rs.getString("user_id"),
+                    rs.getTimestamp("started_at").toLocalDateTime());
+                session.projectId = rs.getString("project_id");
+                session.storyId = rs.getString("story_id");
+                session.taskId = rs.getString("task_id");
+                session.subtaskId = rs.getString("subtask_id");
+                session.description = rs.getString("description");
+                String entryType = rs.getString("entry_type");
+                session.entryType = entryType != null ? TimeEntryType.fromValue(entryType) : null;
+                session.billable = rs.getBoolean("is_billable");
+                session.accumulatedSeconds = rs.getLong("accumulated_seconds");
+                Timestamp runningSince = rs.getTimestamp("running_since");
+                session.runningSince = runningSince != null ? runningSince.toLocalDateTime() : null;
+                timers.put(session.userId, session);
+            });
+            if (!timers.isEmpty()) {
+                logger.info("Recovered {} running timers from their last checkpoint", timers.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Could not recover running timers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Start a timer for a user. The template carries what the finished time entry will be logged
+     * against (project, story, task, subtask), its description, type and billable flag.
+     *
+     * @throws IllegalArgumentException if the user already has a timer
+     */
+    public Map<String, Object> start(TimeEntry template) {
+        if (template == null || template.getUserId() == null || template.getUserId().isBlank()) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        // Microsecond precision, as stored, so checkpoints can match the row by started_at
+        TimerSession session = new TimerSession(template.getUserId(), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        session.runningSince = session.startedAt;
+        session.apply(template);
+        if (template.getIsBillable() != null) {
+            session.billable = template.getIsBillable();
+        }
+        if (timers.putIfAbsent(session.userId, session) != null) {
+            throw new IllegalArgumentException("A timer is already running for user: " + session.userId);
+        }
+        if (persistent) {
+            try {
+                synchronized (session) {
+                    jdbcTemplate.update(INSERT_SQL, session.userId, session.projectId, session.storyId,
+                        session.taskId, session.subtaskId, session.description, entryTypeName(session),
+                        session.billable, Timestamp.valueOf(session.startedAt), session.accumulatedSeconds,
+                        Timestamp.valueOf(session.runningSince));
+                }
+            } catch (RuntimeException e) {
+                timers.remove(session.userId, session);
+                throw e;
+            }
+        }
+        return session.snapshot(LocalDateTime.now());
+    }
+
+    /**
+     * Current state of a user's timer.
+     */
+    public Optional<Map<String, Object>> get(String userId) {
+        TimerSession session = timers.get(userId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        synchronized (session) {
+            return Optional.of(session.snapshot(LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Change what a running timer is logged against; fields left null keep their value.
+     */
+    public Map<String, Object> update(String userId, TimeEntry changes) {
+        TimerSession session = require(userId);
+        synchronized (session) {
+            session.apply(changes);
+            if (changes.getIsBillable() != null) {
+                session.billable = changes.getIsBillable();
+            }
+            session.dirty = true;
+            return session.snapshot(LocalDateTime.now());
+        }
+    }
+
+    public Map<String, Object> pause(String userId) {
+        TimerSession session = require(userId);
+        synchronized (session) {
+            LocalDateTime now = LocalDateTime.now();
+            if (session.runningSince != null) {
+                session.accumulatedSeconds = session.elapsedSeconds(now);
+                session.runningSince = null;
+                session.dirty = true;
+            }
+            return session.snapshot(now);
+        }
+    }
+
+    public Map<String, Object> resume(String userId) {
+        TimerSession session = require(userId);
+        synchronized (session) {
+            LocalDateTime now = LocalDateTime.now();
+            if (session.runningSince == null) {
+                session.runningSince = now;
+                session.dirty = true;
+            }
+            return session.snapshot(now);
+        }
+    }
+
+    /**
+     * Stop a user's timer and log its running time as a time entry.
+     *
+     * @param description replaces the timer's description when given
+     * @return the created time entry
+     * @throws NoSuchElementException if the user has no timer
+     * @throws IllegalArgumentException if there is no description or the timer ran past the limit
+     */
+    public TimeEntry stop(String userId, String description) {
+        TimerSession session = require(userId);
+        synchronized (session) {
+            if (session.finished) {
+                throw new NoSuchElementException("No timer running for user: " + userId);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            BigDecimal hours = BigDecimal.valueOf(session.elapsedSeconds(now))
+                .divide(SECONDS_PER_HOUR, 2, RoundingMode.HALF_UP)
+                .max(MIN_HOURS);
+            if (hours.compareTo(maxHours) > 0) {
+                throw new IllegalArgumentException("Timer ran for " + hours + " hours, above the limit of "
+                    + maxHours + "; discard it and log the time manually");
+            }
+            String entryDescription = description != null && !description.isBlank() ? description : session.description;
+            if (entryDescription == null || entryDescription.isBlank()) {
+                throw new IllegalArgumentException("Description is required to stop the timer");
+            }
+
+            TimeEntry timeEntry = new TimeEntry();
+            timeEntry.setUserId(session.userId);
+            timeEntry.setProjectId(session.projectId);
+            timeEntry.setStoryId(session.storyId);
+            timeEntry.setTaskId(session.taskId);
+            timeEntry.setSubtaskId(session.subtaskId);
+            timeEntry.setDescription(entryDescription);
+            timeEntry.setEntryType(session.entryType != null ? session.entryType : TimeEntryType.DEVELOPMENT);
+            timeEntry.setIsBillable(session.billable);
+            timeEntry.setHoursWorked(hours);
+            timeEntry.setWorkDate(session.startedAt.toLocalDate());
+            // Start and end times only describe timers that stayed within one day
+            if (session.startedAt.toLocalDate().equals(now.toLocalDate())) {
+                timeEntry.setStartTime(session.startedAt.toLocalTime().withNano(0));
+                timeEntry.setEndTime(now.toLocalTime().withNano(0));
+            }
+
+            TimeEntry created = transactionTemplate.execute(status -> {
+                TimeEntry saved = timeEntryService.createTimeEntry(timeEntry);
+                if (persistent) {
+                    jdbcTemplate.update(DELETE_SQL, session.userId);
+                }
+                return saved;
+            });
+            session.finished = true;
+            timers.remove(userId, session);
+            return created;
+        }
+    }
+
+    /**
+     * Drop a user's timer without logging any time.
+     *
+     * @return true if a timer was discarded
+     */
+    public boolean discard(String userId) {
+        TimerSession session = timers.get(userId);
+        if (session == null) {
+            return false;
+        }
+        synchronized (session) {
+            if (session.finished) {
+                return false;
+            }
+            if (persistent) {
+                jdbcTemplate.update(DELETE_SQL, session.userId);
+            }
+            session.finished = true;
+            timers.remove(userId, session);
+            return true;
+        }
+    }
+
+    /**
+     * Write the timers that changed since their last checkpoint in one batch.
+     * Rows are matched on user and start time, so a late checkpoint of a timer that was stopped
+     * meanwhile never overwrites the user's next timer.
+     */
+    @Scheduled(fixedDelayString = "${app.time-entry.timer.checkpoint-ms:60000}")
+    public void checkpoint() {
+        if (!persistent) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        List<TimerSession> written = new ArrayList<>();
+        for (TimerSession session : timers.values()) {
+            synchronized (session) {
+                if (!session.dirty || session.finished) {
+                    continue;
+                }
+                rows.add(new Object[] {session.projectId, session.storyId, session.taskId, session.subtaskId,
+                    session.description, entryTypeName(session), session.billable, session.accumulatedSeconds,
+                    session.runningSince != null ? Timestamp.valueOf(session.runningSince) : null, session.userId,
+                    Timestamp.valueOf(session.startedAt)});
+                session.dirty = false;
+                written.add(session);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(CHECKPOINT_SQL, rows);
+        } catch (Exception e) {
+            logger.warn("Failed to checkpoint {} running timers: {}", rows.size(), e.getMessage());
+            written.forEach(session -> session.dirty = true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private TimerSession require(String userId) {
+        TimerSession session = timers.get(userId);
+        if (session == null) {
+            throw new NoSuchElementException("No timer running for user: " + userId);
+        }
+        return session;
+    }
+
+    private static String entryTypeName(TimerSession session) {
+        return session.entryType != null ? session.entryType.name() : null;
+    }
+
+    /**
+     * In-memory state of one user's timer. Guarded by its own monitor.
+     */
+    private static final class TimerSession {
+        private final String userId;
+        private final LocalDateTime startedAt;
+        private String projectId;
+        private String storyId;
+        private String taskId;
+        private String subtaskId;
+        private String description;
+        private TimeEntryType entryType;
+        private boolean billable = true;
+        private long accumulatedSeconds;
+        private LocalDateTime runningSince;
+        private boolean dirty;
+        private boolean finished;
+
+        private TimerSession(String userId, LocalDateTime startedAt) {
+            this.userId = userId;
+            this.startedAt = startedAt;
+        }
+
+        private void apply(TimeEntry changes) {
+            if (changes.getProjectId() != null) {
+                projectId = changes.getProjectId();
+            }
+            if (changes.getStoryId() != null) {
+                storyId = changes.getStoryId();
+            }
+            if (changes.getTaskId() != null) {
+                taskId = changes.getTaskId();
+            }
+            if (changes.getSubtaskId() != null) {
+                subtaskId = changes.getSubtaskId();
+            }
+            if (changes.getDescription() != null && !changes.getDescription().isBlank()) {
+                description = changes.getDescription();
+            }
+            if (changes.getEntryType() != null) {
+                entryType = changes.getEntryType();
+            }
+        }
+
+        private long elapsedSeconds(LocalDateTime now) {
+            long seconds = accumulatedSeconds;
+            if (runningSince != null) {
+                seconds += Math.max(0, Duration.between(runningSince, now).getSeconds());
+            }
+            return seconds;
+        }
+
+        private Map<String, Object> snapshot(LocalDateTime now) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("userId", userId);
+            state.put("projectId", projectId);
+            state.put("storyId", storyId);
+            state.put("taskId", taskId);
+            state.put("subtaskId", subtaskId);
+            state.put("description", description);
+            state.put("entryType", entryType);
+            state.put("isBillable", billable);
+            state.put("startedAt", startedAt);
+            state.put("running", runningSince != null);
+            state.put("elapsedSeconds", elapsedSeconds(now));
+            return state;
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package com.sprintsync.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory snapshot of time entries for time tracking reports.
+ * Every entry is one position across primitive column arrays: users, projects and tasks are
+ * dictionary-encoded ints, work dates are epoch days, hours are hundredths in longs. Report queries
+ * filter and group with tight loops over those arrays (split across cores for large snapshots)
+ * instead of loading entities.
+ *
+ * The snapshot is loaded once at startup and then refreshed incrementally: rows whose updated_at
+ * is past the watermark (minus a lag window for late commits) are appended or overwritten in place,
+ * deletes made through TimeEntryService are applied after commit, and a scheduled full rebuild
+ * bounds drift from writes outside this instance. Until the first load finishes, isReady() is false.
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class TimeTrackingAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeTrackingAnalytics.class);
+
+    private static final String SELECT_SQL =
+        "SELECT id, user_id, project_id, task_id, work_date, hours_worked, is_billable, updated_at FROM time_entries";
+
+    private static final int PARALLEL_CHUNK = 65536;
+
+    /** Dimension a query groups by */
+    public enum GroupBy {
+        USER, PROJECT, TASK, DAY, MONTH;
+
+        public static GroupBy fromValue(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /** Guarded by lock */
+    private Columns columns;
+    private LocalDateTime watermark;
+    /**
+     * Deleted entry IDs, by removal sequence. A refresh or rebuild may have read a row before its
+     * delete committed; its upserts and snapshot swap skip these IDs. Guarded by lock.
+     */
+    private final Map<String, Long> tombstones = new HashMap<>();
+    private long removals;
+
+    private volatile boolean ready;
+
+    @Value("${app.time-tracking-analytics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.time-tracking-analytics.lag-ms:300000}")
+    private long lagMs;
+
+    @Value("${app.time-tracking-analytics.parallel-threshold:200000}")
+    private int parallelThreshold;
+
+    @Value("${app.time-tracking-analytics.fetch-size:10000}")
+    private int fetchSize;
+
+    @Autowired
+    public TimeTrackingAnalytics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialLoad() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "time-tracking-analytics-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Whether the snapshot has been loaded and can answer queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reload the whole snapshot; queries keep using the previous one until the new one is swapped in.
+     */
+    @Scheduled(cron = "${app.time-tracking-analytics.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            long removalsBefore;
+            lock.readLock().lock();
+            try {
+                removalsBefore = removals;
+            } finally {
+                lock.readLock().unlock();
+            }
+            Columns fresh = new Columns(1024);
+            LocalDateTime[] maxUpdated = new LocalDateTime[1];
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var ps = connection.prepareStatement(SELECT_SQL);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                LocalDateTime updatedAt = fresh.upsert(Columns.readRow(rs));
+                if (updatedAt != null && (maxUpdated[0] == null || updatedAt.isAfter(maxUpdated[0]))) {
+                    maxUpdated[0] = updatedAt;
+                }
+            }));
+            lock.writeLock().lock();
+            try {
+                tombstones.keySet().forEach(fresh::remove);
+                // Deleted before this load started, so the load cannot have seen them
+                tombstones.values().removeIf(sequence -> sequence <= removalsBefore);
+                columns = fresh;
+                watermark = maxUpdated[0];
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Loaded time tracking analytics snapshot: {} entries in {} ms",
+                fresh.size, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Failed to load time tracking analytics snapshot: {}", e.getMessage(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Apply entries created or updated since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.time-tracking-analytics.refresh-ms:30000}")
+    public void refresh() {
+        if (!ready || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime since;
+            lock.readLock().lock();
+            try {
+                since = watermark;
+            } finally {
+                lock.readLock().unlock();
+            }
+            List<Object[]> rows = new ArrayList<>();
+            String sql = SELECT_SQL + (since != null ? " WHERE updated_at > ?" : "");
+            Object[] args = since != null
+                ? new Object[] {Timestamp.valueOf(since.minus(Duration.ofMillis(lagMs)))}
+                : new Object[0];
+            jdbcTemplate.query(sql, rs -> {
+                rows.add(Columns.readRow(rs));
+            }, args);
+            if (rows.isEmpty()) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    if (tombstones.containsKey((String) row[0])) {
+                        continue;
+                    }
+                    LocalDateTime updatedAt = columns.upsert(row);
+                    if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+                        watermark = updatedAt;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to refresh time tracking analytics snapshot: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Drop a deleted time entry from the snapshot once its transaction commits, and keep it out of
+     * refreshes and rebuilds that read it before the delete.
+     */
+    public void removed(String timeEntryId) {
+        Runnable remove = () -> {
+            lock.writeLock().lock();
+            try {
+                if (columns != null) {
+                    columns.remove(timeEntryId);
+                }
+                tombstones.put(timeEntryId, ++removals);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove.run();
+                }
+            });
+        } else {
+            remove.run();
+        }
+    }
+
+    /**
+     * Filter time entries and sum them per group.
+     *
+     * @param groupBy dimension to group by
+     * @param userId only entries of this user, or null
+     * @param projectId only entries of this project, or null
+     * @param startDate first work date included, or null
+     * @param endDate last work date included, or null
+     * @param billable only billable (true) or non-billable (false) entries, or null for both
+     * @return totals plus one row per group (key, entries, hours, billable hours), largest first
+     * @throws IllegalStateException if the snapshot is not loaded yet
+     */
+    public Map<String, Object> aggregate(GroupBy groupBy, String userId, String projectId,
+                                         LocalDate startDate, LocalDate endDate, Boolean billable) {
+        if (!ready) {
+            throw new IllegalStateException("Time tracking analytics snapshot is not loaded yet");
+        }
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("groupBy", groupBy.name().toLowerCase(Locale.ROOT));
+
+            int userCode = userId != null ? c.users.code(userId) : Columns.ANY;
+            int projectCode = projectId != null ? c.projects.code(projectId) : Columns.ANY;
+            int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+            int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+            int billableFilter = billable == null ? -1 : (billable ? 1 : 0);
+            boolean unknownValue = (userId != null && userCode == Columns.MISSING)
+                || (projectId != null && projectCode == Columns.MISSING);
+
+            // Group slots cover only the keys the filters can produce, so every parallel chunk's
+            // Partial is sized by the requested range rather than by the whole snapshot
+            int[] keys;
+            int keyBase;
+            int cardinality;
+            switch (groupBy) {
+                case USER -> {
+                    keys = c.user;
+                    keyBase = userCode >= 0 ? -userCode : 0;
+                    cardinality = userCode >= 0 ? 1 : c.users.size();
+                }
+                case PROJECT -> {
+                    keys = c.project;
+                    keyBase = projectCode >= 0 ? -projectCode : -Columns.NONE;
+                    cardinality = projectCode >= 0 ? 1 : c.projects.size() + 1;
+                }
+                case TASK -> { keys = c.task; keyBase = -Columns.NONE; cardinality = c.tasks.size() + 1; }
+                case DAY -> {
+                    int first = Math.max(c.minDay, fromDay);
+                    int last = Math.min(c.maxDay, toDay);
+                    keys = c.day;
+                    keyBase = -first;
+                    cardinality = (int) Math.max(0, (long) last - first + 1);
+                }
+                default -> {
+                    int first = startDate != null ? Math.max(c.minMonth, monthCode(startDate)) : c.minMonth;
+                    int last = endDate != null ? Math.min(c.maxMonth, monthCode(endDate)) : c.maxMonth;
+                    keys = c.month;
+                    keyBase = -first;
+                    cardinality = (int) Math.max(0, (long) last - first + 1);
+                }
+            }
+            if (c.size == 0) {
+                cardinality = 0;
+            }
+
+            Partial total = new Partial(unknownValue ? 0 : cardinality);
+            if (!unknownValue && cardinality > 0) {
+                int size = c.size;
+                int[] projectColumn = c.project;
+                int[] userColumn = c.user;
+                int[] dayColumn = c.day;
+                long[] hoursColumn = c.hours;
+                boolean[] billableColumn = c.billable;
+                boolean[] liveColumn = c.live;
+                int chunks = size >= parallelThreshold ? (size + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK : 1;
+                int chunkSize = chunks == 1 ? size : PARALLEL_CHUNK;
+                IntStream chunkStream = IntStream.range(0, chunks);
+                if (chunks > 1) {
+                    chunkStream = chunkStream.parallel();
+                }
+                int finalCardinality = cardinality;
+                total = chunkStream.mapToObj(chunk -> {
+                    Partial partial = new Partial(finalCardinality);
+                    int end = Math.min(size, (chunk + 1) * chunkSize);
+                    for (int i = chunk * chunkSize; i < end; i++) {
+                        if (!liveColumn[i]
+                            || (userCode >= 0 && userColumn[i] != userCode)
+                            || (projectCode >= 0 && projectColumn[i] != projectCode)
+                            || dayColumn[i] < fromDay || dayColumn[i] > toDay
+                            || (billableFilter >= 0 && billableColumn[i] != (billableFilter == 1))) {
+                            continue;
+                        }
+                        int slot = keys[i] + keyBase;
+                        partial.entries[slot]++;
+                        partial.hours[slot] += hoursColumn[i];
+                        if (billableColumn[i]) {
+                            partial.billableHours[slot] += hoursColumn[i];
+                        }
+                    }
+                    return partial;
+                }).reduce(Partial::merge).orElse(total);
+            }
+
+            List<Map<String, Object>> groups = new ArrayList<>();
+            long entries = 0;
+            long hours = 0;
+            long billableHours = 0;
+            for (int slot = 0; slot < total.entries.length; slot++) {
+                if (total.entries[slot] == 0) {
+                    continue;
+                }
+                entries += total.entries[slot];
+                hours += total.hours[slot];
+                billableHours += total.billableHours[slot];
+                Map<String, Object> group = new LinkedHashMap<>();
+                group.put("key", c.label(groupBy, slot - keyBase));
+                group.put("entries", total.entries[slot]);
+                group.put("hours", BigDecimal.valueOf(total.hours[slot], 2));
+                group.put("billableHours", BigDecimal.valueOf(total.billableHours[slot], 2));
+                groups.add(group);
+            }
+            if (groupBy == GroupBy.DAY || groupBy == GroupBy.MONTH) {
+                groups.sort(Comparator.comparing(group -> (String) group.get("key")));
+            } else {
+                groups.sort(Comparator.comparing((Map<String, Object> group) -> (BigDecimal) group.get("hours")).reversed());
+            }
+
+            result.put("totalEntries", entries);
+            result.put("totalHours", BigDecimal.valueOf(hours, 2));
+            result.put("billableHours", BigDecimal.valueOf(billableHours, 2));
+            result.put("groups", groups);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int monthCode(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Per-group sums of one scan chunk.
+     */
+    private static final class Partial {
+        private final long[] entries;
+        private final long[] hours;
+        private final long[] billableHours;
+
+        private Partial(int cardinality) {
+            this.entries = new long[cardinality];
+            this.hours = new long[cardinality];
+            this.billableHours = new long[cardinality];
+        }
+
+        private Partial merge(Partial other) {
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] += other.entries[i];
+                hours[i] += other.hours[i];
+                billableHours[i] += other.billableHours[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * String dictionary: each distinct value gets the next int code.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int encode(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        private int code(String value) {
+            return codes.getOrDefault(value, Columns.MISSING);
+        }
+
+        private String value(int code) {
+            return values.get(code);
+        }
+
+        private int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * The column arrays. Positions of deleted entries are marked not live and left in place until the next rebuild.
+     */
+    private static final class Columns {
+        /** Code of a null project or task */
+        private static final int NONE = -1;
+        /** Filter value matching every row */
+        private static final int ANY = -1;
+        /** Code of a filter value absent from the dictionary */
+        private static final int MISSING = -2;
+
+        private final Dictionary users = new Dictionary();
+        private final Dictionary projects = new Dictionary();
+        private final Dictionary tasks = new Dictionary();
+        private final Map<String, Integer> rowById = new HashMap<>();
+
+        private int size;
+        private int[] user;
+        private int[] project;
+        private int[] task;
+        private int[] day;
+        private int[] month;
+        private long[] hours;
+        private boolean[] billable;
+        private boolean[] live;
+
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+        private int minMonth = Integer.MAX_VALUE;
+        private int maxMonth = Integer.MIN_VALUE;
+
+        private Columns(int capacity) {
+            user = new int[capacity];
+            project = new int[capacity];
+            task = new int[capacity];
+            day = new int[capacity];
+            month = new int[capacity];
+            hours = new long[capacity];
+            billable = new boolean[capacity];
+            live = new boolean[capacity];
+        }
+
+        private static Object[] readRow(ResultSet rs) throws SQLException {
+            return new Object[] {rs.getString("id"), rs.getString("user_id"), rs.getString("project_id"),
+                rs.getString("task_id"), rs.getDate("work_date"), rs.getBigDecimal("hours_worked"),
+                rs.getBoolean("is_billable"), rs.getTimestamp("updated_at")};
+        }
+
+        /**
+         * Write a row read by readRow to its position, appending entries not seen before.
+         */
+        private LocalDateTime upsert(Object[] row) {
+            String id = (String) row[0];
+            Integer position = rowById.get(id);
+            int i;
+            if (position != null) {
+                i = position;
+            } else {
+                if (size == user.length) {
+                    grow();
+                }
+                i = size++;
+                rowById.put(id, i);
+            }
+            LocalDate workDate = ((java.sql.Date) row[4]).toLocalDate();
+            user[i] = users.encode((String) row[1]);
+            project[i] = row[2] != null ? projects.encode((String) row[2]) : NONE;
+            task[i] = row[3] != null ? tasks.encode((String) row[3]) : NONE;
+            day[i] = (int) workDate.toEpochDay();
+            month[i] = monthCode(workDate);
+            BigDecimal hoursWorked = (BigDecimal) row[5];
+            hours[i] = hoursWorked != null ? hoursWorked.movePointRight(2).longValue() : 0;
+            billable[i] = (Boolean) row[6];
+            live[i] = true;
+            minDay = Math.min(minDay, day[i]);
+            maxDay = Math.max(maxDay, day[i]);
+            minMonth = Math.min(minMonth, month[i]);
+            maxMonth = Math.max(maxMonth, month[i]);
+            Timestamp updatedAt = (Timestamp) row[7];
+            return updatedAt != null ? updatedAt.toLocalDateTime() : null;
+        }
+
+        private void remove(String id) {
+            Integer position = rowById.remove(id);
+            if (position != null) {
+                live[position] = false;
+            }
+        }
+
+        private void grow() {
+            int capacity = user.length * 2;
+            user = Arrays.copyOf(user, capacity);
+            project = Arrays.copyOf(project, capacity);
+            task = Arrays.copyOf(task, capacity);
+            day = Arrays.copyOf(day, capacity);
+            month = Arrays.copyOf(month, capacity);
+            hours = Arrays.copyOf(hours, capacity);
+            billable = Arrays.copyOf(billable, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+
+        private String label(GroupBy groupBy, int code) {
+            return switch (groupBy) {
+                case USER -> users.value(code);
+                case PROJECT -> code == NONE ? null : projects.value(code);
+                case TASK -> code == NONE ? null : tasks.value(code);
+                case DAY -> LocalDate.ofEpochDay(code).toString();
+                case MONTH -> String.format("%04d-%02d", code / 12, code % 12 + 1);
+            };
+        }
+    }
+}
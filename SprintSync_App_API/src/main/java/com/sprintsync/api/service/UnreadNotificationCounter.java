@@ -0,0 +1,265 @@
+package com.sprintsync.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sprintsync.api.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counters held in memory and pushed to clients over Server-Sent Events.
+ * A counter is loaded from the database on first use and then kept current write-through: every
+ * notification write adjusts it after its transaction commits, so badge reads and polls no longer
+ * reach PostgreSQL. Changes are pushed to the user's connected badge streams; bursts of changes for
+ * one user collapse into a single push of the latest value.
+ *
+ * Counters expire after a TTL, which bounds drift from writes this instance does not see
+ * (other instances, manual SQL).
+ *
+ * @author SprintSync Team
+ */
+@Component
+@SuppressWarnings("null")
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<String, Set<SseEmitter>> streamsByUser = new ConcurrentHashMap<>();
+    private final Set<String> pendingPushes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger streamCount = new AtomicInteger();
+    private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+
+    private final Counter loadCounter;
+
+    @Value("${app.notification.unread-counter.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${app.notification.unread-counter.max-users:50000}")
+    private long maxUsers;
+
+    @Value("${app.notification.unread-counter.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private Cache<String, AtomicLong> counters;
+
+    private ExecutorService pusher;
+
+    @Autowired
+    public UnreadNotificationCounter(NotificationRepository notificationRepository, MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.loadCounter = meterRegistry.counter("notification.unread_counter.loads");
+        meterRegistry.gauge("notification.unread_counter.streams", streamCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        counters = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .maximumSize(maxUsers)
+            .build();
+        pusher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-badge-pusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamsByUser.values().forEach(streams -> streams.forEach(SseEmitter::complete));
+        pusher.shutdownNow();
+    }
+
+    /**
+     * Unread count of a user, loaded from the database only when not held in memory.
+     */
+    public long get(String userId) {
+        return counter(userId).get();
+    }
+
+    /**
+     * Record notifications created for a user. Inside a transaction the change applies after commit.
+     */
+    public void added(String userId, long count) {
+        afterCommit(() -> {
+            AtomicLong counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                counter.addAndGet(count);
+            }
+            schedulePush(userId);
+        });
+    }
+
+    /**
+     * Record notifications of a user that were read or deleted while unread.
+     */
+    public void removed(String userId, long count) {
+        afterCommit(() -> {
+            AtomicLong counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                counter.updateAndGet(value -> Math.max(0, value - count));
+            }
+            schedulePush(userId);
+        });
+    }
+
+    /**
+     * Record that a user has no unread notifications left.
+     */
+    public void cleared(String userId) {
+        afterCommit(() -> {
+            counters.put(userId, new AtomicLong());
+            schedulePush(userId);
+        });
+    }
+
+    /**
+     * Forget the counters of users whose unread count changed by an unknown amount;
+     * they are reloaded on next use.
+     */
+    public void invalidate(Collection<String> userIds) {
+        afterCommit(() -> {
+            counters.invalidateAll(userIds);
+            userIds.forEach(this::schedulePush);
+        });
+    }
+
+    /**
+     * Open a badge stream for a user. The current count is sent right away and again on every change.
+     */
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        // Add and prune under the map's per-key lock, so an emitter is never added to a set that was just removed
+        streamsByUser.compute(userId, (key, current) -> {
+            Set<SseEmitter> streams = current != null ? current : ConcurrentHashMap.newKeySet();
+            streams.add(emitter);
+            return streams;
+        });
+        streamCount.incrementAndGet();
+
+        Runnable remove = () -> streamsByUser.computeIfPresent(userId, (key, current) -> {
+            if (current.remove(emitter)) {
+                streamCount.decrementAndGet();
+            }
+            return current.isEmpty() ? null : current;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        schedulePush(userId);
+        return emitter;
+    }
+
+    /**
+     * Keep idle badge streams open through proxies and detect clients that went away.
+     * One pusher task covers every stream, and a round is skipped while the previous one is
+     * still queued or running, so slow clients cannot pile heartbeats up on the pusher queue.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.unread-counter.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        if (streamsByUser.isEmpty() || !heartbeatPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pusher.execute(() -> {
+                try {
+                    for (Set<SseEmitter> streams : streamsByUser.values()) {
+                        for (SseEmitter emitter : new ArrayList<>(streams)) {
+                            send(emitter, SseEmitter.event().comment("heartbeat"));
+                        }
+                    }
+                } finally {
+                    heartbeatPending.set(false);
+                }
+            });
+        } catch (Exception e) {
+            heartbeatPending.set(false);
+        }
+    }
+
+    private AtomicLong counter(String userId) {
+        return counters.get(userId, key -> {
+            loadCounter.increment();
+            return new AtomicLong(notificationRepository.countByUserIdAndIsReadFalse(key));
+        });
+    }
+
+    private void schedulePush(String userId) {
+        if (!streamsByUser.containsKey(userId) || !pendingPushes.add(userId)) {
+            return;
+        }
+        try {
+            pusher.execute(() -> push(userId));
+        } catch (Exception e) {
+            pendingPushes.remove(userId);
+        }
+    }
+
+    private void push(String userId) {
+        pendingPushes.remove(userId);
+        Set<SseEmitter> streams = streamsByUser.get(userId);
+        if (streams == null || streams.isEmpty()) {
+            return;
+        }
+        long count;
+        try {
+            count = get(userId);
+        } catch (Exception e) {
+            logger.warn("Failed to load unread notification count for {}: {}", userId, e.getMessage());
+            return;
+        }
+        List<SseEmitter> targets = new ArrayList<>(streams);
+        for (SseEmitter emitter : targets) {
+            send(emitter, SseEmitter.event().name("unread-count").data(Map.of("count", count)));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            // Client disconnected
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
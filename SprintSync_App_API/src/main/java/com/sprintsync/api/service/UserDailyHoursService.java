@@ -0,0 +1,314 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.entity.TimeEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the user_daily_hours rollup (see create_user_daily_hours.sql) and builds timesheets from it.
+ * TimeEntryService hands every time entry write to this service inside its own transaction; the
+ * entry's hours are added to or removed from its (user, day, project, billable) row, so a timesheet
+ * is one range read on the rollup's primary key instead of a scan of the user's entries.
+ * Entries removed or written outside TimeEntryService (FK cascades from deleted tasks, stories or
+ * projects, manual SQL) are not seen here, so a scheduled job compares the rollup with a fresh
+ * aggregate of time_entries and repairs drifted rows.
+ *
+ * @author SprintSync Team
+ */
+@Service
+@SuppressWarnings("null")
+public class UserDailyHoursService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDailyHoursService.class);
+
+    /** Key used for entries without a project; primary key columns cannot be NULL */
+    private static final String NO_PROJECT = "";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO user_daily_hours (user_id, work_date, project_id, is_billable, hours, entry_count, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (user_id, work_date, project_id, is_billable) DO UPDATE SET " +
+        "hours = user_daily_hours.hours + EXCLUDED.hours, " +
+        "entry_count = user_daily_hours.entry_count + EXCLUDED.entry_count, " +
+        "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String DELETE_EMPTY_SQL =
+        "DELETE FROM user_daily_hours WHERE user_id = ? AND work_date = ? AND project_id = ? " +
+        "AND is_billable = ? AND entry_count <= 0";
+
+    private static final String ROLLUP_RANGE_SQL =
+        "SELECT work_date, project_id, is_billable, hours FROM user_daily_hours " +
+        "WHERE user_id = ? AND work_date BETWEEN ? AND ?";
+
+    /** Same shape as the rollup, aggregated from time_entries while the rollup table is missing */
+    private static final String ENTRY_RANGE_SQL =
+        "SELECT work_date, COALESCE(project_id, '') AS project_id, is_billable, SUM(hours_worked) AS hours " +
+        "FROM time_entries WHERE user_id = ? AND work_date BETWEEN ? AND ? " +
+        "GROUP BY work_date, COALESCE(project_id, ''), is_billable";
+
+    /** Every rollup row as aggregated from time_entries, same as the migration's backfill */
+    private static final String SOURCE_SQL =
+        "SELECT user_id, work_date, COALESCE(project_id, '') AS project_id, is_billable, " +
+        "SUM(hours_worked) AS hours, COUNT(*) AS entry_count FROM time_entries " +
+        "GROUP BY user_id, work_date, COALESCE(project_id, ''), is_billable";
+
+    private static final String DRIFT_SQL =
+        "SELECT COUNT(*) FROM user_daily_hours r " +
+        "FULL OUTER JOIN (" + SOURCE_SQL + ") src " +
+        "ON src.user_id = r.user_id AND src.work_date = r.work_date " +
+        "AND src.project_id = r.project_id AND src.is_billable = r.is_billable " +
+        "WHERE r.user_id IS NULL OR src.user_id IS NULL " +
+        "OR r.hours <> src.hours OR r.entry_count <> src.entry_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available;
+
+    @Value("${app.user-daily-hours.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    public UserDailyHoursService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectRollup() {
+        if (!enabled) {
+            available = false;
+            return;
+        }
+        try {
+            String table = jdbcTemplate.queryForObject("SELECT to_regclass('user_daily_hours')::text", String.class);
+            available = table != null;
+            if (!available) {
+                logger.info("user_daily_hours not found, timesheets are aggregated from time entries");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for user_daily_hours: {}", e.getMessage());
+            available = false;
+        }
+    }
+
+    /**
+     * Whether timesheets are read from the rollup.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Add a time entry's hours to its daily row.
+     */
+    public void entryAdded(TimeEntry entry) {
+        apply(entry, 1);
+    }
+
+    /**
+     * Remove a time entry's hours from its daily row.
+     */
+    public void entryRemoved(TimeEntry entry) {
+        apply(entry, -1);
+    }
+
+    /**
+     * Add a batch of new time entries, one upsert per affected daily row.
+     */
+    public void entriesAdded(Collection<TimeEntry> entries) {
+        if (!available || entries.isEmpty()) {
+            return;
+        }
+        Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+        for (TimeEntry entry : entries) {
+            if (entry.getUserId() == null || entry.getWorkDate() == null || entry.getHoursWorked() == null) {
+                continue;
+            }
+            List<Object> key = List.of(entry.getUserId(), Date.valueOf(entry.getWorkDate()),
+                entry.getProjectId() != null ? entry.getProjectId() : NO_PROJECT,
+                entry.getIsBillable() == null || entry.getIsBillable());
+            Object[] row = rows.computeIfAbsent(key,
+                k -> new Object[] {k.get(0), k.get(1), k.get(2), k.get(3), BigDecimal.ZERO, 0});
+            row[4] = ((BigDecimal) row[4]).add(entry.getHoursWorked());
+            row[5] = (Integer) row[5] + 1;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(rows.values()));
+    }
+
+    private void apply(TimeEntry entry, int sign) {
+        if (!available || entry == null || entry.getUserId() == null || entry.getWorkDate() == null
+                || entry.getHoursWorked() == null) {
+            return;
+        }
+        String projectId = entry.getProjectId() != null ? entry.getProjectId() : NO_PROJECT;
+        boolean billable = entry.getIsBillable() == null || entry.getIsBillable();
+        Date workDate = Date.valueOf(entry.getWorkDate());
+        BigDecimal hours = sign < 0 ? entry.getHoursWorked().negate() : entry.getHoursWorked();
+
+        jdbcTemplate.update(UPSERT_SQL, entry.getUserId(), workDate, projectId, billable, hours, sign);
+        if (sign < 0) {
+            jdbcTemplate.update(DELETE_EMPTY_SQL, entry.getUserId(), workDate, projectId, billable);
+        }
+    }
+
+    /**
+     * Compare the rollup with a fresh aggregate of time_entries and, if requested, repair the
+     * drifted rows. Repairs hold a SHARE lock on time_entries so no entry is written between
+     * computing the correct rows and storing them.
+     *
+     * @return summary with the number of drifted (and repaired) rows
+     */
+    @Transactional
+    public Map<String, Object> verify(boolean repair) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!available) {
+            result.put("skipped", "rollup not available");
+            return result;
+        }
+
+        Integer drifted = jdbcTemplate.queryForObject(DRIFT_SQL, Integer.class);
+        int rows = drifted != null ? drifted : 0;
+        result.put("driftedRows", rows);
+        if (rows > 0) {
+            logger.warn("User daily hours verification found {} rows drifted (repair={})", rows, repair);
+        }
+        if (repair && rows > 0) {
+            jdbcTemplate.execute("LOCK TABLE time_entries IN SHARE MODE");
+            result.put("repairedRows", repair());
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${app.user-daily-hours.verify-cron:0 10 3 * * *}")
+    @Transactional
+    public void scheduledVerify() {
+        try {
+            verify(true);
+        } catch (Exception e) {
+            logger.error("User daily hours verification failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int repair() {
+        int removed = jdbcTemplate.update(
+            "DELETE FROM user_daily_hours r WHERE NOT EXISTS (" +
+            "SELECT 1 FROM (" + SOURCE_SQL + ") src " +
+            "WHERE src.user_id = r.user_id AND src.work_date = r.work_date " +
+            "AND src.project_id = r.project_id AND src.is_billable = r.is_billable)");
+        int upserted = jdbcTemplate.update(
+            "INSERT INTO user_daily_hours (user_id, work_date, project_id, is_billable, hours, entry_count, updated_at) " +
+            "SELECT user_id, work_date, project_id, is_billable, hours, entry_count, CURRENT_TIMESTAMP " +
+            "FROM (" + SOURCE_SQL + ") src " +
+            "ON CONFLICT (user_id, work_date, project_id, is_billable) DO UPDATE SET " +
+            "hours = EXCLUDED.hours, entry_count = EXCLUDED.entry_count, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_daily_hours.hours <> EXCLUDED.hours " +
+            "OR user_daily_hours.entry_count <> EXCLUDED.entry_count");
+        return removed + upserted;
+    }
+
+    /**
+     * Build a timesheet for the week (Monday to Sunday) or month containing a date.
+     *
+     * @param userId the user ID
+     * @param period "week" or "month"
+     * @param date any date inside the period
+     * @return days of the period, one row of daily hours per project, and daily and overall totals
+     * @throws IllegalArgumentException if the period is not week or month
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTimesheet(String userId, String period, LocalDate date) {
+        LocalDate startDate;
+        LocalDate endDate;
+        if ("week".equalsIgnoreCase(period)) {
+            startDate = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            endDate = startDate.plusDays(6);
+        } else if ("month".equalsIgnoreCase(period)) {
+            startDate = date.withDayOfMonth(1);
+            endDate = date.with(TemporalAdjusters.lastDayOfMonth());
+        } else {
+            throw new IllegalArgumentException("Unsupported timesheet period: " + period);
+        }
+
+        int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        List<String> days = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            days.add(startDate.plusDays(i).toString());
+        }
+
+        BigDecimal[] dailyTotals = zeros(dayCount);
+        Map<String, ProjectRow> rows = new LinkedHashMap<>();
+        BigDecimal[] totals = zeros(2); // total, billable
+
+        jdbcTemplate.query(available ? ROLLUP_RANGE_SQL : ENTRY_RANGE_SQL, rs -> {
+            int day = (int) ChronoUnit.DAYS.between(startDate, rs.getDate("work_date").toLocalDate());
+            BigDecimal hours = rs.getBigDecimal("hours");
+            ProjectRow row = rows.computeIfAbsent(rs.getString("project_id"), key -> new ProjectRow(dayCount));
+            row.hours[day] = row.hours[day].add(hours);
+            row.total = row.total.add(hours);
+            dailyTotals[day] = dailyTotals[day].add(hours);
+            totals[0] = totals[0].add(hours);
+            if (rs.getBoolean("is_billable")) {
+                row.billable = row.billable.add(hours);
+                totals[1] = totals[1].add(hours);
+            }
+        }, userId, Date.valueOf(startDate), Date.valueOf(endDate));
+
+        List<Map<String, Object>> projectRows = new ArrayList<>(rows.size());
+        rows.forEach((projectId, row) -> {
+            Map<String, Object> projectRow = new LinkedHashMap<>();
+            projectRow.put("projectId", NO_PROJECT.equals(projectId) ? null : projectId);
+            projectRow.put("hours", Arrays.asList(row.hours));
+            projectRow.put("billableHours", row.billable);
+            projectRow.put("totalHours", row.total);
+            projectRows.add(projectRow);
+        });
+
+        Map<String, Object> timesheet = new LinkedHashMap<>();
+        timesheet.put("userId", userId);
+        timesheet.put("period", period.toLowerCase());
+        timesheet.put("startDate", startDate.toString());
+        timesheet.put("endDate", endDate.toString());
+        timesheet.put("days", days);
+        timesheet.put("projects", projectRows);
+        timesheet.put("dailyTotals", Arrays.asList(dailyTotals));
+        timesheet.put("totalHours", totals[0]);
+        timesheet.put("billableHours", totals[1]);
+        return timesheet;
+    }
+
+    private static BigDecimal[] zeros(int size) {
+        BigDecimal[] values = new BigDecimal[size];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    private static final class ProjectRow {
+        private final BigDecimal[] hours;
+        private BigDecimal billable = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        private ProjectRow(int dayCount) {
+            this.hours = zeros(dayCount);
+        }
+    }
+}
@@ -5,10 +5,16 @@ import com.sprintsync.api.repository.WorkflowLaneRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,10 +32,17 @@ public class WorkflowLaneService {
 
     private static final Logger logger = LoggerFactory.getLogger(WorkflowLaneService.class);
     private final WorkflowLaneRepository workflowLaneRepository;
+    private final RankingService rankingService;
+    private final BoardSyncHub boardSyncHub;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public WorkflowLaneService(WorkflowLaneRepository workflowLaneRepository) {
+    public WorkflowLaneService(WorkflowLaneRepository workflowLaneRepository, RankingService rankingService,
+                               BoardSyncHub boardSyncHub, JdbcTemplate jdbcTemplate) {
         this.workflowLaneRepository = workflowLaneRepository;
+        this.rankingService = rankingService;
+        this.boardSyncHub = boardSyncHub;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
@@ -80,6 +93,9 @@ public class WorkflowLaneService {
             lane.setStatusValue("custom_lane_" + UUID.randomUUID().toString().substring(0, 8));
         }
 
+        // New lanes go after the last lane of the project
+        lane.setSortRank(rankingService.rankAfterLast(RankingService.Scope.LANE, lane.getProjectId()));
+
         try {
             logger.debug("Saving workflow lane: projectId={}, title={}, statusValue={}", 
                     lane.getProjectId(), lane.getTitle(), lane.getStatusValue());
@@ -114,7 +130,15 @@ public class WorkflowLaneService {
         if (!workflowLaneRepository.existsById(lane.getId())) {
             throw new IllegalArgumentException("Workflow lane not found with ID: " + lane.getId());
         }
-        return workflowLaneRepository.save(lane);
+        WorkflowLane savedLane = workflowLaneRepository.save(lane);
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("title", savedLane.getTitle());
+        fields.put("color", savedLane.getColor());
+        fields.put("statusValue", savedLane.getStatusValue());
+        fields.put("wipLimitEnabled", savedLane.getWipLimitEnabled());
+        fields.put("wipLimit", savedLane.getWipLimit());
+        boardSyncHub.laneChanged(savedLane.getProjectId(), savedLane.getBoardId(), savedLane.getId(), fields);
+        return savedLane;
     }
 
     /**
@@ -131,7 +155,7 @@ public class WorkflowLaneService {
     }
 
     /**
-     * Get all workflow lanes for a project, ordered by display order.
+     * Get all workflow lanes for a project, ordered by rank.
      * Returns lanes for the default board (boardId is null).
      * 
      * @param projectId the project ID
@@ -139,11 +163,11 @@ public class WorkflowLaneService {
      */
     @Transactional(readOnly = true)
     public List<WorkflowLane> getWorkflowLanesByProject(String projectId) {
-        return workflowLaneRepository.findByProjectIdAndDefaultBoardOrderByDisplayOrderAsc(projectId);
+        return workflowLaneRepository.findByProjectIdAndDefaultBoardOrderByRank(projectId);
     }
 
     /**
-     * Get workflow lanes for a project and board, ordered by display order.
+     * Get workflow lanes for a project and board, ordered by rank.
      * 
      * @param projectId the project ID
      * @param boardId the board ID (null for default board)
@@ -151,7 +175,7 @@ public class WorkflowLaneService {
      */
     @Transactional(readOnly = true)
     public List<WorkflowLane> getWorkflowLanesByProjectAndBoard(String projectId, String boardId) {
-        return workflowLaneRepository.findByProjectIdAndBoardIdOrderByDisplayOrderAsc(projectId, boardId);
+        return workflowLaneRepository.findByProjectIdAndBoardIdOrderByRank(projectId, boardId);
     }
 
     /**
@@ -178,27 +202,92 @@ public class WorkflowLaneService {
 
     /**
      * Update display order of workflow lanes.
+     * Only lanes that moved relative to the others get a new rank (see RankingService#reorder);
+     * display_order is renumbered from the same order for clients and queries that still sort by it.
      * 
      * @param laneIds list of lane IDs in the desired order
      * @throws IllegalArgumentException if any lane not found
      */
     public void updateDisplayOrder(List<String> laneIds) {
-        for (int i = 0; i < laneIds.size(); i++) {
-            Optional<WorkflowLane> laneOpt = workflowLaneRepository.findById(laneIds.get(i));
-            if (laneOpt.isPresent()) {
-                WorkflowLane lane = laneOpt.get();
-                lane.setDisplayOrder(i + 1);
-                workflowLaneRepository.save(lane);
-            } else {
-                throw new IllegalArgumentException("Workflow lane not found with ID: " + laneIds.get(i));
-            }
+        Map<String, String> reranked = rankingService.reorder(RankingService.Scope.LANE, laneIds);
+        Map<String, Integer> renumbered = writeDisplayOrder(laneIds);
+        logger.debug("Reordered {} lanes, {} re-ranked, {} renumbered", laneIds.size(), reranked.size(), renumbered.size());
+        if (!reranked.isEmpty() || !renumbered.isEmpty()) {
+            publishOrder(workflowLaneRepository.findAllById(laneIds), reranked, renumbered);
         }
     }
-}
-
-
-
 
+    /**
+     * Move a workflow lane between two neighbouring lanes. Only the moved lane is written: it gets
+     * one new rank, and readers order lanes by sort_rank, so display_order of the board is left as is.
+     * 
+     * @param id the lane ID
+     * @param previousId the lane that should precede it, or null
+     * @param nextId the lane that should follow it, or null
+     * @return the moved lane
+     * @throws IllegalArgumentException if a lane is not found or no neighbour is given
+     */
+    public WorkflowLane moveWorkflowLane(String id, String previousId, String nextId) {
+        String rank = rankingService.move(RankingService.Scope.LANE, id, previousId, nextId);
+        WorkflowLane lane = workflowLaneRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Workflow lane not found with ID: " + id));
+        publishOrder(List.of(lane), Collections.singletonMap(id, rank), Collections.emptyMap());
+        return lane;
+    }
 
+    /**
+     * Set display_order to 1..n in the given order, writing only lanes whose value changes.
+     *
+     * @return the new display order of the lanes that changed, by ID
+     */
+    private Map<String, Integer> writeDisplayOrder(List<String> laneIds) {
+        if (laneIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> current = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, display_order FROM workflow_lanes WHERE id IN (" +
+            String.join(", ", Collections.nCopies(laneIds.size(), "?")) + ")",
+            rs -> {
+                current.put(rs.getString("id"), rs.getInt("display_order"));
+            }, laneIds.toArray());
 
+        Map<String, Integer> changed = new LinkedHashMap<>();
+        List<Object[]> parked = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < laneIds.size(); i++) {
+            String laneId = laneIds.get(i);
+            if (!current.containsKey(laneId)) {
+                throw new IllegalArgumentException("Workflow lane not found with ID: " + laneId);
+            }
+            if (current.get(laneId) != i + 1) {
+                changed.put(laneId, i + 1);
+                parked.add(new Object[] { -(i + 1), laneId });
+                updates.add(new Object[] { i + 1, laneId });
+            }
+        }
+        if (!changed.isEmpty()) {
+            // Park the changed lanes on negative values first, so swapped positions never collide on
+            // the (project, board, display_order) unique constraint mid-batch
+            jdbcTemplate.batchUpdate("UPDATE workflow_lanes SET display_order = ? WHERE id = ?", parked);
+            jdbcTemplate.batchUpdate(
+                "UPDATE workflow_lanes SET display_order = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?", updates);
+        }
+        return changed;
+    }
 
+    private void publishOrder(List<WorkflowLane> lanes, Map<String, String> ranks, Map<String, Integer> displayOrders) {
+        for (WorkflowLane lane : lanes) {
+            Map<String, Object> fields = new HashMap<>();
+            if (ranks.containsKey(lane.getId())) {
+                fields.put("sortRank", ranks.get(lane.getId()));
+            }
+            if (displayOrders.containsKey(lane.getId())) {
+                fields.put("displayOrder", displayOrders.get(lane.getId()));
+            }
+            if (!fields.isEmpty()) {
+                boardSyncHub.laneChanged(lane.getProjectId(), lane.getBoardId(), lane.getId(), fields);
+            }
+        }
+    }
+}
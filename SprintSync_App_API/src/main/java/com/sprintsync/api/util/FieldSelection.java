@@ -0,0 +1,174 @@
+package com.sprintsync.api.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset parsed from a {@code ?fields=} request parameter, e.g. {@code fields=id,name,status}.
+ * Services ask {@link #includes(String)} before computing an expensive field so unrequested work is
+ * skipped, and controllers {@link #apply(Object, ObjectMapper)} it to drop unrequested fields from
+ * the response. An absent or blank parameter selects every field.
+ *
+ * @author SprintSync Team
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final String FILTER_ID = "fieldSelection";
+
+    /** Copies of the application mappers with the selection filter attached to every type */
+    private static final Map<ObjectMapper, ObjectMapper> FILTERING_MAPPERS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Always returned so clients can match partial objects back to their source */
+    private static final String ID_FIELD = "id";
+
+    /** Always returned so clients can tell a partial response from an empty one */
+    private static final String FAILED_SECTIONS_FIELD = "failedSections";
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Selection of every field.
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parse a comma-separated field list; null or blank selects every field.
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(java.util.LinkedHashSet::new));
+        if (selected.isEmpty()) {
+            return ALL;
+        }
+        selected.add(ID_FIELD);
+        selected.add(FAILED_SECTIONS_FIELD);
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    /**
+     * Whether every field is selected.
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * Whether the given field is selected.
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Whether any of the given fields is selected.
+     */
+    public boolean includesAny(String... candidates) {
+        if (fields == null) {
+            return true;
+        }
+        for (String candidate : candidates) {
+            if (fields.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reduce a response body to the selected fields. Unselected properties of the top-level object
+     * (or of each element of a top-level collection) are skipped while serializing, so their getters
+     * never run; nested objects are written whole. Returns the value unchanged when every field is
+     * selected, otherwise a JSON tree.
+     */
+    public Object apply(Object value, ObjectMapper objectMapper) {
+        if (fields == null || value == null) {
+            return value;
+        }
+        ObjectMapper filtering = FILTERING_MAPPERS.computeIfAbsent(objectMapper,
+            mapper -> mapper.copy().addMixIn(Object.class, SelectionFilterMixIn.class));
+        FilterProvider filters = new SimpleFilterProvider().addFilter(FILTER_ID, new TopLevelFilter(fields));
+        try {
+            TokenBuffer buffer = new TokenBuffer(filtering, false);
+            filtering.writer(filters).writeValue(buffer, value);
+            return filtering.readTree(buffer.asParser());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize selected fields: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reduce each element of a list to the selected fields.
+     */
+    public List<Object> applyToList(List<?> values, ObjectMapper objectMapper) {
+        return values.stream()
+            .map(value -> apply(value, objectMapper))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+
+    @JsonFilter(FILTER_ID)
+    private static final class SelectionFilterMixIn {
+    }
+
+    /**
+     * Writes only selected properties of top-level objects; everything below them passes through.
+     */
+    private static final class TopLevelFilter extends SimpleBeanPropertyFilter {
+        private final Set<String> fields;
+
+        private TopLevelFilter(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (!isTopLevel(gen.getOutputContext()) || fields.contains(writer.getName())) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        private static boolean isTopLevel(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            return parent == null || parent.inRoot()
+                || (parent.inArray() && (parent.getParent() == null || parent.getParent().inRoot()));
+        }
+    }
+}
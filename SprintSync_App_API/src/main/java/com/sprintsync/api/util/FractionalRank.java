@@ -0,0 +1,118 @@
+package com.sprintsync.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic fractional ranks (LexoRank-style): ordering keys over the digits 0-9a-z that sort
+ * by plain byte comparison (columns use COLLATE "C"). A key strictly between any two keys always
+ * exists, so moving an item only rewrites that item's key. Keys never end in '0', which keeps
+ * room below every key; repeated inserts at the same spot make keys longer, and the rebalancer
+ * then re-spreads the group with {@link #spread(int)}.
+ *
+ * @author SprintSync Team
+ */
+public final class FractionalRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private FractionalRank() {
+    }
+
+    /**
+     * Key strictly between two keys.
+     *
+     * @param before the key to sort after, or null for the start
+     * @param after the key to sort before, or null for the end
+     * @throws IllegalArgumentException if before is not smaller than after
+     */
+    public static String between(String before, String after) {
+        String low = before != null ? before : "";
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " does not sort before " + after);
+        }
+        return midpoint(low, after);
+    }
+
+    /**
+     * Evenly spaced, increasing keys for a group of items, all of the same (shortest sufficient) width.
+     */
+    public static List<String> spread(int count) {
+        List<String> ranks = new ArrayList<>(count);
+        if (count == 0) {
+            return ranks;
+        }
+        int width = 1;
+        long capacity = BASE;
+        while (capacity <= count + 1L) {
+            width++;
+            capacity *= BASE;
+        }
+        long step = capacity / (count + 1L);
+        for (int i = 1; i <= count; i++) {
+            ranks.add(encode(step * i, width));
+        }
+        return ranks;
+    }
+
+    /**
+     * Increasing keys for a block of new items placed after a key: one fresh key past it followed
+     * by {@link #spread(int)} suffixes, so the block stays short however many items it holds.
+     *
+     * @param before the key to sort after, or null for the start
+     */
+    public static List<String> spreadAfter(String before, int count) {
+        String prefix = between(before, null);
+        List<String> ranks = spread(count);
+        ranks.replaceAll(suffix -> prefix + suffix);
+        return ranks;
+    }
+
+    /**
+     * Midpoint of low (possibly empty) and high (null meaning the end), both without trailing '0'.
+     */
+    private static String midpoint(String low, String high) {
+        if (high != null) {
+            // Skip the common prefix, reading missing digits of low as '0'
+            int prefix = 0;
+            while (prefix < high.length() && digitAt(low, prefix) == DIGITS.indexOf(high.charAt(prefix))) {
+                prefix++;
+            }
+            if (prefix > 0) {
+                return high.substring(0, prefix)
+                    + midpoint(low.length() > prefix ? low.substring(prefix) : "", high.substring(prefix));
+            }
+        }
+        int lowDigit = digitAt(low, 0);
+        int highDigit = high != null ? DIGITS.indexOf(high.charAt(0)) : BASE;
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit + 1) / 2));
+        }
+        // Adjacent first digits: keep a longer high's first digit, or extend low
+        if (high != null && high.length() > 1) {
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.length() > 1 ? low.substring(1) : "", null);
+    }
+
+    private static int digitAt(String key, int index) {
+        return index < key.length() ? DIGITS.indexOf(key.charAt(index)) : 0;
+    }
+
+    /**
+     * Fixed-width base-36 digits of a value with trailing zeros dropped, which keeps the order.
+     */
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int length = width;
+        while (length > 1 && digits[length - 1] == '0') {
+            length--;
+        }
+        return new String(digits, 0, length);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sprintsync.api.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Binds LocalDateTime parameters of plain JDBC statements the way Hibernate does with
+ * hibernate.jdbc.time_zone=UTC: the value is read in the JVM zone and written as UTC. Rows
+ * inserted in JDBC batches then sort and filter together with rows saved through JPA on hosts
+ * not running in UTC; Timestamp.valueOf alone would write the JVM zone's wall-clock time.
+ *
+ * @author SprintSync Team
+ */
+public final class JdbcTimestamps {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private JdbcTimestamps() {
+    }
+
+    /**
+     * Set a TIMESTAMP parameter, or SQL NULL for a null value.
+     */
+    public static void setUtc(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value), Calendar.getInstance(UTC));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.sprintsync.api.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Minimal RFC 6902 JSON Patch support for activity log value diffs.
+ * Produces add/remove/replace operations on object fields; arrays and scalars that
+ * differ are replaced as a whole, which keeps patches small for entity-shaped documents.
+ *
+ * @author SprintSync Team
+ */
+public final class JsonPatchUtil {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatchUtil() {
+    }
+
+    /**
+     * Compute the patch that turns {@code source} into {@code target}.
+     *
+     * @param source the original document
+     * @param target the updated document
+     * @return array of patch operations, empty if the documents are equal
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode patch = NODES.arrayNode();
+        diff("", source, target, patch);
+        return patch;
+    }
+
+    /**
+     * Apply a patch to a copy of {@code document}.
+     *
+     * @param document the document to patch (not modified)
+     * @param patch array of add/remove/replace operations
+     * @return the patched document
+     * @throws IllegalArgumentException if an operation is unsupported or its path is invalid
+     */
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        JsonNode result = document == null ? NODES.nullNode() : document.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            String path = operation.path("path").asText();
+            JsonNode value = operation.get("value");
+
+            if (path.isEmpty()) {
+                if ("remove".equals(op)) {
+                    result = NODES.nullNode();
+                } else {
+                    result = value == null ? NODES.nullNode() : value.deepCopy();
+                }
+                continue;
+            }
+
+            int lastSlash = path.lastIndexOf('/');
+            JsonNode parent = resolve(result, path.substring(0, lastSlash));
+            if (!(parent instanceof ObjectNode)) {
+                throw new IllegalArgumentException("Patch path does not point into an object: " + path);
+            }
+            String field = unescape(path.substring(lastSlash + 1));
+            ObjectNode parentObject = (ObjectNode) parent;
+            switch (op) {
+                case "add":
+                case "replace":
+                    parentObject.set(field, value == null ? NODES.nullNode() : value.deepCopy());
+                    break;
+                case "remove":
+                    parentObject.remove(field);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported patch operation: " + op);
+            }
+        }
+        return result;
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode patch) {
+        if (source == null || source.isMissingNode()) {
+            source = NODES.nullNode();
+        }
+        if (target == null || target.isMissingNode()) {
+            target = NODES.nullNode();
+        }
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> sourceFields = source.fields();
+            while (sourceFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = sourceFields.next();
+                String childPath = path + "/" + escape(field.getKey());
+                if (!target.has(field.getKey())) {
+                    patch.add(operation("remove", childPath, null));
+                } else {
+                    diff(childPath, field.getValue(), target.get(field.getKey()), patch);
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+            while (targetFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = targetFields.next();
+                if (!source.has(field.getKey())) {
+                    patch.add(operation("add", path + "/" + escape(field.getKey()), field.getValue()));
+                }
+            }
+            return;
+        }
+        patch.add(operation("replace", path, target));
+    }
+
+    private static ObjectNode operation(String op, String path, JsonNode value) {
+        ObjectNode operation = NODES.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        if (value != null) {
+            operation.set("value", value);
+        }
+        return operation;
+    }
+
+    private static JsonNode resolve(JsonNode document, String pointer) {
+        JsonNode current = document;
+        if (pointer.isEmpty()) {
+            return current;
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            if (current == null) {
+                return null;
+            }
+            current = current.get(unescape(token));
+        }
+        return current;
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
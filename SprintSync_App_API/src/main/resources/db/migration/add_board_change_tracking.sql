@@ -0,0 +1,60 @@
+-- Migration: Change tracking for board snapshots
+-- Requires add_hierarchy_columns_to_tasks_and_subtasks.sql (tasks.project_id).
+-- Every insert or update of a task stamps the row with the id of the writing transaction
+-- (change_xid). Deleted tasks, and tasks that left a project, leave a tombstone. Lanes are few per
+-- board and are always returned in full, so they are not tracked.
+-- BoardSnapshotService hands out the transaction xmin seen when a snapshot was read as its version;
+-- a later delta request returns rows and tombstones with change_xid >= that xmin. That covers every
+-- transaction the snapshot could not see, including ones that committed out of order. Rows
+-- already seen may be sent again, and applying them again is harmless.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS board_tombstones (
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    project_id VARCHAR(255) NOT NULL,
+    change_xid BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_board_tombstones_project_xid ON board_tombstones(project_id, change_xid);
+CREATE INDEX IF NOT EXISTS idx_board_tombstones_created_at ON board_tombstones(created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_change_xid ON tasks(project_id, change_xid);
+
+-- Stamp task writes; a task moved to another project leaves a tombstone in the old one.
+-- Named to sort after trigger_sync_task_hierarchy so NEW.project_id is already resolved.
+CREATE OR REPLACE FUNCTION track_task_board_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.project_id IS NOT NULL THEN
+            INSERT INTO board_tombstones (entity_type, entity_id, project_id, change_xid)
+            VALUES ('task', OLD.id, OLD.project_id, txid_current());
+        END IF;
+        RETURN OLD;
+    END IF;
+
+    NEW.change_xid := txid_current();
+    IF TG_OP = 'UPDATE' AND OLD.project_id IS NOT NULL
+       AND OLD.project_id IS DISTINCT FROM NEW.project_id THEN
+        INSERT INTO board_tombstones (entity_type, entity_id, project_id, change_xid)
+        VALUES ('task', OLD.id, OLD.project_id, txid_current());
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_track_task_board_change ON tasks;
+CREATE TRIGGER trigger_track_task_board_change
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION track_task_board_change();
+
+DROP TRIGGER IF EXISTS trigger_track_task_board_delete ON tasks;
+CREATE TRIGGER trigger_track_task_board_delete
+    AFTER DELETE ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION track_task_board_change();
+
+COMMENT ON TABLE board_tombstones IS 'Tasks removed from a project board, for board snapshot deltas; pruned after the retention window';
@@ -0,0 +1,20 @@
+-- Migration: Fractional rank ordering for workflow lanes, tasks and stories
+-- sort_rank holds a LexoRank-style key (digits 0-9a-z, see FractionalRank). Items are ordered by
+-- sort_rank within their project; a drag-and-drop move writes a key between the new neighbours,
+-- so it updates only the moved row instead of renumbering display_order / order_index of every
+-- sibling. COLLATE "C" makes the database order keys by plain byte comparison, like Java does.
+-- Existing rows start with NULL ranks; RankingService backfills them per project in the old
+-- order (display_order / order_index) and re-spreads projects whose keys grew too long.
+
+ALTER TABLE workflow_lanes ADD COLUMN IF NOT EXISTS sort_rank VARCHAR(255) COLLATE "C";
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS sort_rank VARCHAR(255) COLLATE "C";
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS sort_rank VARCHAR(255) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_workflow_lanes_project_rank ON workflow_lanes(project_id, sort_rank);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_rank ON tasks(project_id, sort_rank);
+CREATE INDEX IF NOT EXISTS idx_stories_project_rank ON stories(project_id, sort_rank);
+
+-- Let the rebalancer find projects with unranked rows without scanning
+CREATE INDEX IF NOT EXISTS idx_workflow_lanes_unranked ON workflow_lanes(project_id) WHERE sort_rank IS NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_unranked ON tasks(project_id) WHERE sort_rank IS NULL;
+CREATE INDEX IF NOT EXISTS idx_stories_unranked ON stories(project_id) WHERE sort_rank IS NULL;
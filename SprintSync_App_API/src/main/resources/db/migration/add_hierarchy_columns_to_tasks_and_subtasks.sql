@@ -0,0 +1,145 @@
+-- Migration: Denormalize project_id, sprint_id and epic_id onto tasks and subtasks
+-- Tasks only reference their story and subtasks only reference their task, so listing the tasks of a
+-- project, sprint or epic used to mean walking stories first. Copying the story's hierarchy onto each
+-- task and subtask turns those traversals into single indexed reads.
+-- Triggers keep the copies consistent inside the writing transaction:
+--   * a task takes its hierarchy from its story on insert and whenever story_id is written
+--   * a subtask takes its hierarchy from its task on insert and whenever task_id is written
+--   * moving a story (project, sprint or epic change, e.g. bulk moves to a sprint or project) pushes
+--     the new hierarchy down to its tasks and their subtasks
+-- Backlog cloning inserts through the same paths, so cloned tasks and subtasks are covered as well.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS project_id VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS sprint_id VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS epic_id VARCHAR(255);
+
+ALTER TABLE subtasks ADD COLUMN IF NOT EXISTS project_id VARCHAR(255);
+ALTER TABLE subtasks ADD COLUMN IF NOT EXISTS sprint_id VARCHAR(255);
+ALTER TABLE subtasks ADD COLUMN IF NOT EXISTS epic_id VARCHAR(255);
+
+-- Task: copy the hierarchy of its story
+CREATE OR REPLACE FUNCTION sync_task_hierarchy()
+RETURNS TRIGGER AS $$
+BEGIN
+    SELECT s.project_id, s.sprint_id, s.epic_id
+      INTO NEW.project_id, NEW.sprint_id, NEW.epic_id
+      FROM stories s
+     WHERE s.id = NEW.story_id;
+
+    -- A task moved to another story carries its subtasks along
+    IF TG_OP = 'UPDATE'
+       AND (NEW.project_id IS DISTINCT FROM OLD.project_id
+            OR NEW.sprint_id IS DISTINCT FROM OLD.sprint_id
+            OR NEW.epic_id IS DISTINCT FROM OLD.epic_id) THEN
+        UPDATE subtasks
+           SET project_id = NEW.project_id,
+               sprint_id = NEW.sprint_id,
+               epic_id = NEW.epic_id
+         WHERE task_id = NEW.id;
+    END IF;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_sync_task_hierarchy ON tasks;
+CREATE TRIGGER trigger_sync_task_hierarchy
+    BEFORE INSERT OR UPDATE OF story_id ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_task_hierarchy();
+
+-- Subtask: copy the hierarchy of its task
+CREATE OR REPLACE FUNCTION sync_subtask_hierarchy()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.task_id IS NULL THEN
+        NEW.project_id := NULL;
+        NEW.sprint_id := NULL;
+        NEW.epic_id := NULL;
+        RETURN NEW;
+    END IF;
+
+    SELECT t.project_id, t.sprint_id, t.epic_id
+      INTO NEW.project_id, NEW.sprint_id, NEW.epic_id
+      FROM tasks t
+     WHERE t.id = NEW.task_id;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_sync_subtask_hierarchy ON subtasks;
+CREATE TRIGGER trigger_sync_subtask_hierarchy
+    BEFORE INSERT OR UPDATE OF task_id ON subtasks
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_subtask_hierarchy();
+
+-- Story moved: push the new hierarchy down to its tasks and subtasks
+CREATE OR REPLACE FUNCTION propagate_story_hierarchy()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.project_id IS NOT DISTINCT FROM OLD.project_id
+       AND NEW.sprint_id IS NOT DISTINCT FROM OLD.sprint_id
+       AND NEW.epic_id IS NOT DISTINCT FROM OLD.epic_id THEN
+        RETURN NEW;
+    END IF;
+
+    -- The story row is already locked by this update; its tasks come second, the same story-before-task
+    -- order as the actual_hours rollup (see create_actual_hours_delta_rollup.sql)
+    UPDATE tasks
+       SET project_id = NEW.project_id,
+           sprint_id = NEW.sprint_id,
+           epic_id = NEW.epic_id
+     WHERE story_id = NEW.id;
+
+    UPDATE subtasks st
+       SET project_id = NEW.project_id,
+           sprint_id = NEW.sprint_id,
+           epic_id = NEW.epic_id
+      FROM tasks t
+     WHERE t.id = st.task_id
+       AND t.story_id = NEW.id;
+
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_propagate_story_hierarchy ON stories;
+CREATE TRIGGER trigger_propagate_story_hierarchy
+    AFTER UPDATE OF project_id, sprint_id, epic_id ON stories
+    FOR EACH ROW
+    EXECUTE FUNCTION propagate_story_hierarchy();
+
+-- Backfill existing rows
+UPDATE tasks t
+   SET project_id = s.project_id,
+       sprint_id = s.sprint_id,
+       epic_id = s.epic_id
+  FROM stories s
+ WHERE s.id = t.story_id;
+
+UPDATE subtasks st
+   SET project_id = t.project_id,
+       sprint_id = t.sprint_id,
+       epic_id = t.epic_id
+  FROM tasks t
+ WHERE t.id = st.task_id;
+
+-- Composite indexes: traversal by level, filtered by status or completion
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status ON tasks(project_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_sprint_status ON tasks(sprint_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_epic_status ON tasks(epic_id, status);
+CREATE INDEX IF NOT EXISTS idx_subtasks_project_completed ON subtasks(project_id, is_completed);
+CREATE INDEX IF NOT EXISTS idx_subtasks_sprint_completed ON subtasks(sprint_id, is_completed);
+CREATE INDEX IF NOT EXISTS idx_subtasks_epic_completed ON subtasks(epic_id, is_completed);
+
+-- Verify the backfill
+SELECT
+    (SELECT COUNT(*) FROM tasks t JOIN stories s ON s.id = t.story_id
+      WHERE t.project_id IS DISTINCT FROM s.project_id
+         OR t.sprint_id IS DISTINCT FROM s.sprint_id
+         OR t.epic_id IS DISTINCT FROM s.epic_id) AS inconsistent_tasks,
+    (SELECT COUNT(*) FROM subtasks st JOIN tasks t ON t.id = st.task_id
+      WHERE st.project_id IS DISTINCT FROM t.project_id
+         OR st.sprint_id IS DISTINCT FROM t.sprint_id
+         OR st.epic_id IS DISTINCT FROM t.epic_id) AS inconsistent_subtasks;
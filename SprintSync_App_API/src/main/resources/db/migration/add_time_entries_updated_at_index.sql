@@ -0,0 +1,5 @@
+-- Migration: Index time_entries.updated_at
+-- TimeTrackingAnalytics refreshes its in-memory snapshot with the entries written since its
+-- updated_at watermark; the index keeps that a short range scan as time_entries grows.
+
+CREATE INDEX IF NOT EXISTS idx_time_entries_updated_at ON time_entries(updated_at);
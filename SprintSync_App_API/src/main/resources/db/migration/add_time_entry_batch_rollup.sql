@@ -0,0 +1,110 @@
+-- Migration: Set-based actual_hours rollup for batch time entry submission
+-- Requires create_actual_hours_delta_rollup.sql.
+-- A submitted timesheet inserts dozens of entries in one JDBC batch. Instead of the row trigger
+-- applying each entry's delta separately (touching the same task, story, sprint and project rows
+-- over and over), TimeEntryBatchWriter sets sprintsync.time_entry_batch for its transaction, which
+-- makes the trigger skip inserts, and then calls apply_time_entry_batch() once with the inserted ids.
+-- That applies one summed delta per task, story, sprint shard and project shard.
+-- Updates and deletes always go through the row trigger.
+
+CREATE OR REPLACE FUNCTION update_actual_hours()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        -- Batch inserts are rolled up by apply_time_entry_batch()
+        IF current_setting('sprintsync.time_entry_batch', true) = 'on' THEN
+            RETURN NEW;
+        END IF;
+        PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                       NEW.hours_worked);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM apply_time_entry_delta(OLD.id, OLD.task_id, OLD.story_id, OLD.project_id, OLD.user_id,
+                                       -OLD.hours_worked);
+        RETURN OLD;
+    END IF;
+
+    IF NEW.task_id IS NOT DISTINCT FROM OLD.task_id
+       AND NEW.story_id IS NOT DISTINCT FROM OLD.story_id
+       AND NEW.project_id IS NOT DISTINCT FROM OLD.project_id
+       AND NEW.user_id IS NOT DISTINCT FROM OLD.user_id THEN
+        IF NEW.hours_worked IS DISTINCT FROM OLD.hours_worked THEN
+            PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                           COALESCE(NEW.hours_worked, 0) - COALESCE(OLD.hours_worked, 0));
+        END IF;
+    ELSE
+        PERFORM apply_time_entry_delta(OLD.id, OLD.task_id, OLD.story_id, OLD.project_id, OLD.user_id,
+                                       -OLD.hours_worked);
+        PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                       NEW.hours_worked);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Roll up a batch of freshly inserted entries, one statement per level.
+-- Same rules as apply_time_entry_delta(): a task or story whose only entries are in the batch takes
+-- the batch sum (replacing a manually entered value), otherwise the batch sum is added.
+CREATE OR REPLACE FUNCTION apply_time_entry_batch(p_entry_ids VARCHAR[])
+RETURNS VOID AS $$
+BEGIN
+    -- Lock the affected stories, then tasks, in id order (the story-before-task order of
+    -- apply_time_entry_delta() and the story move triggers), so the "only entries are in the batch"
+    -- checks below cannot race another writer.
+    -- NO KEY UPDATE leaves the foreign key locks of the inserted entries alone
+    PERFORM 1 FROM stories
+     WHERE id IN (SELECT story_id FROM time_entries WHERE id = ANY (p_entry_ids))
+     ORDER BY id FOR NO KEY UPDATE;
+    PERFORM 1 FROM tasks
+     WHERE id IN (SELECT task_id FROM time_entries WHERE id = ANY (p_entry_ids))
+     ORDER BY id FOR NO KEY UPDATE;
+
+    UPDATE stories s
+       SET actual_hours = CASE
+               WHEN EXISTS (SELECT 1 FROM time_entries o
+                             WHERE o.story_id = s.id AND o.id <> ALL (p_entry_ids))
+               THEN COALESCE(s.actual_hours, 0) + d.hours
+               ELSE d.hours
+           END
+      FROM (SELECT story_id, SUM(hours_worked) AS hours
+              FROM time_entries
+             WHERE id = ANY (p_entry_ids) AND story_id IS NOT NULL
+             GROUP BY story_id) d
+     WHERE s.id = d.story_id;
+
+    UPDATE tasks t
+       SET actual_hours = CASE
+               WHEN EXISTS (SELECT 1 FROM time_entries o
+                             WHERE o.task_id = t.id AND o.id <> ALL (p_entry_ids))
+               THEN COALESCE(t.actual_hours, 0) + d.hours
+               ELSE d.hours
+           END
+      FROM (SELECT task_id, SUM(hours_worked) AS hours
+              FROM time_entries
+             WHERE id = ANY (p_entry_ids) AND task_id IS NOT NULL
+             GROUP BY task_id) d
+     WHERE t.id = d.task_id;
+
+    INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours, updated_at)
+    SELECT 'sprint', s.sprint_id, actual_hours_shard(te.user_id), SUM(te.hours_worked), CURRENT_TIMESTAMP
+      FROM time_entries te
+      LEFT JOIN tasks t ON t.id = te.task_id
+      JOIN stories s ON s.id = COALESCE(te.story_id, t.story_id)
+     WHERE te.id = ANY (p_entry_ids) AND s.sprint_id IS NOT NULL
+     GROUP BY s.sprint_id, actual_hours_shard(te.user_id)
+    ON CONFLICT (scope_type, scope_id, shard)
+    DO UPDATE SET hours = actual_hours_rollup.hours + EXCLUDED.hours,
+                  updated_at = CURRENT_TIMESTAMP;
+
+    INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours, updated_at)
+    SELECT 'project', te.project_id, actual_hours_shard(te.user_id), SUM(te.hours_worked), CURRENT_TIMESTAMP
+      FROM time_entries te
+     WHERE te.id = ANY (p_entry_ids) AND te.project_id IS NOT NULL
+     GROUP BY te.project_id, actual_hours_shard(te.user_id)
+    ON CONFLICT (scope_type, scope_id, shard)
+    DO UPDATE SET hours = actual_hours_rollup.hours + EXCLUDED.hours,
+                  updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION apply_time_entry_batch(VARCHAR[]) IS 'Applies the summed hours of a batch of inserted time entries to tasks, stories and actual_hours_rollup';
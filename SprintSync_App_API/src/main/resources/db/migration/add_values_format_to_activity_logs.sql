@@ -0,0 +1,11 @@
+-- Migration: Add values_format column to activity_logs table
+-- 'snapshot' rows store full old/new JSON documents,
+-- 'patch' rows store RFC 6902 operations (forward patch in new_values, inverse in old_values)
+
+ALTER TABLE activity_logs ADD COLUMN IF NOT EXISTS values_format VARCHAR(20);
+
+-- Existing rows are full snapshots
+UPDATE activity_logs SET values_format = 'snapshot' WHERE values_format IS NULL;
+
+-- Reconstruction looks up the latest snapshot and the patches after it for one entity
+CREATE INDEX IF NOT EXISTS idx_activity_logs_entity_created ON activity_logs(entity_type, entity_id, created_at);
@@ -0,0 +1,26 @@
+-- Migration: Create activity_log_rollups table
+-- Pre-aggregated activity counts per time bucket, entity type, action and user.
+-- Maintained incrementally by the activity log writer; hourly buckets are compacted
+-- into daily buckets and daily into monthly buckets by ActivityLogRollupService.
+
+CREATE TABLE IF NOT EXISTS activity_log_rollups (
+    granularity VARCHAR(10) NOT NULL,         -- 'hour', 'day' or 'month'
+    bucket_start TIMESTAMP NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    action VARCHAR(100) NOT NULL,
+    user_id VARCHAR(255) NOT NULL DEFAULT '', -- '' for activities without a user
+    event_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, bucket_start, entity_type, action, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_activity_log_rollups_bucket ON activity_log_rollups(bucket_start);
+CREATE INDEX IF NOT EXISTS idx_activity_log_rollups_user ON activity_log_rollups(user_id, bucket_start);
+
+-- Backfill from existing activity logs as hourly buckets; compaction coarsens them later
+INSERT INTO activity_log_rollups (granularity, bucket_start, entity_type, action, user_id, event_count)
+SELECT 'hour', date_trunc('hour', created_at), entity_type, action, COALESCE(user_id, ''), COUNT(*)
+FROM activity_logs
+WHERE created_at IS NOT NULL
+GROUP BY date_trunc('hour', created_at), entity_type, action, COALESCE(user_id, '')
+ON CONFLICT (granularity, bucket_start, entity_type, action, user_id)
+DO UPDATE SET event_count = EXCLUDED.event_count;
@@ -0,0 +1,241 @@
+-- Migration: Delta-based actual_hours rollup from time entries up to task, story, sprint and project
+-- Replaces the update_actual_hours() trigger of create_time_entry_rollup_trigger.sql, which re-ran
+-- SUM(hours_worked) over all of a task's and story's entries on every write. Each write now applies
+-- only its own change (actual_hours += NEW - OLD), so a write touches a fixed number of rows no
+-- matter how many entries the task or story already has.
+--
+-- Sprint and project totals live in actual_hours_rollup, striped into shards by the user who logged
+-- the time: concurrent users logging against the same sprint or project update different rows
+-- instead of queueing on one hot row. Readers sum the shards.
+--
+-- Scope rules (also used by the verify-and-repair job in ActualHoursRollupService):
+--   * task:    entries with that task_id
+--   * story:   entries with that story_id
+--   * sprint:  entries whose story (story_id, or the story of task_id when story_id is empty) is in the sprint
+--   * project: entries with that project_id
+-- A task keeps a manually entered actual_hours until its first time entry; when its last entry
+-- goes away it drops to 0, as before. The same applies to stories.
+
+CREATE TABLE IF NOT EXISTS actual_hours_rollup (
+    scope_type VARCHAR(16) NOT NULL,
+    scope_id VARCHAR(255) NOT NULL,
+    shard SMALLINT NOT NULL,
+    hours NUMERIC(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (scope_type, scope_id, shard)
+);
+
+-- Shard of a user's rows (8 shards); readers always sum every shard, so the count can change with a rebuild
+CREATE OR REPLACE FUNCTION actual_hours_shard(p_user_id VARCHAR)
+RETURNS SMALLINT AS $$
+    SELECT (abs(hashtext(COALESCE(p_user_id, ''))) % 8)::SMALLINT;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Add a delta to one shard of a sprint or project total
+CREATE OR REPLACE FUNCTION add_actual_hours_rollup(p_scope_type VARCHAR, p_scope_id VARCHAR,
+                                                   p_shard SMALLINT, p_delta NUMERIC)
+RETURNS VOID AS $$
+BEGIN
+    IF p_scope_id IS NULL OR p_delta IS NULL OR p_delta = 0 THEN
+        RETURN;
+    END IF;
+    INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours, updated_at)
+    VALUES (p_scope_type, p_scope_id, p_shard, p_delta, CURRENT_TIMESTAMP)
+    ON CONFLICT (scope_type, scope_id, shard)
+    DO UPDATE SET hours = actual_hours_rollup.hours + EXCLUDED.hours,
+                  updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Apply one time entry's contribution (positive to add, negative to remove) at every level
+CREATE OR REPLACE FUNCTION apply_time_entry_delta(p_entry_id VARCHAR, p_task_id VARCHAR, p_story_id VARCHAR,
+                                                  p_project_id VARCHAR, p_user_id VARCHAR, p_delta NUMERIC)
+RETURNS VOID AS $$
+DECLARE
+    effective_story_id VARCHAR(255);
+    entry_sprint_id VARCHAR(255);
+    entry_shard SMALLINT;
+BEGIN
+    IF p_delta IS NULL OR p_delta = 0 THEN
+        RETURN;
+    END IF;
+
+    -- Lock order, here and in every trigger that touches these rows: story, then task, then
+    -- actual_hours_rollup. A story move (propagate_story_hierarchy, move_story_actual_hours) holds the
+    -- story before it updates the story's tasks, so taking the task first here could deadlock with it.
+    -- Row locks are NO KEY UPDATE, like the UPDATEs themselves, so they do not conflict with the
+    -- KEY SHARE locks the time_entries foreign key checks hold on the same rows.
+
+    -- Story: first entry replaces a manual value, removing the last entry resets to 0.
+    -- Locked before the check, so a concurrent first entry waits here and, once it runs, sees the
+    -- committed entry and takes the delta path instead of overwriting it
+    IF p_story_id IS NOT NULL THEN
+        PERFORM 1 FROM stories WHERE id = p_story_id FOR NO KEY UPDATE;
+        IF EXISTS (SELECT 1 FROM time_entries WHERE story_id = p_story_id AND id <> p_entry_id) THEN
+            UPDATE stories SET actual_hours = COALESCE(actual_hours, 0) + p_delta WHERE id = p_story_id;
+        ELSE
+            -- At most this entry is left, so the sum reads a single row
+            UPDATE stories SET actual_hours = COALESCE((
+                SELECT SUM(hours_worked) FROM time_entries WHERE story_id = p_story_id
+            ), 0) WHERE id = p_story_id;
+        END IF;
+    END IF;
+
+    -- Task: same rules
+    IF p_task_id IS NOT NULL THEN
+        PERFORM 1 FROM tasks WHERE id = p_task_id FOR NO KEY UPDATE;
+        IF EXISTS (SELECT 1 FROM time_entries WHERE task_id = p_task_id AND id <> p_entry_id) THEN
+            UPDATE tasks SET actual_hours = COALESCE(actual_hours, 0) + p_delta WHERE id = p_task_id;
+        ELSE
+            UPDATE tasks SET actual_hours = COALESCE((
+                SELECT SUM(hours_worked) FROM time_entries WHERE task_id = p_task_id
+            ), 0) WHERE id = p_task_id;
+        END IF;
+    END IF;
+
+    entry_shard := actual_hours_shard(p_user_id);
+
+    effective_story_id := p_story_id;
+    IF effective_story_id IS NULL AND p_task_id IS NOT NULL THEN
+        SELECT story_id INTO effective_story_id FROM tasks WHERE id = p_task_id;
+    END IF;
+    IF effective_story_id IS NOT NULL THEN
+        SELECT sprint_id INTO entry_sprint_id FROM stories WHERE id = effective_story_id;
+        PERFORM add_actual_hours_rollup('sprint', entry_sprint_id, entry_shard, p_delta);
+    END IF;
+
+    PERFORM add_actual_hours_rollup('project', p_project_id, entry_shard, p_delta);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Time entry trigger: apply NEW - OLD, or move the whole entry when its scope changed
+CREATE OR REPLACE FUNCTION update_actual_hours()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                       NEW.hours_worked);
+        RETURN NEW;
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM apply_time_entry_delta(OLD.id, OLD.task_id, OLD.story_id, OLD.project_id, OLD.user_id,
+                                       -OLD.hours_worked);
+        RETURN OLD;
+    END IF;
+
+    IF NEW.task_id IS NOT DISTINCT FROM OLD.task_id
+       AND NEW.story_id IS NOT DISTINCT FROM OLD.story_id
+       AND NEW.project_id IS NOT DISTINCT FROM OLD.project_id
+       AND NEW.user_id IS NOT DISTINCT FROM OLD.user_id THEN
+        IF NEW.hours_worked IS DISTINCT FROM OLD.hours_worked THEN
+            PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                           COALESCE(NEW.hours_worked, 0) - COALESCE(OLD.hours_worked, 0));
+        END IF;
+    ELSE
+        PERFORM apply_time_entry_delta(OLD.id, OLD.task_id, OLD.story_id, OLD.project_id, OLD.user_id,
+                                       -OLD.hours_worked);
+        PERFORM apply_time_entry_delta(NEW.id, NEW.task_id, NEW.story_id, NEW.project_id, NEW.user_id,
+                                       NEW.hours_worked);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS time_entry_rollup_trigger ON time_entries;
+CREATE TRIGGER time_entry_rollup_trigger
+    AFTER INSERT OR UPDATE OR DELETE ON time_entries
+    FOR EACH ROW
+    EXECUTE FUNCTION update_actual_hours();
+
+-- Story moved to another sprint: move the hours of its entries between the sprint totals
+CREATE OR REPLACE FUNCTION move_story_actual_hours()
+RETURNS TRIGGER AS $$
+DECLARE
+    moved RECORD;
+BEGIN
+    IF NEW.sprint_id IS NOT DISTINCT FROM OLD.sprint_id THEN
+        RETURN NEW;
+    END IF;
+    -- Story, then its tasks, then the rollup rows (see apply_time_entry_delta). This trigger fires
+    -- before propagate_story_hierarchy() updates the tasks, so they are locked here first
+    PERFORM 1 FROM tasks WHERE story_id = NEW.id ORDER BY id FOR NO KEY UPDATE;
+    FOR moved IN
+        SELECT actual_hours_shard(e.user_id) AS shard, SUM(e.hours_worked) AS hours
+          FROM (SELECT te.user_id, te.hours_worked
+                  FROM time_entries te
+                 WHERE te.story_id = NEW.id
+                UNION ALL
+                SELECT te.user_id, te.hours_worked
+                  FROM time_entries te
+                  JOIN tasks t ON t.id = te.task_id
+                 WHERE t.story_id = NEW.id AND te.story_id IS NULL) e
+         GROUP BY 1
+    LOOP
+        PERFORM add_actual_hours_rollup('sprint', OLD.sprint_id, moved.shard, -moved.hours);
+        PERFORM add_actual_hours_rollup('sprint', NEW.sprint_id, moved.shard, moved.hours);
+    END LOOP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_move_story_actual_hours ON stories;
+CREATE TRIGGER trigger_move_story_actual_hours
+    AFTER UPDATE OF sprint_id ON stories
+    FOR EACH ROW
+    EXECUTE FUNCTION move_story_actual_hours();
+
+-- Task moved to another story: entries without a story_id follow the task's story into its sprint
+CREATE OR REPLACE FUNCTION move_task_actual_hours()
+RETURNS TRIGGER AS $$
+DECLARE
+    moved RECORD;
+    old_sprint_id VARCHAR(255);
+    new_sprint_id VARCHAR(255);
+BEGIN
+    IF NEW.story_id IS NOT DISTINCT FROM OLD.story_id THEN
+        RETURN NEW;
+    END IF;
+    SELECT sprint_id INTO old_sprint_id FROM stories WHERE id = OLD.story_id;
+    SELECT sprint_id INTO new_sprint_id FROM stories WHERE id = NEW.story_id;
+    IF old_sprint_id IS NOT DISTINCT FROM new_sprint_id THEN
+        RETURN NEW;
+    END IF;
+    FOR moved IN
+        SELECT actual_hours_shard(te.user_id) AS shard, SUM(te.hours_worked) AS hours
+          FROM time_entries te
+         WHERE te.task_id = NEW.id AND te.story_id IS NULL
+         GROUP BY 1
+    LOOP
+        PERFORM add_actual_hours_rollup('sprint', old_sprint_id, moved.shard, -moved.hours);
+        PERFORM add_actual_hours_rollup('sprint', new_sprint_id, moved.shard, moved.hours);
+    END LOOP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trigger_move_task_actual_hours ON tasks;
+CREATE TRIGGER trigger_move_task_actual_hours
+    AFTER UPDATE OF story_id ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION move_task_actual_hours();
+
+CREATE INDEX IF NOT EXISTS idx_time_entries_project_id ON time_entries(project_id) WHERE project_id IS NOT NULL;
+
+-- Backfill sprint and project totals
+DELETE FROM actual_hours_rollup;
+
+INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours)
+SELECT 'sprint', s.sprint_id, actual_hours_shard(te.user_id), SUM(te.hours_worked)
+  FROM time_entries te
+  LEFT JOIN tasks t ON t.id = te.task_id
+  JOIN stories s ON s.id = COALESCE(te.story_id, t.story_id)
+ WHERE s.sprint_id IS NOT NULL
+ GROUP BY s.sprint_id, actual_hours_shard(te.user_id);
+
+INSERT INTO actual_hours_rollup (scope_type, scope_id, shard, hours)
+SELECT 'project', te.project_id, actual_hours_shard(te.user_id), SUM(te.hours_worked)
+  FROM time_entries te
+ WHERE te.project_id IS NOT NULL
+ GROUP BY te.project_id, actual_hours_shard(te.user_id);
+
+COMMENT ON FUNCTION update_actual_hours() IS 'Applies the hours delta of a time entry write to tasks, stories and the sprint/project actual_hours_rollup';
+COMMENT ON TABLE actual_hours_rollup IS 'Sprint and project actual hours, striped by user shard; sum the shards to read a total';
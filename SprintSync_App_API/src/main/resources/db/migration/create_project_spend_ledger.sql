@@ -0,0 +1,184 @@
+-- Migration: Create project_spend_ledger, the pre-summed spend per project and assignee
+-- Spend counts completed (done) tasks only: hours come from the task's time entries, or from the
+-- task's manual actual_hours when it has no time entries, multiplied by the assignee's hourly rate.
+-- Triggers on tasks and users apply each change as a signed delta to the affected row(s) inside the
+-- writing transaction, so reading a project's spend is a single indexed SUM over a handful of rows
+-- and no write re-aggregates a project's tasks or entries.
+
+CREATE TABLE IF NOT EXISTS project_spend_ledger (
+    project_id VARCHAR(255) NOT NULL,
+    assignee_id VARCHAR(255) NOT NULL,
+    hours NUMERIC(12,2) NOT NULL DEFAULT 0,
+    hourly_rate NUMERIC(10,2) NOT NULL DEFAULT 0,
+    spend NUMERIC(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (project_id, assignee_id)
+);
+
+-- Completed tasks behind the row; the row is removed when it drops to 0
+ALTER TABLE project_spend_ledger ADD COLUMN IF NOT EXISTS task_count INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_project_spend_ledger_assignee ON project_spend_ledger(assignee_id);
+
+-- Recompute the ledger row of one (project, assignee) pair from the source tables.
+-- Used by the verify-and-repair job in ProjectSpendLedgerService, not by the triggers.
+CREATE OR REPLACE FUNCTION refresh_project_spend_ledger(p_project_id VARCHAR, p_assignee_id VARCHAR)
+RETURNS VOID AS $$
+DECLARE
+    done_tasks INTEGER;
+    total_hours NUMERIC;
+    rate NUMERIC;
+BEGIN
+    IF p_project_id IS NULL OR p_assignee_id IS NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT COUNT(*),
+           COALESCE(SUM(CASE
+               WHEN EXISTS (SELECT 1 FROM time_entries te WHERE te.task_id = t.id)
+                   THEN (SELECT COALESCE(SUM(te.hours_worked), 0) FROM time_entries te WHERE te.task_id = t.id)
+               ELSE COALESCE(t.actual_hours, 0)
+           END), 0)
+      INTO done_tasks, total_hours
+      FROM tasks t
+      JOIN stories s ON s.id = t.story_id
+     WHERE s.project_id = p_project_id
+       AND t.assignee_id = p_assignee_id
+       AND LOWER(t.status) = 'done';
+
+    IF done_tasks = 0 THEN
+        DELETE FROM project_spend_ledger WHERE project_id = p_project_id AND assignee_id = p_assignee_id;
+        RETURN;
+    END IF;
+
+    SELECT COALESCE(hourly_rate, 0) INTO rate FROM users WHERE id = p_assignee_id;
+    rate := COALESCE(rate, 0);
+
+    INSERT INTO project_spend_ledger (project_id, assignee_id, hours, hourly_rate, spend, task_count, updated_at)
+    VALUES (p_project_id, p_assignee_id, total_hours, rate, total_hours * rate, done_tasks, CURRENT_TIMESTAMP)
+    ON CONFLICT (project_id, assignee_id) DO UPDATE
+        SET hours = EXCLUDED.hours,
+            hourly_rate = EXCLUDED.hourly_rate,
+            spend = EXCLUDED.spend,
+            task_count = EXCLUDED.task_count,
+            updated_at = EXCLUDED.updated_at;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Apply one task's contribution (positive to add, negative to remove) to its (project, assignee) row.
+-- Only the changed row is touched: hours move by the delta, spend is repriced from the new hours, and
+-- the row goes away with its last completed task.
+CREATE OR REPLACE FUNCTION add_project_spend(p_project_id VARCHAR, p_assignee_id VARCHAR,
+                                             p_hours NUMERIC, p_tasks INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    IF p_project_id IS NULL OR p_assignee_id IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO project_spend_ledger (project_id, assignee_id, hours, hourly_rate, spend, task_count, updated_at)
+    SELECT p_project_id, p_assignee_id, p_hours, rate, p_hours * rate, p_tasks, CURRENT_TIMESTAMP
+      FROM (SELECT COALESCE((SELECT hourly_rate FROM users WHERE id = p_assignee_id), 0) AS rate) r
+    ON CONFLICT (project_id, assignee_id) DO UPDATE
+        SET hours = project_spend_ledger.hours + EXCLUDED.hours,
+            spend = (project_spend_ledger.hours + EXCLUDED.hours) * project_spend_ledger.hourly_rate,
+            task_count = project_spend_ledger.task_count + EXCLUDED.task_count,
+            updated_at = CURRENT_TIMESTAMP;
+
+    IF p_tasks < 0 THEN
+        DELETE FROM project_spend_ledger
+         WHERE project_id = p_project_id AND assignee_id = p_assignee_id AND task_count <= 0;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tasks: remove the OLD row's contribution and add the NEW one's. A task's hours are its actual_hours,
+-- which the time entry rollup (create_actual_hours_delta_rollup.sql) keeps equal to the sum of its
+-- entries once it has any, so logged time reaches the ledger through the tasks UPDATE of actual_hours.
+-- The project is the task's denormalized project_id (add_hierarchy_columns_to_tasks_and_subtasks.sql),
+-- which story moves push down to the tasks, so they reach the ledger the same way.
+CREATE OR REPLACE FUNCTION project_spend_ledger_on_task()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND LOWER(OLD.status) = 'done' THEN
+        PERFORM add_project_spend(OLD.project_id, OLD.assignee_id, -COALESCE(OLD.actual_hours, 0), -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND LOWER(NEW.status) = 'done' THEN
+        PERFORM add_project_spend(NEW.project_id, NEW.assignee_id, COALESCE(NEW.actual_hours, 0), 1);
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS task_spend_ledger_trigger ON tasks;
+CREATE TRIGGER task_spend_ledger_trigger
+    AFTER INSERT OR DELETE ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION project_spend_ledger_on_task();
+
+-- story_id is listed because moving a task to another story changes project_id in a BEFORE trigger;
+-- full-row updates that leave the relevant columns unchanged skip the trigger through WHEN
+DROP TRIGGER IF EXISTS task_spend_ledger_update_trigger ON tasks;
+CREATE TRIGGER task_spend_ledger_update_trigger
+    AFTER UPDATE OF status, actual_hours, assignee_id, story_id, project_id ON tasks
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status
+          OR OLD.actual_hours IS DISTINCT FROM NEW.actual_hours
+          OR OLD.assignee_id IS DISTINCT FROM NEW.assignee_id
+          OR OLD.project_id IS DISTINCT FROM NEW.project_id)
+    EXECUTE FUNCTION project_spend_ledger_on_task();
+
+-- Superseded by the actual_hours and project_id paths above
+DROP TRIGGER IF EXISTS time_entry_spend_ledger_trigger ON time_entries;
+DROP FUNCTION IF EXISTS project_spend_ledger_on_time_entry();
+DROP TRIGGER IF EXISTS story_spend_ledger_trigger ON stories;
+DROP FUNCTION IF EXISTS project_spend_ledger_on_story();
+
+-- Users: a new hourly rate reprices the user's ledger rows without re-aggregating hours
+CREATE OR REPLACE FUNCTION project_spend_ledger_on_user_rate()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE project_spend_ledger
+       SET hourly_rate = COALESCE(NEW.hourly_rate, 0),
+           spend = hours * COALESCE(NEW.hourly_rate, 0),
+           updated_at = CURRENT_TIMESTAMP
+     WHERE assignee_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS user_spend_ledger_trigger ON users;
+CREATE TRIGGER user_spend_ledger_trigger
+    AFTER UPDATE OF hourly_rate ON users
+    FOR EACH ROW
+    WHEN (OLD.hourly_rate IS DISTINCT FROM NEW.hourly_rate)
+    EXECUTE FUNCTION project_spend_ledger_on_user_rate();
+
+-- Backfill from existing data (rewritten on re-runs, so task_count is always filled)
+DELETE FROM project_spend_ledger;
+
+INSERT INTO project_spend_ledger (project_id, assignee_id, hours, hourly_rate, spend, task_count)
+SELECT src.project_id, src.assignee_id, src.hours, COALESCE(u.hourly_rate, 0), src.hours * COALESCE(u.hourly_rate, 0),
+       src.task_count
+FROM (
+    SELECT s.project_id, t.assignee_id, COUNT(*) AS task_count,
+           COALESCE(SUM(CASE
+               WHEN te.total IS NOT NULL THEN te.total
+               ELSE COALESCE(t.actual_hours, 0)
+           END), 0) AS hours
+    FROM tasks t
+    JOIN stories s ON s.id = t.story_id
+    LEFT JOIN (
+        SELECT task_id, SUM(hours_worked) AS total FROM time_entries WHERE task_id IS NOT NULL GROUP BY task_id
+    ) te ON te.task_id = t.id
+    WHERE t.assignee_id IS NOT NULL
+      AND s.project_id IS NOT NULL
+      AND LOWER(t.status) = 'done'
+    GROUP BY s.project_id, t.assignee_id
+) src
+LEFT JOIN users u ON u.id = src.assignee_id;
+
+COMMENT ON TABLE project_spend_ledger IS 'Spend per project and assignee for completed tasks, maintained by triggers and verified by ProjectSpendLedgerService';
@@ -0,0 +1,26 @@
+-- Migration: Running time entry timers
+-- Active timers are held in memory by TimeEntryTimerService (one per user) and only checkpointed here:
+-- on start, periodically for timers that were paused, resumed or edited since their last checkpoint,
+-- and on shutdown; the row is removed when the timer is stopped (in the same transaction that creates
+-- its time entry) or discarded. Checkpoints match the row on (user_id, started_at).
+-- After a restart the service reloads every row, so a running timer continues from running_since and
+-- at most the pause/resume and edits since the last periodic checkpoint are lost.
+
+CREATE TABLE IF NOT EXISTS time_entry_timers (
+    user_id VARCHAR(255) PRIMARY KEY,
+    project_id VARCHAR(255),
+    story_id VARCHAR(255),
+    task_id VARCHAR(255),
+    subtask_id VARCHAR(255),
+    description TEXT,
+    entry_type VARCHAR(50),
+    is_billable BOOLEAN NOT NULL DEFAULT TRUE,
+    started_at TIMESTAMP NOT NULL,
+    -- Seconds accumulated by earlier running stretches (before the last pause)
+    accumulated_seconds BIGINT NOT NULL DEFAULT 0,
+    -- Start of the current running stretch, NULL while paused
+    running_since TIMESTAMP,
+    checkpointed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE time_entry_timers IS 'Checkpoints of running timers held in memory by TimeEntryTimerService';
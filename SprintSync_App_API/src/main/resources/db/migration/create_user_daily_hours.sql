@@ -0,0 +1,28 @@
+-- Migration: Per-user daily hours rollup for timesheets
+-- One row per (user, work_date, project, billable) holding the summed hours and entry count of the
+-- matching time entries. TimeEntryService applies each create, update and delete to its row(s) in the
+-- same transaction, so a week or month timesheet is a single range read on the primary key
+-- (user_id, work_date, ...) no matter how many entries the user logged. Entries removed by FK cascades
+-- or written by direct SQL bypass the service; UserDailyHoursService.verify repairs those rows.
+-- Entries without a project are stored under project_id '' (primary key columns cannot be NULL).
+
+CREATE TABLE IF NOT EXISTS user_daily_hours (
+    user_id VARCHAR(255) NOT NULL,
+    work_date DATE NOT NULL,
+    project_id VARCHAR(255) NOT NULL DEFAULT '',
+    is_billable BOOLEAN NOT NULL,
+    hours NUMERIC(10,2) NOT NULL DEFAULT 0,
+    entry_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, work_date, project_id, is_billable)
+);
+
+-- Backfill from existing time entries
+DELETE FROM user_daily_hours;
+
+INSERT INTO user_daily_hours (user_id, work_date, project_id, is_billable, hours, entry_count)
+SELECT user_id, work_date, COALESCE(project_id, ''), is_billable, SUM(hours_worked), COUNT(*)
+  FROM time_entries
+ GROUP BY user_id, work_date, COALESCE(project_id, ''), is_billable;
+
+COMMENT ON TABLE user_daily_hours IS 'Hours per user, day, project and billable flag maintained by TimeEntryService; backs the timesheet endpoint';
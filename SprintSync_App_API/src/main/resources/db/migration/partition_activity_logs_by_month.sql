@@ -0,0 +1,86 @@
+-- Migration: Convert activity_logs to a table range-partitioned by month on created_at
+-- New monthly partitions are created ahead of time and old ones detached/dropped by
+-- ActivityLogPartitionService (app.activity-log.partition.* properties).
+-- Partitions are named activity_logs_yYYYYmMM; rows outside every range land in activity_logs_default.
+-- LIKE ... INCLUDING DEFAULTS copies columns, NOT NULL and defaults only: the primary key and indexes are
+-- declared again below, and the legacy table's foreign keys (user_id -> users) and check constraints are
+-- recreated from its catalog entries before it is dropped. Nothing references activity_logs.
+
+BEGIN;
+
+-- Move the existing table out of the way, freeing its constraint and index names
+ALTER TABLE activity_logs RENAME TO activity_logs_legacy;
+ALTER TABLE activity_logs_legacy RENAME CONSTRAINT activity_logs_pkey TO activity_logs_legacy_pkey;
+ALTER INDEX IF EXISTS idx_activity_logs_entity_created RENAME TO idx_activity_logs_legacy_entity_created;
+
+-- Same columns as before; the partition key has to be part of the primary key
+CREATE TABLE activity_logs (
+    LIKE activity_logs_legacy INCLUDING DEFAULTS,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER TABLE activity_logs ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP;
+
+-- Indexes are created on every partition; each leads with the filter column and ends
+-- with created_at so ORDER BY created_at DESC queries can merge partitions in order
+CREATE INDEX IF NOT EXISTS idx_activity_logs_user_created ON activity_logs(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_entity_created ON activity_logs(entity_type, entity_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_type_created ON activity_logs(entity_type, created_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_action_created ON activity_logs(action, created_at);
+CREATE INDEX IF NOT EXISTS idx_activity_logs_created ON activity_logs(created_at);
+
+-- One partition per month from the oldest existing row up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+    INTO month_start
+    FROM activity_logs_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+            'activity_logs_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+CREATE TABLE IF NOT EXISTS activity_logs_default PARTITION OF activity_logs DEFAULT;
+
+-- Copy existing rows; rows without a timestamp get the migration time
+INSERT INTO activity_logs
+SELECT * FROM activity_logs_legacy WHERE created_at IS NOT NULL;
+
+UPDATE activity_logs_legacy SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+INSERT INTO activity_logs
+SELECT * FROM activity_logs_legacy l
+WHERE NOT EXISTS (SELECT 1 FROM activity_logs a WHERE a.id = l.id);
+
+-- Carry over foreign keys and check constraints under their original names (validated against the copied rows)
+DO $$
+DECLARE
+    c RECORD;
+BEGIN
+    FOR c IN
+        SELECT conname, pg_get_constraintdef(oid) AS definition
+        FROM pg_constraint
+        WHERE conrelid = 'activity_logs_legacy'::regclass AND contype IN ('f', 'c')
+    LOOP
+        EXECUTE format('ALTER TABLE activity_logs ADD CONSTRAINT %I %s', c.conname, c.definition);
+    END LOOP;
+END $$;
+
+DROP TABLE activity_logs_legacy;
+
+COMMIT;
+
+-- Verify partition layout
+SELECT c.relname AS partition_name, pg_get_expr(c.relpartbound, c.oid) AS bounds
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'activity_logs'::regclass
+ORDER BY c.relname;
@@ -0,0 +1,158 @@
+package com.sprintsync.api.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent writes against create_actual_hours_delta_rollup.sql: two first time entries racing to
+ * replace a manual actual_hours value must both count, and a time entry racing a story move
+ * (add_hierarchy_columns_to_tasks_and_subtasks.sql) must neither deadlock nor lose sprint hours.
+ */
+@EnabledIfEnvironmentVariable(named = MigrationTestDatabase.URL_VARIABLE, matches = ".+")
+class ActualHoursDeltaRollupConcurrencyTest {
+
+    private MigrationTestDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new MigrationTestDatabase();
+        jdbcTemplate = database.jdbcTemplate();
+        jdbcTemplate.execute("CREATE TABLE stories (id VARCHAR(255) PRIMARY KEY, project_id VARCHAR(255), " +
+            "sprint_id VARCHAR(255), epic_id VARCHAR(255), actual_hours NUMERIC(10,2))");
+        jdbcTemplate.execute("CREATE TABLE tasks (id VARCHAR(255) PRIMARY KEY, story_id VARCHAR(255), " +
+            "status VARCHAR(50), actual_hours NUMERIC(10,2))");
+        jdbcTemplate.execute("CREATE TABLE subtasks (id VARCHAR(255) PRIMARY KEY, " +
+            "task_id VARCHAR(255) REFERENCES tasks(id), is_completed BOOLEAN)");
+        // Foreign keys as in the real schema: their KEY SHARE locks must not deadlock with the rollup's row locks
+        jdbcTemplate.execute("CREATE TABLE time_entries (id VARCHAR(255) PRIMARY KEY, " +
+            "task_id VARCHAR(255) REFERENCES tasks(id) ON DELETE SET NULL, " +
+            "story_id VARCHAR(255) REFERENCES stories(id) ON DELETE SET NULL, " +
+            "project_id VARCHAR(255), user_id VARCHAR(255), hours_worked NUMERIC(10,2))");
+        database.runMigration("create_actual_hours_delta_rollup.sql");
+        database.runMigration("add_hierarchy_columns_to_tasks_and_subtasks.sql");
+
+        // Manual values that the first entries replace
+        jdbcTemplate.update("INSERT INTO stories (id, project_id, sprint_id, actual_hours) " +
+            "VALUES ('STRY1', 'PROJ1', 'SPRT1', 7)");
+        jdbcTemplate.update("INSERT INTO tasks (id, story_id, actual_hours) VALUES ('TASK1', 'STRY1', 5)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void concurrentFirstEntriesAreBothCounted() throws Exception {
+        try (Connection first = database.openTransaction(); Connection second = database.openTransaction()) {
+            insertEntry(first, "TENT1", "USER1", "2.00");
+
+            // Blocks behind the first transaction's lock on the task
+            CompletableFuture<Void> racing = CompletableFuture.runAsync(() -> {
+                try {
+                    insertEntry(second, "TENT2", "USER2", "3.00");
+                    second.commit();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            database.awaitLockWaiter();
+            first.commit();
+            racing.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(new BigDecimal("5.00"),
+            jdbcTemplate.queryForObject("SELECT actual_hours FROM tasks WHERE id = 'TASK1'", BigDecimal.class));
+        assertEquals(new BigDecimal("5.00"),
+            jdbcTemplate.queryForObject("SELECT actual_hours FROM stories WHERE id = 'STRY1'", BigDecimal.class));
+        assertEquals(new BigDecimal("5.00"), jdbcTemplate.queryForObject(
+            "SELECT SUM(hours) FROM actual_hours_rollup WHERE scope_type = 'sprint' AND scope_id = 'SPRT1'",
+            BigDecimal.class));
+    }
+
+    @Test
+    void entryRacingStoryMoveLandsInTheNewSprint() throws Exception {
+        try (Connection entry = database.openTransaction(); Connection move = database.openTransaction()) {
+            insertEntry(entry, "TENT1", "USER1", "2.00");
+
+            // The move locks the story and then its tasks, the same order as the entry, so it just waits
+            CompletableFuture<Void> racing = CompletableFuture.runAsync(() -> {
+                try (PreparedStatement statement = move.prepareStatement(
+                        "UPDATE stories SET sprint_id = 'SPRT2' WHERE id = 'STRY1'")) {
+                    statement.executeUpdate();
+                    move.commit();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            database.awaitLockWaiter();
+            entry.commit();
+            racing.get(10, TimeUnit.SECONDS);
+        }
+
+        assertSprintHours("SPRT1", "0.00");
+        assertSprintHours("SPRT2", "2.00");
+        assertEquals("SPRT2",
+            jdbcTemplate.queryForObject("SELECT sprint_id FROM tasks WHERE id = 'TASK1'", String.class));
+    }
+
+    @Test
+    void storyMoveRacingTaskOnlyEntryKeepsSprintTotals() throws Exception {
+        try (Connection move = database.openTransaction(); Connection entry = database.openTransaction()) {
+            try (PreparedStatement statement = move.prepareStatement(
+                    "UPDATE stories SET sprint_id = 'SPRT2' WHERE id = 'STRY1'")) {
+                statement.executeUpdate();
+            }
+
+            // An entry without a story_id only locks the task, which the move already holds
+            CompletableFuture<Void> racing = CompletableFuture.runAsync(() -> {
+                try (PreparedStatement statement = entry.prepareStatement(
+                        "INSERT INTO time_entries (id, task_id, project_id, user_id, hours_worked) " +
+                        "VALUES ('TENT1', 'TASK1', 'PROJ1', 'USER1', 3.00)")) {
+                    statement.executeUpdate();
+                    entry.commit();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            database.awaitLockWaiter();
+            move.commit();
+            racing.get(10, TimeUnit.SECONDS);
+        }
+
+        assertSprintHours("SPRT1", "0.00");
+        assertSprintHours("SPRT2", "3.00");
+        assertEquals(new BigDecimal("3.00"),
+            jdbcTemplate.queryForObject("SELECT actual_hours FROM tasks WHERE id = 'TASK1'", BigDecimal.class));
+    }
+
+    private void assertSprintHours(String sprintId, String expected) {
+        assertEquals(new BigDecimal(expected), jdbcTemplate.queryForObject(
+            "SELECT COALESCE(SUM(hours), 0.00) FROM actual_hours_rollup WHERE scope_type = 'sprint' AND scope_id = ?",
+            BigDecimal.class, sprintId));
+    }
+
+    private static void insertEntry(Connection connection, String id, String userId, String hours) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO time_entries (id, task_id, story_id, project_id, user_id, hours_worked) " +
+                "VALUES (?, 'TASK1', 'STRY1', 'PROJ1', ?, ?)")) {
+            statement.setString(1, id);
+            statement.setString(2, userId);
+            statement.setBigDecimal(3, new BigDecimal(hours));
+            statement.executeUpdate();
+        }
+    }
+}
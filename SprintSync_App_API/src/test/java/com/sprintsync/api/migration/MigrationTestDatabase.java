@@ -0,0 +1,80 @@
+package com.sprintsync.api.migration;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * A throwaway schema in the PostgreSQL database named by SPRINTSYNC_TEST_DATABASE_URL (with
+ * SPRINTSYNC_TEST_DATABASE_USER / SPRINTSYNC_TEST_DATABASE_PASSWORD), for tests that run
+ * migrations against a real server. Each connection of the data source uses the schema.
+ *
+ * @author SprintSync Team
+ */
+final class MigrationTestDatabase implements AutoCloseable {
+
+    static final String URL_VARIABLE = "SPRINTSYNC_TEST_DATABASE_URL";
+
+    private final String schema = "migration_test_" + UUID.randomUUID().toString().replace("-", "");
+    private final DriverManagerDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    MigrationTestDatabase() {
+        String url = System.getenv(URL_VARIABLE);
+        String user = System.getenv("SPRINTSYNC_TEST_DATABASE_USER");
+        String password = System.getenv("SPRINTSYNC_TEST_DATABASE_PASSWORD");
+        new JdbcTemplate(new DriverManagerDataSource(url, user, password)).execute("CREATE SCHEMA " + schema);
+        dataSource = new DriverManagerDataSource(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema,
+            user, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * A new connection with auto-commit off, for driving a transaction by hand.
+     */
+    Connection openTransaction() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    /**
+     * Run a migration file from db/migration as a single script (the driver splits it, dollar quotes included).
+     */
+    void runMigration(String fileName) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/migration/" + fileName));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        populator.execute(dataSource);
+    }
+
+    /**
+     * Wait until some session of this test is blocked on a lock, so the next step is known to race.
+     */
+    void awaitLockWaiter() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+                Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("No session started waiting on a lock");
+    }
+
+    @Override
+    public void close() {
+        jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+    }
+}
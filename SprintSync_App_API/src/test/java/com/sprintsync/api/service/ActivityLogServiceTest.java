@@ -0,0 +1,86 @@
+package com.sprintsync.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hand-off of logged activities to the write-behind buffer.
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityLogServiceTest {
+
+    @Mock
+    private IdGenerationService idGenerationService;
+
+    @Mock
+    private ActivityLogWriteBuffer activityLogWriteBuffer;
+
+    @Mock
+    private ActivityFeedHub activityFeedHub;
+
+    @InjectMocks
+    private ActivityLogService activityLogService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void activityIsEnqueuedImmediatelyWithoutTransaction() {
+        when(idGenerationService.generateActivityLogId()).thenReturn("ACT1");
+
+        activityLogService.logActivity("USER1", "task", "TASK1", "updated", "Task updated",
+            Map.of("title", "old"), Map.of("title", "new"));
+
+        verify(activityLogWriteBuffer).enqueue(argThat(pending -> "ACT1".equals(pending.getLog().getId())));
+        verify(activityFeedHub).publish(any());
+    }
+
+    @Test
+    void activityIsEnqueuedOnlyAfterCommit() {
+        when(idGenerationService.generateActivityLogId()).thenReturn("ACT1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        activityLogService.logActivity("USER1", "task", "TASK1", "updated", "Task updated",
+            Map.of("title", "old"), Map.of("title", "new"));
+
+        verify(activityLogWriteBuffer, never()).enqueue(any());
+        verify(activityFeedHub, never()).publish(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(activityLogWriteBuffer).enqueue(argThat(pending -> "ACT1".equals(pending.getLog().getId())));
+        verify(activityFeedHub).publish(any());
+    }
+
+    @Test
+    void rolledBackActivityIsNeverEnqueued() {
+        when(idGenerationService.generateActivityLogId()).thenReturn("ACT1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        activityLogService.logActivity("USER1", "task", "TASK1", "updated", "Task updated",
+            Map.of("title", "old"), Map.of("title", "new"));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(activityLogWriteBuffer, never()).enqueue(any());
+        verify(activityFeedHub, never()).publish(any());
+    }
+}
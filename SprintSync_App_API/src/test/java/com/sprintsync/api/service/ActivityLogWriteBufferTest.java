@@ -0,0 +1,218 @@
+package com.sprintsync.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sprintsync.api.entity.ActivityLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batching, binding and overflow handling of {@link ActivityLogWriteBuffer} against a mocked JdbcTemplate.
+ * The writer thread is not started; tests call flush() directly.
+ */
+class ActivityLogWriteBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ActivityLogRollupService rollupService;
+    private ActivityLogWriteBuffer buffer;
+    private final List<List<ActivityLog>> batches = new ArrayList<>();
+    private PreparedStatement statement;
+    private ActivityLogDiffEncoder encoder;
+    private int failingBatches;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        rollupService = mock(ActivityLogRollupService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        statement = mock(PreparedStatement.class);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                if (failingBatches > 0) {
+                    failingBatches--;
+                    throw new IllegalStateException("database unavailable");
+                }
+                List<ActivityLog> rows = new ArrayList<>((Collection<ActivityLog>) invocation.getArgument(1));
+                ParameterizedPreparedStatementSetter<ActivityLog> setter = invocation.getArgument(3);
+                for (ActivityLog row : rows) {
+                    setter.setValues(statement, row);
+                }
+                batches.add(rows);
+                int[] counts = new int[rows.size()];
+                Arrays.fill(counts, 1);
+                return new int[][] {counts};
+            });
+
+        encoder = new ActivityLogDiffEncoder();
+        ReflectionTestUtils.setField(encoder, "enabled", true);
+        ReflectionTestUtils.setField(encoder, "snapshotInterval", 20);
+        buffer = new ActivityLogWriteBuffer(jdbcTemplate, encoder, rollupService, transactionManager,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(buffer, "capacity", 100);
+        ReflectionTestUtils.setField(buffer, "batchSize", 2);
+        ReflectionTestUtils.setField(buffer, "overflowPolicy", ActivityLogWriteBuffer.OverflowPolicy.BLOCK);
+        ReflectionTestUtils.setField(buffer, "spillFile", tempDir.resolve("spill.jsonl").toString());
+    }
+
+    @Test
+    void flushWritesQueuedActivitiesInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(buffer.enqueue(activity("ACT" + i, "TASK" + i, LocalDateTime.now())));
+        }
+        assertEquals(5, buffer.getPendingCount());
+
+        buffer.flush();
+
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        for (List<ActivityLog> batch : batches) {
+            verify(rollupService).record(batch);
+            for (ActivityLog row : batch) {
+                assertEquals(ActivityLogDiffEncoder.FORMAT_SNAPSHOT, row.getValuesFormat());
+                assertTrue(row.getNewValues().contains("\"title\""));
+            }
+        }
+    }
+
+    @Test
+    void createdAtIsBoundAsUtc() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 31, 1, 30, 15, 123456000);
+        buffer.enqueue(activity("ACT1", "TASK1", createdAt));
+
+        buffer.flush();
+
+        verify(statement).setTimestamp(eq(12), eq(Timestamp.valueOf(createdAt)),
+            argThat(calendar -> "UTC".equals(calendar.getTimeZone().getID())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchIsNotRecorded() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new IllegalStateException("database unavailable"));
+        buffer.enqueue(activity("ACT1", "TASK1", LocalDateTime.now()));
+
+        buffer.flush();
+
+        assertEquals(0, buffer.getPendingCount());
+        verify(rollupService, never()).record(any());
+    }
+
+    @Test
+    void dropPolicyRejectsActivitiesPastCapacity() {
+        ReflectionTestUtils.setField(buffer, "capacity", 1);
+        ReflectionTestUtils.setField(buffer, "overflowPolicy", ActivityLogWriteBuffer.OverflowPolicy.DROP);
+
+        assertTrue(buffer.enqueue(activity("ACT1", "TASK1", LocalDateTime.now())));
+        assertFalse(buffer.enqueue(activity("ACT2", "TASK2", LocalDateTime.now())));
+        buffer.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals("ACT1", batches.get(0).get(0).getId());
+    }
+
+    @Test
+    void historyReconstructsAfterOverflowAndFailedBatches() throws Exception {
+        ReflectionTestUtils.setField(buffer, "capacity", 2);
+        ReflectionTestUtils.setField(buffer, "batchSize", 10);
+        ReflectionTestUtils.setField(buffer, "overflowPolicy", ActivityLogWriteBuffer.OverflowPolicy.SPILL);
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+        // v1 and v2 are queued; v3 overflows and v4, v5 follow it into the spill file
+        for (int version = 1; version <= 5; version++) {
+            assertTrue(buffer.enqueue(change(version, start)));
+        }
+        buffer.flush();
+
+        // Back to the queue; v6 starts a new chain, v7 patches it
+        buffer.enqueue(change(6, start));
+        buffer.enqueue(change(7, start));
+        buffer.flush();
+
+        // v8 fails to insert and is spilled; v9 must not patch against it, v8 is retried as a snapshot
+        failingBatches = 2;
+        buffer.enqueue(change(8, start));
+        buffer.flush();
+        buffer.enqueue(change(9, start));
+        buffer.flush();
+        buffer.enqueue(change(10, start));
+        buffer.flush();
+
+        List<ActivityLog> rows = new ArrayList<>();
+        batches.forEach(rows::addAll);
+        rows.sort(Comparator.comparing(ActivityLog::getCreatedAt).thenComparing(ActivityLog::getId));
+        assertEquals(10, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> ActivityLogDiffEncoder.FORMAT_PATCH.equals(row.getValuesFormat())));
+
+        // Every row's state, rebuilt from the latest snapshot at or before it, equals what was logged
+        for (int i = 0; i < rows.size(); i++) {
+            int anchor = i;
+            while (!ActivityLogDiffEncoder.FORMAT_SNAPSHOT.equals(rows.get(anchor).getValuesFormat())) {
+                anchor--;
+            }
+            JsonNode state = encoder.reconstruct(rows.get(anchor), rows.subList(anchor + 1, i + 1));
+            assertEquals(encoder.getObjectMapper().valueToTree(values(i + 1)), state, "state at v" + (i + 1));
+        }
+    }
+
+    private static ActivityLogWriteBuffer.PendingActivity change(int version, LocalDateTime start) {
+        ActivityLog log = new ActivityLog();
+        log.setId(String.format("ACT%02d", version));
+        log.setEntityType("task");
+        log.setEntityId("TASK1");
+        log.setAction("updated");
+        log.setCreatedAt(start.plusSeconds(version));
+        return new ActivityLogWriteBuffer.PendingActivity(log, values(version - 1), values(version));
+    }
+
+    private static Map<String, Object> values(int version) {
+        return Map.of("title", "v" + version, "points", version, "status", version % 2 == 0 ? "todo" : "done");
+    }
+
+    private static ActivityLogWriteBuffer.PendingActivity activity(String id, String entityId, LocalDateTime createdAt) {
+        ActivityLog log = new ActivityLog();
+        log.setId(id);
+        log.setEntityType("task");
+        log.setEntityId(entityId);
+        log.setAction("updated");
+        log.setCreatedAt(createdAt);
+        return new ActivityLogWriteBuffer.PendingActivity(log, Map.of("title", "old"), Map.of("title", "new"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.sprintsync.api.service;
+
+import com.sprintsync.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch writing and failure fallback of {@link NotificationDispatcher} against a mocked JdbcTemplate.
+ * The flush interval is long enough that tests drive flush() themselves.
+ */
+class NotificationDispatcherTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UnreadNotificationCounter unreadCounter;
+    private NotificationDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private PreparedStatement statement;
+    private final List<String> insertedUsers = new ArrayList<>();
+    private String failingUser;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findExistingIds(anyCollection()))
+            .thenAnswer(invocation -> new ArrayList<>((Collection<String>) invocation.getArgument(0)));
+        IdGenerationService idGenerationService = mock(IdGenerationService.class);
+        AtomicInteger ids = new AtomicInteger();
+        when(idGenerationService.generateNotificationId()).thenAnswer(invocation -> "NOTIF" + ids.incrementAndGet());
+        unreadCounter = mock(UnreadNotificationCounter.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        statement = mock(PreparedStatement.class);
+
+        // A batch containing the failing user's row fails as a whole, like a foreign key violation would
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                List<Object> rows = new ArrayList<>((Collection<Object>) invocation.getArgument(1));
+                List<String> users = rows.stream()
+                    .map(row -> (String) ReflectionTestUtils.getField(row, "userId"))
+                    .toList();
+                if (users.contains(failingUser)) {
+                    throw new IllegalStateException("violates foreign key constraint");
+                }
+                ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                for (Object row : rows) {
+                    setter.setValues(statement, row);
+                }
+                insertedUsers.addAll(users);
+                int[] counts = new int[rows.size()];
+                Arrays.fill(counts, 1);
+                return new int[][] {counts};
+            });
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(jdbcTemplate, userRepository, idGenerationService, unreadCounter,
+            transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "capacity", 100);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "flushIntervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(dispatcher, "coalesceWindowMs", 60_000L);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void failedBatchFallsBackToRowByRowInserts() {
+        failingUser = "USER2";
+        dispatcher.enqueue(new NotificationDispatcher.NotificationEvent(List.of("USER1", "USER2", "USER3"),
+            "Task assigned", "You were assigned a task", "task_assigned", "task", "TASK1"));
+
+        dispatcher.flush();
+
+        assertEquals(List.of("USER1", "USER3"), insertedUsers);
+        assertEquals(1.0, meterRegistry.counter("notification.dispatch.dropped").count());
+        assertEquals(2.0, meterRegistry.counter("notification.dispatch.inserted").count());
+        verify(unreadCounter).added("USER1", 1L);
+        verify(unreadCounter).added("USER3", 1L);
+    }
+
+    @Test
+    void createdAtIsBoundAsUtc() throws Exception {
+        dispatcher.enqueue(new NotificationDispatcher.NotificationEvent(List.of("USER1"),
+            "Task assigned", "You were assigned a task", "task_assigned", "task", "TASK1"));
+
+        dispatcher.flush();
+
+        verify(statement).setTimestamp(eq(8), any(), argThat(calendar -> "UTC".equals(calendar.getTimeZone().getID())));
+        verify(statement).setTimestamp(eq(9), any(), argThat(calendar -> "UTC".equals(calendar.getTimeZone().getID())));
+    }
+}